@@ -31,11 +31,21 @@ public class GetIdFromTokenArgumentResolver implements HandlerMethodArgumentReso
             throw new IllegalStateException("No HttpServletRequest found");
         }
 
+        // KeycloakFilter 에서 검증한 결과를 재사용
+        Object principal = request.getAttribute(UserPrincipal.ATTRIBUTE);
+        if(principal != null){
+            return principal;
+        }
+
         String authorizationHeader = request.getHeader("Authorization");
         if(authorizationHeader == null){
             throw new UnauthorizedException("Authorization header is missing");
         }
 
-        return keycloakAdapter.getUserPk(authorizationHeader.substring(7));
+        UserPrincipal userPrincipal = keycloakAdapter.getUserPk(authorizationHeader.substring(7));
+        if(userPrincipal == null){
+            throw new UnauthorizedException("Invalid token");
+        }
+        return userPrincipal;
     }
 }
@@ -0,0 +1,118 @@
+package com.etri.datalake.auth;
+
+import com.etri.datalake.objectstorage.utils.CircuitBreaker;
+import org.apache.http.client.methods.HttpGet;
+import org.keycloak.adapters.HttpAdapterUtils;
+import org.keycloak.adapters.KeycloakDeployment;
+import org.keycloak.adapters.rotation.PublicKeyLocator;
+import org.keycloak.jose.jwk.JSONWebKeySet;
+import org.keycloak.jose.jwk.JWK;
+import org.keycloak.jose.jwk.JWKParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.security.PublicKey;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/*
+    realm 공개키(JWKS)를 메모리에 보관하는 PublicKeyLocator
+    요청 스레드는 캐시만 조회하고, 갱신은 스케줄러 또는 백그라운드 스레드에서만 수행한다.
+    처음 보는 kid 가 들어오면 비동기 갱신만 예약하고 요청 스레드를 막지 않는다.
+    Keycloak 회로가 열려 있으면 갱신을 건너뛰고 기존 키로 검증한다.
+ */
+public class JwksPublicKeyLocator implements PublicKeyLocator {
+    private static final Logger logger = LoggerFactory.getLogger(JwksPublicKeyLocator.class);
+
+    private final long minTimeBetweenRequestsMillis;
+    private final CircuitBreaker circuitBreaker;
+    private final AtomicBoolean refreshing = new AtomicBoolean(false);
+    private final ExecutorService refreshExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "jwks-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile Map<String, PublicKey> currentKeys = Collections.emptyMap();
+    private volatile long lastRequestTime;
+
+    public JwksPublicKeyLocator(long minTimeBetweenRequestsMillis, CircuitBreaker circuitBreaker) {
+        this.minTimeBetweenRequestsMillis = minTimeBetweenRequestsMillis;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @Override
+    public PublicKey getPublicKey(String kid, KeycloakDeployment deployment) {
+        Map<String, PublicKey> keys = currentKeys;
+
+        if (kid == null) {
+            return keys.size() == 1 ? keys.values().iterator().next() : null;
+        }
+
+        PublicKey publicKey = keys.get(kid);
+        if (publicKey == null) {
+            logger.info("알 수 없는 kid 입니다. JWKS 갱신을 예약합니다, kid: {}", kid);
+            refreshAsync(deployment);
+        }
+        return publicKey;
+    }
+
+    @Override
+    public void reset(KeycloakDeployment deployment) {
+        refresh(deployment);
+    }
+
+    public void refreshAsync(KeycloakDeployment deployment) {
+        if (System.currentTimeMillis() - lastRequestTime < minTimeBetweenRequestsMillis) {
+            return;
+        }
+        refreshExecutor.execute(() -> refresh(deployment));
+    }
+
+    public void refresh(KeycloakDeployment deployment) {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        long permit = circuitBreaker.tryAcquire();
+        if (permit == CircuitBreaker.REJECTED) {
+            refreshing.set(false);
+            logger.info("Keycloak 회로가 열려 있어 JWKS 갱신을 건너뜁니다");
+            return;
+        }
+
+        try {
+            lastRequestTime = System.currentTimeMillis();
+            JSONWebKeySet jwks = HttpAdapterUtils.sendJsonHttpRequest(deployment, new HttpGet(deployment.getJwksUrl()), JSONWebKeySet.class);
+
+            Map<String, PublicKey> fetchedKeys = new HashMap<>();
+            for (JWK jwk : jwks.getKeys()) {
+                if (jwk.getPublicKeyUse() != null && !"sig".equals(jwk.getPublicKeyUse())) {
+                    continue;
+                }
+                try {
+                    fetchedKeys.put(jwk.getKeyId(), JWKParser.create(jwk).toPublicKey());
+                } catch (RuntimeException e) {
+                    logger.warn("지원하지 않는 JWK 입니다, kid: {}", jwk.getKeyId());
+                }
+            }
+
+            currentKeys = Collections.unmodifiableMap(fetchedKeys);
+            circuitBreaker.onSuccess(permit);
+            logger.info("JWKS 갱신 완료, keys: {}", fetchedKeys.keySet());
+        } catch (Exception e) {
+            // 갱신 실패 시 기존 키를 그대로 사용
+            circuitBreaker.onFailure(permit);
+            logger.warn("JWKS 갱신 실패: {}", e.getMessage());
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+}
@@ -1,36 +1,109 @@
 package com.etri.datalake.auth;
 
+import com.etri.datalake.objectstorage.rgw.BackendCircuitBreakers;
 import com.etri.datalake.objectstorage.rgw.RGWService;
-import lombok.RequiredArgsConstructor;
+import com.etri.datalake.objectstorage.rgw.S3CredentialChangedEvent;
+import com.etri.datalake.objectstorage.utils.Futures;
+import com.etri.datalake.objectstorage.utils.ThreadPools;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.keycloak.adapters.KeycloakDeployment;
 import org.keycloak.adapters.KeycloakDeploymentBuilder;
 import org.keycloak.adapters.rotation.AdapterTokenVerifier;
 import org.keycloak.common.VerificationException;
 import org.keycloak.representations.AccessToken;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import org.keycloak.representations.adapters.config.AdapterConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.twonote.rgwadmin4j.model.S3Credential;
 
 import static org.apache.http.client.methods.RequestBuilder.put;
 
 @Component
-@RequiredArgsConstructor
 public class KeycloakAdapter {
+    private static final Logger logger = LoggerFactory.getLogger(KeycloakAdapter.class);
+    private static final long DEFAULT_PRINCIPAL_TTL_MILLIS = 60 * 1000;
 
     private final KeycloakConfig keycloakConfig;
     private final RGWService rgwService;
+    private final JwksPublicKeyLocator publicKeyLocator;
+    private final KeycloakDeployment keycloakDeployment;
+    private final AsyncCache<String, UserPrincipal> principalCache;
+    private final ExecutorService authenticateExecutor;
+    private final long connectionTimeoutMillis;
+    private final long socketTimeoutMillis;
+
+    public KeycloakAdapter(KeycloakConfig keycloakConfig, RGWService rgwService, BackendCircuitBreakers circuitBreakers,
+                           @Value("${keycloak.min-time-between-jwks-requests:10000}") long minTimeBetweenJwksRequests,
+                           @Value("${keycloak.principal-cache-size:10000}") long principalCacheSize,
+                           @Value("${keycloak.connection-timeout:5000}") long connectionTimeoutMillis,
+                           @Value("${keycloak.socket-timeout:10000}") long socketTimeoutMillis,
+                           @Value("${keycloak.authenticate-threads:16}") int authenticateThreads,
+                           @Value("${object-storage.virtual-threads.enabled:false}") boolean virtualThreads) {
+        this.keycloakConfig = keycloakConfig;
+        this.rgwService = rgwService;
+        this.connectionTimeoutMillis = connectionTimeoutMillis;
+        this.socketTimeoutMillis = socketTimeoutMillis;
+        this.publicKeyLocator = new JwksPublicKeyLocator(minTimeBetweenJwksRequests,
+                circuitBreakers.get(BackendCircuitBreakers.Backend.KEYCLOAK));
+        this.keycloakDeployment = buildKeycloakDeployment();
+        this.authenticateExecutor = ThreadPools.perTask("keycloak-authenticate", authenticateThreads, virtualThreads);
+        this.principalCache = Caffeine.newBuilder()
+                .maximumSize(principalCacheSize)
+                .expireAfter(new PrincipalExpiry())
+                .executor(authenticateExecutor)
+                .buildAsync();
+    }
 
+    @PostConstruct
+    public void loadPublicKeys() {
+        publicKeyLocator.refresh(keycloakDeployment);
+    }
+
+    /*
+        realm 키 교체를 따라가기 위해 주기적으로 JWKS 를 다시 읽어옴
+     */
+    @Scheduled(fixedDelayString = "${keycloak.jwks-refresh-interval:300000}", initialDelayString = "${keycloak.jwks-refresh-interval:300000}")
+    public void refreshPublicKeys() {
+        publicKeyLocator.refresh(keycloakDeployment);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        publicKeyLocator.shutdown();
+        authenticateExecutor.shutdownNow();
+    }
 
     public KeycloakDeployment getKeycloakDeployment() {
+        return keycloakDeployment;
+    }
+
+    private KeycloakDeployment buildKeycloakDeployment() {
         AdapterConfig adapterConfig = new AdapterConfig();
         adapterConfig.setAuthServerUrl(keycloakConfig.getAuthServerUrl());
         adapterConfig.setRealm(keycloakConfig.getRealm());
         adapterConfig.setResource(keycloakConfig.getResource());
+        adapterConfig.setConnectionTimeout(connectionTimeoutMillis);
+        adapterConfig.setSocketTimeout(socketTimeoutMillis);
 
         Map<String, Object> credential =  new HashMap<String, Object>() {
             {
@@ -39,16 +112,16 @@ public class KeycloakAdapter {
         };
         adapterConfig.setCredentials(credential);
 
-        return KeycloakDeploymentBuilder.build(adapterConfig);
+        KeycloakDeployment deployment = KeycloakDeploymentBuilder.build(adapterConfig);
+        deployment.setPublicKeyLocator(publicKeyLocator);
+        return deployment;
     }
 
 
     public AccessToken verifyToken(String tokenString) {
-        KeycloakDeployment deployment = getKeycloakDeployment();
-
         try {
             //System.out.println(getAttribute(AdapterTokenVerifier.verifyToken(tokenString, deployment)));
-            return AdapterTokenVerifier.verifyToken(tokenString, deployment);
+            return AdapterTokenVerifier.verifyToken(tokenString, keycloakDeployment);
         } catch (VerificationException e) {
             // 토큰 검증 실패
             e.printStackTrace();
@@ -60,25 +133,80 @@ public class KeycloakAdapter {
         return accessToken.getOtherClaims();
     }
 
-    public Map<String, Object> getUserPk(String token){
-        try {
-            KeycloakDeployment deployment = getKeycloakDeployment();
-            AccessToken accessToken = AdapterTokenVerifier.verifyToken(token, deployment);
-
-            Map<String, Object> userInfo = new HashMap<>();
-            userInfo.put("group", (ArrayList<?>) accessToken.getOtherClaims().get("group"));
-            userInfo.put("userId", accessToken.getPreferredUsername());
-
-            S3Credential s3Credential =  rgwService.getS3Credential(accessToken.getPreferredUsername());
-            userInfo.put("accessKey", s3Credential.getAccessKey());
-            userInfo.put("secretKey", s3Credential.getSecretKey());
-            userInfo.put("credential", s3Credential);
-
-            return userInfo;
-        } catch (VerificationException e){e.printStackTrace();}
-;
-        return null;
+    /*
+        토큰 검증 결과는 토큰 digest 를 키로 토큰 만료 시각(exp)까지 캐시
+        같은 bearer 토큰으로 들어오는 반복 요청은 검증과 RGW 조회를 건너뜀
+        검증과 RGW 조회는 캐시의 compute 안이 아니라 별도 실행 풀에서 하며, 검증에 실패한 토큰(null)은 캐시하지 않음
+     */
+    public UserPrincipal getUserPk(String token){
+        return Futures.join(principalCache.get(digest(token), key -> authenticate(token)));
         //return (String) Jwts.parserBuilder().setSigningKey(keycloakConfig.getCredentials().getSecret()).build().parseClaimsJws(token).getBody().get("sub");
     }
 
+    private UserPrincipal authenticate(String token) {
+        try {
+            AccessToken accessToken = AdapterTokenVerifier.verifyToken(token, keycloakDeployment);
+
+            List<String> groups = new ArrayList<>();
+            if (accessToken.getOtherClaims().get("group") instanceof List<?> groupClaim) {
+                for (Object group : groupClaim) {
+                    groups.add(String.valueOf(group));
+                }
+            }
+
+            S3Credential s3Credential = rgwService.getS3Credential(accessToken.getPreferredUsername());
+            long expiresAt = (accessToken.getExp() != null)
+                    ? TimeUnit.SECONDS.toMillis(accessToken.getExp())
+                    : System.currentTimeMillis() + DEFAULT_PRINCIPAL_TTL_MILLIS;
+
+            return new UserPrincipal(accessToken.getPreferredUsername(), groups, s3Credential, expiresAt);
+        } catch (VerificationException e) {
+            // 토큰 검증 실패
+            logger.info("토큰 검증 실패: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(messageDigest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+
+    /*
+        크레덴셜이 바뀐 사용자의 캐시된 인증 정보를 제거
+     */
+    @EventListener
+    public void onS3CredentialChanged(S3CredentialChangedEvent event) {
+        principalCache.asMap().values().removeIf(future -> {
+            // 진행 중인 인증은 바뀌기 전의 크레덴셜을 읽었을 수 있으므로 함께 제거
+            if (!future.isDone()) {
+                return true;
+            }
+            UserPrincipal principal = future.isCompletedExceptionally() ? null : future.join();
+            return principal != null && event.getUid().equals(principal.getUserId());
+        });
+    }
+
+    private static class PrincipalExpiry implements Expiry<String, UserPrincipal> {
+        @Override
+        public long expireAfterCreate(String key, UserPrincipal principal, long currentTime) {
+            long remainingMillis = principal.getExpiresAt() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, UserPrincipal principal, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, principal, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, UserPrincipal principal, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
 }
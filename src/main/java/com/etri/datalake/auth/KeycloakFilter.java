@@ -3,7 +3,6 @@ package com.etri.datalake.auth;
 import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
-import org.keycloak.representations.AccessToken;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.util.StringUtils;
@@ -24,9 +23,10 @@ public class KeycloakFilter implements Filter {
 
 
         if(jwt != null){
-            AccessToken accessToken = keycloakAdapter.verifyToken(jwt);
-            if (StringUtils.hasText(jwt) && accessToken != null) {
+            UserPrincipal principal = StringUtils.hasText(jwt) ? keycloakAdapter.getUserPk(jwt) : null;
+            if (principal != null) {
                 logger.info("인증된 사용자 입니다. ");
+                httpServletRequest.setAttribute(UserPrincipal.ATTRIBUTE, principal);
                 chain.doFilter(request, response);
             }else {
                 logger.info("인증되지 않은 사용자입니다., uri: {}", requestURI);
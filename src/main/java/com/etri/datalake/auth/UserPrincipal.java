@@ -0,0 +1,32 @@
+package com.etri.datalake.auth;
+
+import lombok.Getter;
+import org.twonote.rgwadmin4j.model.S3Credential;
+
+import java.util.Collections;
+import java.util.List;
+
+/*
+    KeycloakFilter 에서 토큰 검증 후 만들어지는 인증 사용자 정보
+    요청 attribute 로 저장되어 @GetIdFromToken 파라미터로 전달된다.
+ */
+@Getter
+public final class UserPrincipal {
+    public static final String ATTRIBUTE = UserPrincipal.class.getName();
+
+    private final String userId;
+    private final List<String> groups;
+    private final S3Credential credential;
+    private final long expiresAt;
+
+    public UserPrincipal(String userId, List<String> groups, S3Credential credential, long expiresAt) {
+        this.userId = userId;
+        this.groups = (groups == null) ? Collections.emptyList() : List.copyOf(groups);
+        this.credential = credential;
+        this.expiresAt = expiresAt;
+    }
+
+    public boolean hasGroup(String group) {
+        return !groups.isEmpty() && groups.get(0).equals(group);
+    }
+}
@@ -0,0 +1,28 @@
+package com.etri.datalake.config.common;
+
+import com.etri.datalake.objectstorage.utils.ThreadPools;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/*
+    object-storage.virtual-threads.enabled=true 이면 Tomcat 요청 처리를 가상 스레드에서 실행
+    JDK 21 미만이면 경고만 남기고 기존 워커 풀을 그대로 쓴다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "object-storage.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        if (!ThreadPools.virtualThreadsSupported()) {
+            logger.warn("가상 스레드를 지원하지 않는 JDK 입니다 ({}), 플랫폼 스레드로 실행합니다", Runtime.version());
+            return protocolHandler -> { };
+        }
+        return protocolHandler -> protocolHandler.setExecutor(ThreadPools.perTask("tomcat-handler", 0, true));
+    }
+}
@@ -1,22 +1,75 @@
 package com.etri.datalake.config.common;
 
 import com.etri.datalake.auth.GetIdFromTokenArgumentResolver;
+import com.etri.datalake.objectstorage.rgw.QuotaAdmissionInterceptor;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.filter.OrderedFormContentFilter;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.PathContainer;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 import java.util.List;
 
 @Configuration
 public class WebMvcConfig implements WebMvcConfigurer {
+    // 본문을 그대로 스트리밍하는 업로드 API
+    private static final PathPattern STREAM_UPLOAD = PathPatternParser.defaultInstance.parse("/datalake/object-storage/data/*/stream");
+
     private final GetIdFromTokenArgumentResolver getIdFromTokenArgumentResolver;
+    private final QuotaAdmissionInterceptor quotaAdmissionInterceptor;
+
+    @Value("${object-storage.quota-admission.enabled:true}")
+    private boolean quotaAdmissionEnabled;
+
+    // 실행 풀(Bulkheads)에서 처리하는 비동기 응답의 최대 대기 시간
+    @Value("${object-storage.bulkhead.async-timeout:120000}")
+    private long asyncTimeoutMillis;
 
-    public WebMvcConfig(GetIdFromTokenArgumentResolver getIdFromTokenArgumentResolver) {
+    public WebMvcConfig(GetIdFromTokenArgumentResolver getIdFromTokenArgumentResolver, QuotaAdmissionInterceptor quotaAdmissionInterceptor) {
         this.getIdFromTokenArgumentResolver = getIdFromTokenArgumentResolver;
+        this.quotaAdmissionInterceptor = quotaAdmissionInterceptor;
+    }
+
+    /*
+        PUT/PATCH/DELETE 폼 본문을 파라미터로 읽는 필터
+        스트리밍 업로드는 핸들러에 닿기 전에 본문이 메모리로 읽히지 않도록 제외한다.
+     */
+    @Bean
+    public OrderedFormContentFilter formContentFilter() {
+        return new OrderedFormContentFilter() {
+            @Override
+            protected boolean shouldNotFilter(HttpServletRequest request) {
+                return STREAM_UPLOAD.matches(PathContainer.parsePath(request.getRequestURI()));
+            }
+        };
     }
 
     @Override
     public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers){
         resolvers.add(getIdFromTokenArgumentResolver);
     }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(asyncTimeoutMillis);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (!quotaAdmissionEnabled) {
+            return;
+        }
+        // 본문을 받는 업로드 API (presigned 업로드는 본문이 RGW 로 바로 가므로 제외)
+        registry.addInterceptor(quotaAdmissionInterceptor)
+                .addPathPatterns("/datalake/object-storage/data/create",
+                        "/datalake/object-storage/data/*/stream",
+                        "/datalake/object-storage/data/upload/*/part/*");
+    }
 }
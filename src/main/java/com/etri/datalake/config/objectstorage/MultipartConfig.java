@@ -21,6 +21,8 @@ public class MultipartConfig {
     @Bean
     public MultipartResolver multipartResolver() {
         StandardServletMultipartResolver multipartResolver = new StandardServletMultipartResolver();
+        // 스트리밍 업로드 API 가 본문을 직접 읽을 수 있도록 파트 파싱은 실제로 접근할 때 수행
+        multipartResolver.setResolveLazily(true);
         return multipartResolver;
     }
 
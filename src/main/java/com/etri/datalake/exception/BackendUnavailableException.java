@@ -0,0 +1,19 @@
+package com.etri.datalake.exception;
+
+import lombok.Getter;
+
+/*
+    백엔드(RGW, 대시보드, Keycloak)의 회로가 열려 있어 호출하지 않고 바로 실패한 경우
+    실행 풀(Bulkhead)이나 버퍼 풀(BufferPool)이 가득 차 요청을 받을 수 없는 경우에도 사용한다.
+ */
+@Getter
+public class BackendUnavailableException extends RuntimeException {
+    private final String backend;
+    private final long retryAfterSeconds;
+
+    public BackendUnavailableException(String backend, long retryAfterSeconds) {
+        super(backend + " is unavailable");
+        this.backend = backend;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
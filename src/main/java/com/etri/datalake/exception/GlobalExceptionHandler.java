@@ -1,5 +1,6 @@
 package com.etri.datalake.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -19,5 +20,13 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
     }
 
+    @ExceptionHandler(BackendUnavailableException.class)
+    public ResponseEntity<ExceptionResponse> handleBackendUnavailableException(BackendUnavailableException e) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(e.getRetryAfterSeconds()))
+                .body(new ExceptionResponse(HttpStatus.SERVICE_UNAVAILABLE.value(), e.getMessage()));
+    }
+
 
 }
@@ -10,7 +10,32 @@ public enum SodasExceptionCode {
 
     AUTHORIZATION_HEADER_NULL(HttpStatus.BAD_REQUEST.value(), "인증 헤더가 null입니다."),
 
-    NON_POSITIVE_ID(HttpStatus.BAD_REQUEST.value(), "null");
+    NON_POSITIVE_ID(HttpStatus.BAD_REQUEST.value(), "null"),
+
+    INVALID_PART_NUMBER(HttpStatus.BAD_REQUEST.value(), "파트 번호는 1 ~ 10000 사이여야 합니다."),
+
+    NO_UPLOADED_PART(HttpStatus.BAD_REQUEST.value(), "업로드된 파트가 없습니다."),
+
+    NOT_POLICY_SHARING_BUCKET(HttpStatus.BAD_REQUEST.value(), "정책 공유 모드 버킷이 아닙니다."),
+
+    // 403 FORBIDDEN
+    QUOTA_EXCEEDED(HttpStatus.FORBIDDEN.value(), "쿼타 여유가 부족합니다."),
+
+    // 404 NOT FOUND
+    UPLOAD_SESSION_NOT_FOUND(HttpStatus.NOT_FOUND.value(), "업로드 세션을 찾을 수 없습니다."),
+
+    JOB_NOT_FOUND(HttpStatus.NOT_FOUND.value(), "작업을 찾을 수 없습니다."),
+
+    QUOTA_HISTORY_NOT_FOUND(HttpStatus.NOT_FOUND.value(), "사용량 기록이 없습니다."),
+
+    // 409 CONFLICT
+    JOB_NOT_RESUMABLE(HttpStatus.CONFLICT.value(), "실패한 작업만 이어서 실행할 수 있습니다."),
+
+    // 411 LENGTH REQUIRED
+    LENGTH_REQUIRED(HttpStatus.LENGTH_REQUIRED.value(), "Content-Length 헤더가 필요합니다."),
+
+    // 413 PAYLOAD TOO LARGE
+    UPLOAD_TOO_LARGE(HttpStatus.PAYLOAD_TOO_LARGE.value(), "업로드 크기가 쿼타보다 큽니다.");
 
 
     private final int httpStatusCode;
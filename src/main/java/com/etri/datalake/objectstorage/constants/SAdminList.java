@@ -0,0 +1,32 @@
+package com.etri.datalake.objectstorage.constants;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.Getter;
+
+import java.util.Map;
+
+@Schema(description = "여러 유저에 대한 관리 API 호출 결과")
+@Data
+@Getter
+public class SAdminList<T> {
+    @Schema(description = "유저 id 별 결과")
+    private Map<String, T> results;
+
+    @Schema(description = "호출에 실패한 유저 id 별 사유")
+    private Map<String, String> errors;
+
+    @Schema(description = "스냅샷에서 읽은 경우 스냅샷이 만들어진 뒤 지난 시간 (ms)")
+    private Long snapshotAge;
+
+    public SAdminList(Map<String, T> results, Map<String, String> errors) {
+        this.results = results;
+        this.errors = errors;
+    }
+
+    public SAdminList(Map<String, T> results, Map<String, String> errors, Long snapshotAge) {
+        this.results = results;
+        this.errors = errors;
+        this.snapshotAge = snapshotAge;
+    }
+}
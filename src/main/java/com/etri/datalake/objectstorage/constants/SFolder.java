@@ -0,0 +1,41 @@
+package com.etri.datalake.objectstorage.constants;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.Getter;
+
+import java.util.List;
+
+@Schema(description = "폴더")
+@Data
+@Getter
+public class SFolder {
+    @Schema(description = "폴더 prefix")
+    private String prefix;
+
+    @Schema(description = "하위 전체 오브젝트 수 (알 수 없으면 -1)")
+    private long objectCount;
+
+    @Schema(description = "하위 전체 오브젝트 용량 (알 수 없으면 -1)")
+    private long totalSize;
+
+    @Schema(description = "바로 아래 폴더 목록")
+    private List<SFolder> folders;
+
+    @Schema(description = "바로 아래 파일 목록")
+    private List<BObject> files;
+
+    public SFolder(String prefix, long objectCount, long totalSize) {
+        this.prefix = prefix;
+        this.objectCount = objectCount;
+        this.totalSize = totalSize;
+    }
+
+    public SFolder(String prefix, long objectCount, long totalSize, List<SFolder> folders, List<BObject> files) {
+        this.prefix = prefix;
+        this.objectCount = objectCount;
+        this.totalSize = totalSize;
+        this.folders = folders;
+        this.files = files;
+    }
+}
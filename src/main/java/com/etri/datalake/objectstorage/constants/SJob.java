@@ -0,0 +1,68 @@
+package com.etri.datalake.objectstorage.constants;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.Getter;
+
+import java.util.List;
+
+@Schema(description = "백그라운드 작업")
+@Data
+@Getter
+public class SJob {
+    @Schema(description = "작업 id")
+    private String jobId;
+
+    @Schema(description = "작업 종류")
+    private String type;
+
+    @Schema(description = "작업을 요청한 유저 id")
+    private String owner;
+
+    @Schema(description = "대상 버킷 이름")
+    private String bucketName;
+
+    @Schema(description = "상태 (RUNNING, SUCCEEDED, FAILED)")
+    private String status;
+
+    @Schema(description = "지금까지 발견한 전체 대상 수")
+    private long total;
+
+    @Schema(description = "처리 완료 수")
+    private long processed;
+
+    @Schema(description = "실패 수")
+    private long failed;
+
+    @Schema(description = "실패한 대상과 사유 (최대 1000개)")
+    private List<String> errors;
+
+    @Schema(description = "작업 실패 사유")
+    private String message;
+
+    @Schema(description = "이어서 실행할 때 시작 위치 (마지막으로 처리한 키)")
+    private String checkpoint;
+
+    @Schema(description = "생성된 시간(ms)")
+    private long createdAt;
+
+    @Schema(description = "마지막 진행 시간(ms)")
+    private long updatedAt;
+
+    public SJob(String jobId, String type, String owner, String bucketName, String status, long total, long processed,
+                long failed, List<String> errors, String message, String checkpoint, long createdAt, long updatedAt) {
+        this.jobId = jobId;
+        this.type = type;
+        this.owner = owner;
+        this.bucketName = bucketName;
+        this.status = status;
+        this.total = total;
+        this.processed = processed;
+        this.failed = failed;
+        this.errors = errors;
+        this.message = message;
+        this.checkpoint = checkpoint;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+}
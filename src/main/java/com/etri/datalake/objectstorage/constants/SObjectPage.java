@@ -0,0 +1,27 @@
+package com.etri.datalake.objectstorage.constants;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.Getter;
+
+import java.util.List;
+
+@Schema(description = "오브젝트 목록 페이지")
+@Data
+@Getter
+public class SObjectPage {
+    @Schema(description = "오브젝트 목록")
+    private List<BObject> objects;
+
+    @Schema(description = "다음 페이지 조회에 사용할 continuation token (마지막 페이지면 null)")
+    private String nextContinuationToken;
+
+    @Schema(description = "다음 페이지 존재 여부")
+    private boolean truncated;
+
+    public SObjectPage(List<BObject> objects, String nextContinuationToken, boolean truncated) {
+        this.objects = objects;
+        this.nextContinuationToken = nextContinuationToken;
+        this.truncated = truncated;
+    }
+}
@@ -0,0 +1,24 @@
+package com.etri.datalake.objectstorage.constants;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.Getter;
+
+import java.net.URL;
+import java.util.List;
+
+@Schema(description = "presigned 멀티파트 업로드")
+@Data
+@Getter
+public class SPresignedUpload {
+    @Schema(description = "업로드 세션")
+    private SUploadSession session;
+
+    @Schema(description = "파트 번호 순서의 UploadPart presigned url")
+    private List<URL> partUrls;
+
+    public SPresignedUpload(SUploadSession session, List<URL> partUrls) {
+        this.session = session;
+        this.partUrls = partUrls;
+    }
+}
@@ -0,0 +1,42 @@
+package com.etri.datalake.objectstorage.constants;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.Getter;
+
+@Schema(description = "버킷 또는 유저의 사용량 추이")
+@Data
+@Getter
+public class SQuotaHistory {
+    @Schema(description = "버킷 이름 또는 유저 id")
+    private String target;
+
+    @Schema(description = "해상도 (raw, 5m, 1h)")
+    private String resolution;
+
+    @Schema(description = "샘플 시각 (epoch ms), 오래된 순")
+    private long[] timestamps;
+
+    @Schema(description = "시각별 실제 사용량 (byte)")
+    private long[] sizes;
+
+    @Schema(description = "시각별 오브젝트 수")
+    private long[] objects;
+
+    @Schema(description = "용량 쿼타 (byte), 쿼타가 없으면 -1")
+    private long quota;
+
+    @Schema(description = "현재 추세로 쿼타에 도달할 것으로 예상되는 시각 (epoch ms), 늘지 않거나 쿼타가 없으면 null")
+    private Long projectedExhaustionAt;
+
+    public SQuotaHistory(String target, String resolution, long[] timestamps, long[] sizes, long[] objects,
+                         long quota, Long projectedExhaustionAt) {
+        this.target = target;
+        this.resolution = resolution;
+        this.timestamps = timestamps;
+        this.sizes = sizes;
+        this.objects = objects;
+        this.quota = quota;
+        this.projectedExhaustionAt = projectedExhaustionAt;
+    }
+}
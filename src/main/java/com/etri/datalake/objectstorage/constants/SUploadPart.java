@@ -0,0 +1,27 @@
+package com.etri.datalake.objectstorage.constants;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Schema(description = "업로드된 파트")
+@Data
+@Getter
+@NoArgsConstructor
+public class SUploadPart {
+    @Schema(description = "파트 번호")
+    private int partNumber;
+
+    @Schema(description = "ETag")
+    private String eTag;
+
+    @Schema(description = "용량")
+    private long size;
+
+    public SUploadPart(int partNumber, String eTag, long size) {
+        this.partNumber = partNumber;
+        this.eTag = eTag;
+        this.size = size;
+    }
+}
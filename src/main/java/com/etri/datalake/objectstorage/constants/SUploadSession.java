@@ -0,0 +1,43 @@
+package com.etri.datalake.objectstorage.constants;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Schema(description = "이어받기 업로드 세션")
+@Data
+@Getter
+@NoArgsConstructor
+public class SUploadSession {
+    @Schema(description = "세션 id")
+    private String sessionId;
+
+    @Schema(description = "RGW 멀티파트 업로드 id")
+    private String uploadId;
+
+    @Schema(description = "버킷 이름")
+    private String bucketName;
+
+    @Schema(description = "오브젝트 키")
+    private String objectKey;
+
+    @Schema(description = "업로드 유저 id")
+    private String owner;
+
+    @Schema(description = "생성된 시간(ms)")
+    private long createdAt;
+
+    @Schema(description = "마지막 파트 업로드 시간(ms)")
+    private long updatedAt;
+
+    public SUploadSession(String sessionId, String uploadId, String bucketName, String objectKey, String owner, long createdAt) {
+        this.sessionId = sessionId;
+        this.uploadId = uploadId;
+        this.bucketName = bucketName;
+        this.objectKey = objectKey;
+        this.owner = owner;
+        this.createdAt = createdAt;
+        this.updatedAt = createdAt;
+    }
+}
@@ -24,4 +24,10 @@ public class SUser {
 
     @Schema(description = "유저 id")
     private String uid;
+
+    @Schema(description = "유저 쿼타 (생략 가능)")
+    private SQuota quota;
+
+    @Schema(description = "전송 속도 제한 (생략 가능)")
+    private RateLimit rateLimit;
 }
@@ -1,28 +1,73 @@
 package com.etri.datalake.objectstorage.constants;
 
 import com.etri.datalake.config.objectstorage.ObjectStorageConfig;
+import com.etri.datalake.objectstorage.rgw.BackendCircuitBreakers;
+import com.etri.datalake.objectstorage.utils.CircuitBreaker;
 import com.etri.datalake.objectstorage.utils.CustomAuthInterceptor;
+import com.etri.datalake.objectstorage.utils.Futures;
+import com.etri.datalake.objectstorage.utils.RequestSigner;
 import okhttp3.*;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.twonote.rgwadmin4j.impl.RgwAdminException;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
-
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/*
+    rgwadmin4j 에 없는 RGW 관리 API (rate limit) 호출
+    요청은 OkHttp 비동기 dispatcher 로 보내며, 동기 메소드는 비동기 호출 결과를 기다리는 래퍼이다.
+    dispatcher 의 전체/호스트별 동시 요청 수와 연결 풀은 설정으로 조정한다.
+    RgwAdmin 과 같은 RGW 관리 API 회로 차단기를 거친다.
+    signature-version(V2/V4)은 이 클라이언트의 요청에만 적용되며, RgwAdmin 은 rgwadmin4j 가 V2 로 서명한다.
+ */
 @Component
 public class SodasRgwAdmin {
     private final ObjectStorageConfig objectStorageConfig;
     private final OkHttpClient client;
-
-    public SodasRgwAdmin(ObjectStorageConfig objectStorageConfig){
+    private final CircuitBreaker circuitBreaker;
+
+    public SodasRgwAdmin(ObjectStorageConfig objectStorageConfig, BackendCircuitBreakers circuitBreakers,
+                         @Value("${object-storage.admin.http.max-requests:64}") int maxRequests,
+                         @Value("${object-storage.admin.http.max-requests-per-host:16}") int maxRequestsPerHost,
+                         @Value("${object-storage.admin.http.max-idle-connections:16}") int maxIdleConnections,
+                         @Value("${object-storage.admin.http.keep-alive:300000}") long keepAliveMillis,
+                         @Value("${object-storage.admin.http.connect-timeout:5000}") long connectTimeoutMillis,
+                         @Value("${object-storage.admin.http.read-timeout:30000}") long readTimeoutMillis,
+                         @Value("${object-storage.admin.signature-version:V2}") RequestSigner.Version signatureVersion,
+                         @Value("${object-storage.admin.region:us-east-1}") String region){
         this.objectStorageConfig = objectStorageConfig;
+        this.circuitBreaker = circuitBreakers.get(BackendCircuitBreakers.Backend.RGW_ADMIN);
+
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(maxRequests);
+        dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+
         this.client = new OkHttpClient.Builder()
-                .addInterceptor(new CustomAuthInterceptor(objectStorageConfig.getRgwAdminAccess(), objectStorageConfig.getRgwAdminSecret()))
+                .dispatcher(dispatcher)
+                .connectionPool(new ConnectionPool(maxIdleConnections, keepAliveMillis, TimeUnit.MILLISECONDS))
+                .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+                .readTimeout(Duration.ofMillis(readTimeoutMillis))
+                .writeTimeout(Duration.ofMillis(readTimeoutMillis))
+                .addInterceptor(new CustomAuthInterceptor(RequestSigner.of(signatureVersion,
+                        objectStorageConfig.getRgwAdminAccess(), objectStorageConfig.getRgwAdminSecret(), region)))
                 .build();
     }
 
     public String getUserRateLimit(String uid){
+        return Futures.join(getUserRateLimitAsync(uid));
+    }
+
+    public String setUserRateLimit(String uid, RateLimit rateLimit){
+        return Futures.join(setUserRateLimitAsync(uid, rateLimit));
+    }
+
+    public CompletableFuture<String> getUserRateLimitAsync(String uid){
         HttpUrl url = HttpUrl.parse(objectStorageConfig.getRgwEndpoint()+ "/admin")
                 .newBuilder()
                 .addPathSegment("ratelimit")
@@ -37,11 +82,10 @@ public class SodasRgwAdmin {
                 .header("Accept", "application/vnd.ceph.api.v1.0+json")
                 .build();
 
-        String result = safeCall(request);
-        return result;
+        return enqueue(request);
     }
 
-    public String setUserRateLimit(String uid, RateLimit rateLimit){
+    public CompletableFuture<String> setUserRateLimitAsync(String uid, RateLimit rateLimit){
         HttpUrl url = HttpUrl.parse(objectStorageConfig.getRgwEndpoint()+ "/admin")
                 .newBuilder()
                 .addPathSegment("ratelimit")
@@ -63,7 +107,7 @@ public class SodasRgwAdmin {
                 .url(url)
                 .build();
 
-        return safeCall(request);
+        return enqueue(request);
     }
 
     private static Map<String, Object> toMap(RateLimit rateLimit) {
@@ -78,23 +122,53 @@ public class SodasRgwAdmin {
         return result;
     }
 
-    private String safeCall(Request request) {
+    private CompletableFuture<String> enqueue(Request request) {
+        return circuitBreaker.callAsync(() -> send(request));
+    }
 
-        try (Response response = client.newCall(request).execute()) {
-            if (response.code() == 404) {
-                return null;
+    private CompletableFuture<String> send(Request request) {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        Call call = client.newCall(request);
+
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(@NotNull Call call, @NotNull IOException e) {
+                future.completeExceptionally(new RgwAdminException(500, "IOException", e));
             }
-            if (!response.isSuccessful()) {
-                throw new IOException("Unexpected code " + response);
+
+            @Override
+            public void onResponse(@NotNull Call call, @NotNull Response response) {
+                try (response) {
+                    future.complete(readBody(response));
+                } catch (IOException e) {
+                    future.completeExceptionally(new RgwAdminException(500, "IOException", e));
+                } catch (RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
             }
-            ResponseBody body = response.body();
-            if (body != null) {
-                return response.body().string();
-            } else {
-                return null;
+        });
+        // 호출한 쪽이 취소하면 요청도 취소
+        future.whenComplete((result, e) -> {
+            if (future.isCancelled()) {
+                call.cancel();
             }
-        } catch (IOException e) {
-            throw new RgwAdminException(500, "IOException", e);
+        });
+        return future;
+    }
+
+    private static String readBody(Response response) throws IOException {
+        if (response.code() == 404) {
+            return null;
+        }
+        if (!response.isSuccessful()) {
+            // 응답 코드를 그대로 전달해 4xx 는 백엔드 장애로 세지 않도록 함
+            throw new RgwAdminException(response.code(), "Unexpected code " + response);
+        }
+        ResponseBody body = response.body();
+        if (body != null) {
+            return body.string();
+        } else {
+            return null;
         }
     }
 
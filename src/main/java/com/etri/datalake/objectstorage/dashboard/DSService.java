@@ -2,46 +2,88 @@ package com.etri.datalake.objectstorage.dashboard;
 
 import com.etri.datalake.config.objectstorage.ObjectStorageConfig;
 import com.etri.datalake.objectstorage.constants.SQuota;
-import lombok.RequiredArgsConstructor;
+import com.etri.datalake.objectstorage.rgw.AdminDataChangedEvent;
+import com.etri.datalake.objectstorage.rgw.BackendCircuitBreakers;
+import com.etri.datalake.objectstorage.utils.CircuitBreaker;
+import com.etri.datalake.objectstorage.utils.Futures;
+import com.etri.datalake.objectstorage.utils.ThreadPools;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.RequestEntity;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.OkHttp3ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.net.URI;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
-
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/*
+    Ceph 대시보드(mgr) API 호출
+    연결을 재사용하는 RestTemplate 하나를 공유하고, 토큰은 만료(401)되면 한 번 다시 로그인해서 재시도한다.
+    동시에 로그인이 필요해지면 하나의 로그인 요청 결과를 같이 기다린다.
+    유저/버킷 쿼타 조회는 같은 /api/rgw/user/{uid}/quota 응답을 quota-cache-ttl 동안 함께 쓰며, 조회는 별도 실행 풀에서 한다.
+    대시보드가 응답하지 않으면 회로 차단기가 열려 요청을 보내지 않고 바로 503 으로 실패한다.
+ */
 @Service
-@RequiredArgsConstructor
 public class DSService {
     private final ObjectStorageConfig objectStorageConfig;
-
-    private HttpHeaders headers;
-
-    public HashMap userQoutaInfo(String userName) {
-        getToken();
-
-        URI uri = UriComponentsBuilder
-                .fromUriString(objectStorageConfig.getMgrEndpoint())
-                .path("/api/rgw/user/" + userName+"/quota")
-                .encode()
-                .build()
-                .toUri();
-
-        RequestEntity<Void> requestEntity = RequestEntity
-                .get(uri)
-                .headers(headers)
+    private final ApplicationEventPublisher eventPublisher;
+    private final RestTemplate restTemplate;
+    private final AsyncCache<String, HashMap> quotaResources;
+    private final CircuitBreaker circuitBreaker;
+    private final ExecutorService quotaExecutor;
+
+    // 진행 중이거나 완료된 로그인, null 이면 다음 요청에서 로그인
+    private final AtomicReference<CompletableFuture<String>> token = new AtomicReference<>();
+
+    public DSService(ObjectStorageConfig objectStorageConfig, ApplicationEventPublisher eventPublisher, BackendCircuitBreakers circuitBreakers,
+                     @Value("${object-storage.dashboard.connect-timeout:5000}") long connectTimeoutMillis,
+                     @Value("${object-storage.dashboard.read-timeout:30000}") long readTimeoutMillis,
+                     @Value("${object-storage.dashboard.max-idle-connections:16}") int maxIdleConnections,
+                     @Value("${object-storage.dashboard.keep-alive:300000}") long keepAliveMillis,
+                     @Value("${object-storage.dashboard.quota-cache-ttl:10000}") long quotaCacheTtlMillis,
+                     @Value("${object-storage.dashboard.quota-threads:8}") int quotaThreads,
+                     @Value("${object-storage.virtual-threads.enabled:false}") boolean virtualThreads) {
+        this.objectStorageConfig = objectStorageConfig;
+        this.eventPublisher = eventPublisher;
+        this.circuitBreaker = circuitBreakers.get(BackendCircuitBreakers.Backend.DASHBOARD);
+
+        OkHttpClient client = new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(maxIdleConnections, keepAliveMillis, TimeUnit.MILLISECONDS))
+                .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+                .readTimeout(Duration.ofMillis(readTimeoutMillis))
+                .writeTimeout(Duration.ofMillis(readTimeoutMillis))
                 .build();
+        this.restTemplate = new RestTemplate(new OkHttp3ClientHttpRequestFactory(client));
+
+        // 조회는 캐시 밖의 실행 풀에서 하고, 같은 uid 로 동시에 들어온 요청은 그 결과를 기다림
+        this.quotaExecutor = ThreadPools.perTask("dashboard-quota", quotaThreads, virtualThreads);
+        this.quotaResources = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(quotaCacheTtlMillis))
+                .maximumSize(10000)
+                .executor(quotaExecutor)
+                .buildAsync();
+    }
 
-        RestTemplate restTemplate = new RestTemplate();
-
-        ResponseEntity<HashMap> responseEntity = restTemplate.exchange(requestEntity, HashMap.class);
-
-        return new HashMap<String, Object>((HashMap<String, Object>) responseEntity.getBody().get("user_quota"));
+    public HashMap userQoutaInfo(String userName) {
+        return new HashMap<String, Object>((HashMap<String, Object>) quotaResource(userName).get("user_quota"));
     }
 
     public void quotaConfig(String userName, SQuota quota) {
@@ -49,21 +91,12 @@ public class DSService {
     }
 
     public void quotaDisable(String userName, String quotaType) {
-        System.out.println(quotaType);
         SQuota quota = new SQuota("false", "0", "0", quotaType);
         quotaConfigOperation(userName, quota);
     }
 
     public void quotaConfigOperation(String userName, SQuota quota){
-        getToken();
-
-        URI uri = UriComponentsBuilder
-                .fromUriString(objectStorageConfig.getMgrEndpoint())
-                .path("/api/rgw/user/" + userName + "/quota")
-                .encode()
-                .build()
-                .toUri();
-
+        URI uri = quotaUri(userName);
 
         HashMap<String, String> requestBody = new HashMap<>();
         requestBody.put("enabled", quota.getEnabled());
@@ -71,21 +104,90 @@ public class DSService {
         requestBody.put("max_size_kb", quota.getMax_size_kb());
         requestBody.put("quota_type", quota.getQuota_type());
 
-        RequestEntity<HashMap> requestEntity = RequestEntity
-                .put(uri)
-                .headers(headers)
-                .body(requestBody);
+        // 진행 중인 조회는 invalidate 하면 캐시에서 빠지므로, PUT 전에 시작된 조회 결과가 PUT 이후에 다시 캐시되지 않음
+        // PUT 이 실패해도 RGW 에는 반영되었을 수 있으므로 응답 후 항상 한 번 더 invalidate 함
+        quotaResources.synchronous().invalidate(userName);
+        try {
+            exchange(headers -> RequestEntity
+                    .put(uri)
+                    .headers(headers)
+                    .body(requestBody), void.class);
+        } finally {
+            quotaResources.synchronous().invalidate(userName);
+        }
+
+        AdminDataChangedEvent.Kind kind = "user".equals(quota.getQuota_type())
+                ? AdminDataChangedEvent.Kind.USER_QUOTA : AdminDataChangedEvent.Kind.BUCKET_QUOTA;
+        eventPublisher.publishEvent(new AdminDataChangedEvent(kind, userName));
+    }
+
+    public List<HashMap> bucketQoutaInfo(String userName) {
+        List<HashMap> quotaList = new ArrayList<>();
+        quotaList.add(new HashMap<String, Object>((HashMap<String, Object>) quotaResource(userName).get("bucket_quota")));
+
+        return quotaList;
+    }
+
+    private HashMap quotaResource(String userName) {
+        return Futures.join(quotaResources.get(userName, key -> {
+            URI uri = quotaUri(key);
+            ResponseEntity<HashMap> responseEntity = exchange(headers -> RequestEntity
+                    .get(uri)
+                    .headers(headers)
+                    .build(), HashMap.class);
+            return responseEntity.getBody();
+        }));
+    }
 
-        RestTemplate restTemplate = new RestTemplate();
+    private URI quotaUri(String userName) {
+        return UriComponentsBuilder
+                .fromUriString(objectStorageConfig.getMgrEndpoint())
+                .path("/api/rgw/user/" + userName + "/quota")
+                .encode()
+                .build()
+                .toUri();
+    }
+
+    /*
+        토큰을 붙여 요청하고, 401 이면 그 토큰을 버리고 한 번만 다시 로그인해서 재시도
+     */
+    private <T> ResponseEntity<T> exchange(Function<HttpHeaders, RequestEntity<?>> request, Class<T> responseType) {
+        return circuitBreaker.call(() -> exchangeWithLogin(request, responseType));
+    }
 
-        restTemplate.exchange(requestEntity, void.class);
+    private <T> ResponseEntity<T> exchangeWithLogin(Function<HttpHeaders, RequestEntity<?>> request, Class<T> responseType) {
+        CompletableFuture<String> used = currentToken();
+        try {
+            return restTemplate.exchange(request.apply(headers(Futures.join(used))), responseType);
+        } catch (HttpClientErrorException.Unauthorized e) {
+            // 다른 스레드가 이미 새로 로그인했다면 그 토큰을 그대로 씀
+            token.compareAndSet(used, null);
+            return restTemplate.exchange(request.apply(headers(Futures.join(currentToken()))), responseType);
+        }
     }
 
-    public synchronized void getToken() {
-        if(headers != null){
-            return;
+    private CompletableFuture<String> currentToken() {
+        while (true) {
+            CompletableFuture<String> current = token.get();
+            if (current != null) {
+                return current;
+            }
+
+            CompletableFuture<String> login = new CompletableFuture<>();
+            if (token.compareAndSet(null, login)) {
+                try {
+                    login.complete(login());
+                } catch (RuntimeException e) {
+                    // 실패한 로그인은 기다리던 요청에만 전달하고, 다음 요청은 다시 로그인
+                    token.compareAndSet(login, null);
+                    login.completeExceptionally(e);
+                }
+                return login;
+            }
         }
+    }
 
+    private String login() {
         URI uri = UriComponentsBuilder
                 .fromUriString(objectStorageConfig.getMgrEndpoint())
                 .path("/api/auth")
@@ -93,51 +195,32 @@ public class DSService {
                 .build()
                 .toUri();
 
-
         HashMap<String, String> requestBody = new HashMap<>();
         requestBody.put("username", "sodas_admin");
         requestBody.put("password", "sodas_admin_secret");
 
-        headers = new HttpHeaders();
-        headers.add("Accept", "application/vnd.ceph.api.v1.0+json");
-        headers.add("Content-Type", "application/json");
-
         RequestEntity<HashMap> requestEntity = RequestEntity
                 .post(uri)
-                .headers(headers)
+                .headers(headers(null))
                 .body(requestBody);
 
-        RestTemplate restTemplate = new RestTemplate();
-
         ResponseEntity<HashMap> responseEntity = restTemplate.exchange(requestEntity, HashMap.class);
 
-        String token = (String)responseEntity.getBody().get("token");
-        headers.add("Authorization", "Bearer " + token);
-
+        return (String) responseEntity.getBody().get("token");
     }
 
-    public List<HashMap> bucketQoutaInfo(String userName) {
-        getToken();
-
-        URI uri = UriComponentsBuilder
-                .fromUriString(objectStorageConfig.getMgrEndpoint())
-                .path("/api/rgw/user/" + userName+"/quota")
-                .encode()
-                .build()
-                .toUri();
-
-        RequestEntity<Void> requestEntity = RequestEntity
-                .get(uri)
-                .headers(headers)
-                .build();
-
-        RestTemplate restTemplate = new RestTemplate();
-
-        ResponseEntity<HashMap> responseEntity = restTemplate.exchange(requestEntity, HashMap.class);
-
-        List<HashMap> quotaList = new ArrayList<>();
-        quotaList.add((HashMap<String, Object>) responseEntity.getBody().get("bucket_quota"));
+    private static HttpHeaders headers(String token) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("Accept", "application/vnd.ceph.api.v1.0+json");
+        headers.add("Content-Type", "application/json");
+        if (token != null) {
+            headers.add("Authorization", "Bearer " + token);
+        }
+        return headers;
+    }
 
-        return quotaList;
+    @PreDestroy
+    public void shutdown() {
+        quotaExecutor.shutdownNow();
     }
 }
@@ -0,0 +1,147 @@
+package com.etri.datalake.objectstorage.job;
+
+import com.etri.datalake.objectstorage.constants.SJob;
+
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/*
+    백그라운드 작업의 진행 상태
+    작업 스레드들이 동시에 갱신하며, 조회할 때는 snapshot 으로 복사한 SJob 을 돌려준다.
+ */
+public class Job {
+    public enum Status { RUNNING, SUCCEEDED, FAILED }
+
+    private static final int MAX_ERRORS = 1000;
+
+    private final String jobId;
+    private final String type;
+    private final String owner;
+    private final String bucketName;
+    private final long createdAt;
+
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicInteger errorCount = new AtomicInteger();
+    private final ConcurrentLinkedQueue<String> errors = new ConcurrentLinkedQueue<>();
+
+    private volatile Status status = Status.RUNNING;
+    private volatile String message;
+    private volatile long updatedAt;
+    // 이어서 실행할 때 시작 위치 (마지막으로 끝까지 처리한 키)
+    private volatile String checkpoint;
+
+    private final Consumer<Job> body;
+
+    Job(String jobId, String type, String owner, String bucketName, Consumer<Job> body) {
+        this.jobId = jobId;
+        this.type = type;
+        this.owner = owner;
+        this.bucketName = bucketName;
+        this.body = body;
+        this.createdAt = System.currentTimeMillis();
+        this.updatedAt = createdAt;
+    }
+
+    public void addTotal(long count) {
+        total.addAndGet(count);
+        touch();
+    }
+
+    public void addProcessed(long count) {
+        processed.addAndGet(count);
+        touch();
+    }
+
+    public void addFailure(String target, String reason) {
+        failed.incrementAndGet();
+        if (errorCount.incrementAndGet() <= MAX_ERRORS) {
+            errors.add(target + ": " + reason);
+        }
+        touch();
+    }
+
+    public String getCheckpoint() {
+        return checkpoint;
+    }
+
+    public void setCheckpoint(String checkpoint) {
+        this.checkpoint = checkpoint;
+        touch();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public long getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public boolean isRunning() {
+        return status == Status.RUNNING;
+    }
+
+    Consumer<Job> getBody() {
+        return body;
+    }
+
+    synchronized void finish() {
+        if (status == Status.RUNNING) {
+            status = (failed.get() == 0) ? Status.SUCCEEDED : Status.FAILED;
+        }
+        touch();
+    }
+
+    public synchronized void fail(String message) {
+        this.message = message;
+        this.status = Status.FAILED;
+        touch();
+    }
+
+    /*
+        실패한 작업을 다시 실행 상태로 돌림
+        실패 기록은 지우고, checkpoint 가 없는 작업은 처음부터 다시 세도록 진행 수도 지운다.
+     */
+    synchronized boolean restart() {
+        if (status != Status.FAILED) {
+            return false;
+        }
+        failed.set(0);
+        errorCount.set(0);
+        errors.clear();
+        if (checkpoint == null) {
+            total.set(0);
+            processed.set(0);
+        }
+        message = null;
+        status = Status.RUNNING;
+        touch();
+        return true;
+    }
+
+    public SJob snapshot() {
+        return new SJob(jobId, type, owner, bucketName, status.name(), total.get(), processed.get(), failed.get(),
+                new ArrayList<>(errors), message, checkpoint, createdAt, updatedAt);
+    }
+
+    private void touch() {
+        updatedAt = System.currentTimeMillis();
+    }
+}
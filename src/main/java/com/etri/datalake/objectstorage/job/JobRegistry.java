@@ -0,0 +1,98 @@
+package com.etri.datalake.objectstorage.job;
+
+import com.etri.datalake.exception.SodasException;
+import com.etri.datalake.exception.SodasExceptionCode;
+import com.etri.datalake.objectstorage.utils.ThreadPools;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/*
+    오래 걸리는 버킷 작업을 요청 스레드 밖에서 실행하고 진행 상태를 보관
+    끝난 작업은 retention 이 지나면 지운다.
+ */
+@Component
+public class JobRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(JobRegistry.class);
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final ExecutorService jobExecutor;
+    private final long retentionMillis;
+
+    public JobRegistry(@Value("${object-storage.job.threads:4}") int threads,
+                       @Value("${object-storage.job.retention:86400000}") long retentionMillis,
+                       @Value("${object-storage.virtual-threads.enabled:false}") boolean virtualThreads) {
+        this.retentionMillis = retentionMillis;
+
+        this.jobExecutor = ThreadPools.fixed("bucket-job", threads, virtualThreads);
+    }
+
+    public Job submit(String type, String owner, String bucketName, Consumer<Job> body) {
+        Job job = new Job(UUID.randomUUID().toString(), type, owner, bucketName, body);
+        jobs.put(job.getJobId(), job);
+
+        execute(job);
+        return job;
+    }
+
+    /*
+        실패한 작업을 checkpoint 부터 다시 실행
+     */
+    public Job resume(String owner, String jobId) {
+        Job job = find(owner, jobId);
+        if (!job.restart()) {
+            throw new SodasException(SodasExceptionCode.JOB_NOT_RESUMABLE);
+        }
+
+        execute(job);
+        return job;
+    }
+
+    private void execute(Job job) {
+        jobExecutor.execute(() -> {
+            try {
+                job.getBody().accept(job);
+                job.finish();
+            } catch (RuntimeException e) {
+                logger.warn("작업 실패, jobId: {}", job.getJobId(), e);
+                job.fail(e.getMessage());
+            }
+        });
+    }
+
+    public Job find(String owner, String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null || !job.getOwner().equals(owner)) {
+            throw new SodasException(SodasExceptionCode.JOB_NOT_FOUND);
+        }
+        return job;
+    }
+
+    public List<Job> findByOwner(String owner) {
+        return jobs.values().stream()
+                .filter(job -> job.getOwner().equals(owner))
+                .collect(Collectors.toList());
+    }
+
+    @Scheduled(fixedDelayString = "${object-storage.job.cleanup-interval:600000}")
+    public void removeFinishedJobs() {
+        long cutoff = System.currentTimeMillis() - retentionMillis;
+        jobs.values().removeIf(job -> !job.isRunning() && job.getUpdatedAt() < cutoff);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+    }
+}
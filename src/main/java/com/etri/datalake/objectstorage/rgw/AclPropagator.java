@@ -0,0 +1,176 @@
+package com.etri.datalake.objectstorage.rgw;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.*;
+import com.etri.datalake.objectstorage.job.Job;
+import com.etri.datalake.objectstorage.utils.ThreadPools;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.twonote.rgwadmin4j.model.S3Credential;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/*
+    버킷의 모든 오브젝트 ACL 에 권한(버킷에 추가한 유저의 grant)을 추가하거나, 정책 모드로 전환한 버킷에서 유저 권한을 걷어내는 작업
+    목록을 페이지 단위로 받으면서 오브젝트별 ACL 조회/수정을 parallelism 개까지 동시에 진행한다.
+    페이지가 끝날 때마다 처음 실패한 키 직전까지를 checkpoint 로 남겨, 실패한 작업은 실패한 키부터 다시 실행한다.
+    한 번 실패가 나면 이후 페이지에서는 checkpoint 를 옮기지 않으며, 이미 권한이 있는 오브젝트는 다시 수정하지 않는다.
+    RGW 가 503 (SlowDown) 을 돌려주면 지수 백오프로 재시도한다.
+ */
+@Component
+public class AclPropagator {
+    private static final int PAGE_SIZE = 1000;
+
+    private final S3ClientRegistry s3ClientRegistry;
+    private final int parallelism;
+    private final int maxRetries;
+    private final long retryBaseDelayMillis;
+    private final ExecutorService aclExecutor;
+
+    public AclPropagator(S3ClientRegistry s3ClientRegistry,
+                         @Value("${object-storage.acl.parallelism:16}") int parallelism,
+                         @Value("${object-storage.acl.threads:32}") int threads,
+                         @Value("${object-storage.acl.max-retries:5}") int maxRetries,
+                         @Value("${object-storage.acl.retry-base-delay:200}") long retryBaseDelayMillis,
+                         @Value("${object-storage.virtual-threads.enabled:false}") boolean virtualThreads) {
+        this.s3ClientRegistry = s3ClientRegistry;
+        this.parallelism = parallelism;
+        this.maxRetries = maxRetries;
+        this.retryBaseDelayMillis = retryBaseDelayMillis;
+
+        this.aclExecutor = ThreadPools.perTask("acl-propagate", threads, virtualThreads);
+    }
+
+    public void propagate(S3Credential key, String bucketName, Grant grant, Job job) {
+        forEachObject(key, bucketName, job, objectKey -> grant(key, bucketName, objectKey, grant));
+    }
+
+    /*
+        오브젝트 ACL 에서 오브젝트 소유자와 버킷 소유자를 뺀 유저(CanonicalGrantee) 권한을 제거
+        정책 모드로 전환한 뒤 실행하여, 정책에서 회수한 권한이 오브젝트 ACL 로 남지 않게 한다. 그룹 권한은 그대로 둔다.
+     */
+    public void strip(S3Credential key, String bucketName, String bucketOwnerId, Job job) {
+        forEachObject(key, bucketName, job, objectKey -> strip(key, bucketName, objectKey, bucketOwnerId));
+    }
+
+    private void forEachObject(S3Credential key, String bucketName, Job job, Consumer<String> action) {
+        Semaphore permits = new Semaphore(parallelism);
+        ListObjectsV2Request request = new ListObjectsV2Request()
+                .withBucketName(bucketName)
+                .withStartAfter(job.getCheckpoint())
+                .withMaxKeys(PAGE_SIZE);
+        ListObjectsV2Result result;
+        boolean checkpointFrozen = false;
+
+        try {
+            do {
+                result = withRetry(() -> s3ClientRegistry.getClient(key).listObjectsV2(request));
+                job.addTotal(result.getObjectSummaries().size());
+
+                CountDownLatch page = new CountDownLatch(result.getObjectSummaries().size());
+                Set<String> failedKeys = ConcurrentHashMap.newKeySet();
+                for (S3ObjectSummary objectSummary : result.getObjectSummaries()) {
+                    permits.acquire();
+                    aclExecutor.execute(() -> {
+                        try {
+                            action.accept(objectSummary.getKey());
+                            job.addProcessed(1);
+                        } catch (RuntimeException e) {
+                            failedKeys.add(objectSummary.getKey());
+                            job.addFailure(objectSummary.getKey(), e.getMessage());
+                        } finally {
+                            permits.release();
+                            page.countDown();
+                        }
+                    });
+                }
+                page.await();
+
+                for (S3ObjectSummary objectSummary : result.getObjectSummaries()) {
+                    if (checkpointFrozen || failedKeys.contains(objectSummary.getKey())) {
+                        checkpointFrozen = true;
+                        break;
+                    }
+                    job.setCheckpoint(objectSummary.getKey());
+                }
+                request.setContinuationToken(result.getNextContinuationToken());
+            } while (result.isTruncated());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.fail("ACL update interrupted");
+        }
+    }
+
+    private void grant(S3Credential key, String bucketName, String objectKey, Grant grant) {
+        withRetry(() -> {
+            AmazonS3 conn = s3ClientRegistry.getClient(key);
+            AccessControlList accessControlList = conn.getObjectAcl(bucketName, objectKey);
+            if (!accessControlList.getGrantsAsList().contains(grant)) {
+                accessControlList.grantAllPermissions(grant);
+                conn.setObjectAcl(bucketName, objectKey, accessControlList);
+            }
+            return null;
+        });
+    }
+
+    private void strip(S3Credential key, String bucketName, String objectKey, String bucketOwnerId) {
+        withRetry(() -> {
+            AmazonS3 conn = s3ClientRegistry.getClient(key);
+            AccessControlList accessControlList = conn.getObjectAcl(bucketName, objectKey);
+            String objectOwnerId = accessControlList.getOwner().getId();
+
+            AccessControlList ownerOnlyAcl = new AccessControlList();
+            ownerOnlyAcl.setOwner(accessControlList.getOwner());
+            List<Grant> grants = accessControlList.getGrantsAsList();
+            for (Grant grant : grants) {
+                String grantee = grant.getGrantee().getIdentifier();
+                if (!(grant.getGrantee() instanceof CanonicalGrantee) || grantee.equals(objectOwnerId) || grantee.equals(bucketOwnerId)) {
+                    ownerOnlyAcl.grantAllPermissions(grant);
+                }
+            }
+            if (ownerOnlyAcl.getGrantsAsList().size() != grants.size()) {
+                conn.setObjectAcl(bucketName, objectKey, ownerOnlyAcl);
+            }
+            return null;
+        });
+    }
+
+    private <T> T withRetry(Supplier<T> call) {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                return call.get();
+            } catch (AmazonServiceException e) {
+                boolean throttled = e.getStatusCode() == 503 || "SlowDown".equals(e.getErrorCode());
+                if (!throttled || attempt >= maxRetries) {
+                    throw e;
+                }
+                sleep(retryBaseDelayMillis << attempt);
+            }
+        }
+    }
+
+    private static void sleep(long delayMillis) {
+        try {
+            // 동시에 재시도가 몰리지 않도록 지연 시간에 편차를 줌
+            Thread.sleep(delayMillis / 2 + ThreadLocalRandom.current().nextLong(delayMillis / 2 + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to retry", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        aclExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,22 @@
+package com.etri.datalake.objectstorage.rgw;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/*
+    쿼타, 전송 속도, 버킷, 유저 정보가 변경되었음을 알리는 이벤트
+    관리 스냅샷에서 해당 항목만 다시 읽어 반영하는 데 사용 (id 는 BUCKET 이면 버킷 이름, 나머지는 유저 id)
+ */
+@Getter
+@EqualsAndHashCode
+public class AdminDataChangedEvent {
+    public enum Kind { USER_QUOTA, BUCKET_QUOTA, RATE_LIMIT, BUCKET, USER }
+
+    private final Kind kind;
+    private final String id;
+
+    public AdminDataChangedEvent(Kind kind, String id) {
+        this.kind = kind;
+        this.id = id;
+    }
+}
@@ -0,0 +1,67 @@
+package com.etri.datalake.objectstorage.rgw;
+
+import com.etri.datalake.objectstorage.constants.SAdminList;
+import com.etri.datalake.objectstorage.utils.ThreadPools;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Function;
+
+/*
+    유저마다 한 번씩 부르는 관리 API 호출을 동시에 실행하고 결과를 모음
+    동시 호출 수는 스레드 수로 제한되며 (가상 스레드 모드에서는 제한 없음), call-timeout 안에 끝나지 않거나 실패한 호출은 errors 에 기록하고 나머지 결과는 그대로 돌려준다.
+ */
+@Component
+public class AdminFanOut {
+    private final ExecutorService adminExecutor;
+    private final long callTimeoutMillis;
+
+    public AdminFanOut(@Value("${object-storage.admin.fan-out.threads:32}") int threads,
+                       @Value("${object-storage.admin.fan-out.call-timeout:10000}") long callTimeoutMillis,
+                       @Value("${object-storage.virtual-threads.enabled:false}") boolean virtualThreads) {
+        this.callTimeoutMillis = callTimeoutMillis;
+
+        this.adminExecutor = ThreadPools.perTask("admin-fan-out", threads, virtualThreads);
+    }
+
+    public <T> SAdminList<T> fanOut(Collection<String> uids, Function<String, T> call) {
+        Map<String, CompletableFuture<T>> calls = new LinkedHashMap<>();
+        for (String uid : uids) {
+            CompletableFuture<T> future = new CompletableFuture<>();
+            adminExecutor.execute(() -> {
+                // 대기열에서 기다린 시간은 빼고 호출이 시작된 시점부터 timeout 을 잰다
+                future.orTimeout(callTimeoutMillis, TimeUnit.MILLISECONDS);
+                try {
+                    future.complete(call.apply(uid));
+                } catch (RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+            });
+            calls.put(uid, future);
+        }
+
+        Map<String, T> results = new HashMap<>();
+        Map<String, String> errors = new HashMap<>();
+
+        for (Map.Entry<String, CompletableFuture<T>> entry : calls.entrySet()) {
+            try {
+                results.put(entry.getKey(), entry.getValue().join());
+            } catch (CompletionException | CancellationException e) {
+                Throwable cause = (e.getCause() != null) ? e.getCause() : e;
+                errors.put(entry.getKey(), (cause instanceof TimeoutException)
+                        ? "Timed out after " + callTimeoutMillis + "ms"
+                        : cause.getClass().getSimpleName() + ": " + cause.getMessage());
+            }
+        }
+
+        return new SAdminList<>(results, errors);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        adminExecutor.shutdownNow();
+    }
+}
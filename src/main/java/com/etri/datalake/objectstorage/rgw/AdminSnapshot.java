@@ -0,0 +1,111 @@
+package com.etri.datalake.objectstorage.rgw;
+
+import com.etri.datalake.objectstorage.constants.SAdminList;
+import org.twonote.rgwadmin4j.model.Quota;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/*
+    관리 대시보드용 스냅샷
+    만들어진 뒤에는 바뀌지 않으며, 항목 하나를 고치면 해당 맵만 복사한 새 스냅샷을 만든다.
+ */
+final class AdminSnapshot {
+    private final long createdAt;
+    private final SAdminList<Map<String, Quota>> userQuotas;
+    private final SAdminList<Map<String, Quota>> bucketQuotas;
+    private final SAdminList<Map<String, String>> rateLimits;
+    // owner -> (버킷 이름 -> 사용률)
+    private final Map<String, Map<String, String>> bucketUsage;
+
+    AdminSnapshot(long createdAt, SAdminList<Map<String, Quota>> userQuotas, SAdminList<Map<String, Quota>> bucketQuotas,
+                  SAdminList<Map<String, String>> rateLimits, Map<String, Map<String, String>> bucketUsage) {
+        this.createdAt = createdAt;
+        this.userQuotas = freeze(userQuotas);
+        this.bucketQuotas = freeze(bucketQuotas);
+        this.rateLimits = freeze(rateLimits);
+
+        Map<String, Map<String, String>> usage = new HashMap<>();
+        bucketUsage.forEach((owner, buckets) -> usage.put(owner, Collections.unmodifiableMap(new HashMap<>(buckets))));
+        this.bucketUsage = Collections.unmodifiableMap(usage);
+    }
+
+    long getCreatedAt() {
+        return createdAt;
+    }
+
+    SAdminList<Map<String, Quota>> getUserQuotas() {
+        return userQuotas;
+    }
+
+    SAdminList<Map<String, Quota>> getBucketQuotas() {
+        return bucketQuotas;
+    }
+
+    SAdminList<Map<String, String>> getRateLimits() {
+        return rateLimits;
+    }
+
+    Map<String, Map<String, String>> getBucketUsage() {
+        return bucketUsage;
+    }
+
+    Map<String, String> getBucketUsage(String owner) {
+        return bucketUsage.getOrDefault(owner, Collections.emptyMap());
+    }
+
+    /*
+        value 가 null 이면 해당 유저를 뺀다
+     */
+    AdminSnapshot withUserQuota(String uid, Map<String, Quota> value) {
+        return new AdminSnapshot(createdAt, with(userQuotas, uid, value), bucketQuotas, rateLimits, bucketUsage);
+    }
+
+    AdminSnapshot withBucketQuota(String uid, Map<String, Quota> value) {
+        return new AdminSnapshot(createdAt, userQuotas, with(bucketQuotas, uid, value), rateLimits, bucketUsage);
+    }
+
+    AdminSnapshot withRateLimit(String uid, Map<String, String> value) {
+        return new AdminSnapshot(createdAt, userQuotas, bucketQuotas, with(rateLimits, uid, value), bucketUsage);
+    }
+
+    /*
+        owner 가 null 이면 (버킷이 지워진 경우) 모든 owner 에서 해당 버킷을 뺀다
+     */
+    AdminSnapshot withBucketUsage(String bucketName, String owner, String utilization) {
+        Map<String, Map<String, String>> usage = new HashMap<>();
+        bucketUsage.forEach((bucketOwner, buckets) -> {
+            Map<String, String> copy = new HashMap<>(buckets);
+            copy.remove(bucketName);
+            usage.put(bucketOwner, copy);
+        });
+        if (owner != null) {
+            usage.computeIfAbsent(owner, key -> new HashMap<>()).put(bucketName, utilization);
+        }
+        return new AdminSnapshot(createdAt, userQuotas, bucketQuotas, rateLimits, usage);
+    }
+
+    AdminSnapshot withoutUser(String uid) {
+        Map<String, Map<String, String>> usage = new HashMap<>(bucketUsage);
+        usage.remove(uid);
+        return new AdminSnapshot(createdAt, with(userQuotas, uid, null), with(bucketQuotas, uid, null), with(rateLimits, uid, null), usage);
+    }
+
+    private static <T> SAdminList<T> with(SAdminList<T> list, String uid, T value) {
+        Map<String, T> results = new HashMap<>(list.getResults());
+        Map<String, String> errors = new HashMap<>(list.getErrors());
+        errors.remove(uid);
+        if (value == null) {
+            results.remove(uid);
+        } else {
+            results.put(uid, value);
+        }
+        return new SAdminList<>(results, errors);
+    }
+
+    private static <T> SAdminList<T> freeze(SAdminList<T> list) {
+        return new SAdminList<>(Collections.unmodifiableMap(new HashMap<>(list.getResults())),
+                Collections.unmodifiableMap(new HashMap<>(list.getErrors())));
+    }
+}
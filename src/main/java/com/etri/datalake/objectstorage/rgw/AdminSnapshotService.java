@@ -0,0 +1,205 @@
+package com.etri.datalake.objectstorage.rgw;
+
+import com.etri.datalake.exception.BackendUnavailableException;
+import com.etri.datalake.objectstorage.constants.SAdminList;
+import com.etri.datalake.objectstorage.utils.ThreadPools;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.twonote.rgwadmin4j.model.BucketInfo;
+import org.twonote.rgwadmin4j.model.Quota;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+    관리 대시보드(유저 쿼타, 버킷 쿼타, 전송 속도, 버킷 사용률)를 주기적으로 새로 읽어 스냅샷으로 제공
+    조회는 현재 스냅샷만 읽으므로 RGW 관리 API 를 호출하지 않는다.
+    쿼타/전송 속도/버킷/유저 변경 이벤트가 오면 해당 항목만 다시 읽어 스냅샷에 바로 반영한다.
+    첫 스냅샷은 기동 후 별도 스레드에서 만들고(실패하면 initial-retry 뒤 다시 시도), 준비되기 전의 조회는 503 으로 응답한다.
+ */
+@Service
+public class AdminSnapshotService {
+    private static final Logger logger = LoggerFactory.getLogger(AdminSnapshotService.class);
+
+    private final RGWService rgwService;
+    private final long initialRetryMillis;
+    private final ScheduledExecutorService initialBuildExecutor;
+
+    private final AtomicReference<AdminSnapshot> snapshot = new AtomicReference<>();
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    // 새로 읽는 도중에 들어온 변경, 새 스냅샷에 한 번 더 반영한다
+    private final Set<AdminDataChangedEvent> changedDuringRefresh = ConcurrentHashMap.newKeySet();
+    private volatile boolean refreshing;
+
+    public AdminSnapshotService(RGWService rgwService,
+                                @Value("${object-storage.admin.snapshot.initial-retry:5000}") long initialRetryMillis) {
+        this.rgwService = rgwService;
+        this.initialRetryMillis = initialRetryMillis;
+        this.initialBuildExecutor = Executors.newSingleThreadScheduledExecutor(ThreadPools.threadFactory("admin-snapshot", false));
+    }
+
+    public SAdminList<Map<String, Quota>> usersQuota() {
+        AdminSnapshot current = current();
+        return withAge(current.getUserQuotas(), current);
+    }
+
+    public SAdminList<Map<String, Quota>> bucketsQuota() {
+        AdminSnapshot current = current();
+        return withAge(current.getBucketQuotas(), current);
+    }
+
+    public SAdminList<Map<String, String>> usersRateLimit() {
+        AdminSnapshot current = current();
+        return withAge(current.getRateLimits(), current);
+    }
+
+    public Map<String, String> quotaUtilizationList(String uid) {
+        return current().getBucketUsage(uid);
+    }
+
+    /*
+        현재 스냅샷이 만들어진 뒤 지난 시간 (ms)
+     */
+    public long age() {
+        return System.currentTimeMillis() - current().getCreatedAt();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildInitialSnapshot() {
+        initialBuildExecutor.execute(this::tryInitialBuild);
+    }
+
+    // 첫 스냅샷은 buildInitialSnapshot 이 만들므로 주기적 갱신은 한 주기 뒤부터 시작
+    @Scheduled(fixedDelayString = "${object-storage.admin.snapshot.refresh-interval:60000}",
+            initialDelayString = "${object-storage.admin.snapshot.refresh-interval:60000}")
+    public void scheduledRefresh() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            logger.warn("관리 스냅샷 갱신 실패, 이전 스냅샷을 계속 사용합니다", e);
+        }
+    }
+
+    public void refresh() {
+        refreshLock.lock();
+        try {
+            refreshing = true;
+            long createdAt = System.currentTimeMillis();
+
+            List<String> uids = rgwService.listUserIds();
+            AdminSnapshot fresh = new AdminSnapshot(createdAt,
+                    rgwService.usersQuota(uids),
+                    rgwService.bucketsQuota(uids),
+                    rgwService.usersRateLimit(uids),
+                    rgwService.bucketUtilizations());
+
+            snapshot.set(fresh);
+            refreshing = false;
+
+            for (AdminDataChangedEvent event : new ArrayList<>(changedDuringRefresh)) {
+                changedDuringRefresh.remove(event);
+                apply(event);
+            }
+        } finally {
+            refreshing = false;
+            refreshLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        initialBuildExecutor.shutdownNow();
+    }
+
+    @EventListener
+    public void onAdminDataChanged(AdminDataChangedEvent event) {
+        if (snapshot.get() == null) {
+            return;
+        }
+        if (refreshing) {
+            changedDuringRefresh.add(event);
+        }
+        apply(event);
+    }
+
+    private void apply(AdminDataChangedEvent event) {
+        String id = event.getId();
+        try {
+            switch (event.getKind()) {
+                case USER_QUOTA -> {
+                    Optional<Quota> quota = rgwService.userQuota(id);
+                    snapshot.updateAndGet(current -> current.withUserQuota(id, quota.map(value -> Map.of("userQuota", value)).orElse(null)));
+                }
+                case BUCKET_QUOTA -> {
+                    Optional<Quota> quota = rgwService.bucketQuota(id);
+                    snapshot.updateAndGet(current -> current.withBucketQuota(id, quota.map(value -> Map.of("bucketQuota", value)).orElse(null)));
+                }
+                case RATE_LIMIT -> {
+                    String rateLimit = rgwService.getUserRateLimit(id);
+                    snapshot.updateAndGet(current -> current.withRateLimit(id, Map.of("RateLimit", rateLimit)));
+                }
+                case BUCKET -> {
+                    Optional<BucketInfo> bucketInfo = rgwService.findBucketInfo(id);
+                    snapshot.updateAndGet(current -> current.withBucketUsage(id,
+                            bucketInfo.map(BucketInfo::getOwner).orElse(null),
+                            bucketInfo.map(RGWService::utilization).orElse(null)));
+                }
+                case USER -> {
+                    Optional<Quota> userQuota = rgwService.userQuota(id);
+                    if (userQuota.isEmpty()) {
+                        snapshot.updateAndGet(current -> current.withoutUser(id));
+                        return;
+                    }
+                    Optional<Quota> bucketQuota = rgwService.bucketQuota(id);
+                    String rateLimit = rgwService.getUserRateLimit(id);
+                    snapshot.updateAndGet(current -> current
+                            .withUserQuota(id, Map.of("userQuota", userQuota.get()))
+                            .withBucketQuota(id, bucketQuota.map(value -> Map.of("bucketQuota", value)).orElse(null))
+                            .withRateLimit(id, Map.of("RateLimit", rateLimit)));
+                }
+            }
+        } catch (RuntimeException e) {
+            // 다음 주기적 갱신에서 맞춰진다
+            logger.warn("관리 스냅샷 반영 실패, kind: {}, id: {}", event.getKind(), id, e);
+        }
+    }
+
+    private void tryInitialBuild() {
+        if (snapshot.get() != null) {
+            return;
+        }
+        try {
+            refresh();
+            logger.info("관리 스냅샷 준비 완료");
+        } catch (RuntimeException e) {
+            logger.warn("관리 스냅샷 생성 실패, {}ms 뒤 다시 시도합니다", initialRetryMillis, e);
+            initialBuildExecutor.schedule(this::tryInitialBuild, initialRetryMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /*
+        요청 스레드에서 RGW 전체를 읽지 않도록, 첫 스냅샷이 준비되기 전에는 기다리지 않고 503 으로 실패
+     */
+    private AdminSnapshot current() {
+        AdminSnapshot current = snapshot.get();
+        if (current == null) {
+            throw new BackendUnavailableException("admin-snapshot", Math.max(1, (initialRetryMillis + 999) / 1000));
+        }
+        return current;
+    }
+
+    private static <T> SAdminList<T> withAge(SAdminList<T> list, AdminSnapshot snapshot) {
+        return new SAdminList<>(list.getResults(), list.getErrors(), System.currentTimeMillis() - snapshot.getCreatedAt());
+    }
+}
@@ -0,0 +1,146 @@
+package com.etri.datalake.objectstorage.rgw;
+
+import com.etri.datalake.config.objectstorage.ObjectStorageConfig;
+import com.etri.datalake.objectstorage.constants.RateLimit;
+import com.etri.datalake.objectstorage.constants.SodasRgwAdmin;
+import com.etri.datalake.objectstorage.utils.CircuitBreaker;
+import com.etri.datalake.objectstorage.utils.ThreadPools;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.twonote.rgwadmin4j.RgwAdmin;
+import org.twonote.rgwadmin4j.RgwAdminBuilder;
+import org.twonote.rgwadmin4j.model.*;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.function.Function;
+
+/*
+    RGW 관리 API 를 CompletableFuture 로 호출하는 비동기 파사드
+    SodasRgwAdmin (rate limit) 은 OkHttp 비동기 dispatcher 를 그대로 쓰고,
+    동기 API 만 있는 RgwAdmin 호출은 크기가 정해진 관리 API 전용 스레드 풀에서 실행한다.
+    여러 호출을 동시에 보내고 조합할 때 사용하며, RGWService 의 동기 메소드는 결과를 기다리는 래퍼이다.
+    클라이언트는 시작 시 한 번 만들어 공유하고, 모든 RgwAdmin 호출은 RGW 관리 API 회로 차단기를 거친다.
+ */
+@Component
+public class AsyncRgwAdmin {
+    private final RgwAdmin rgwAdmin;
+    private final SodasRgwAdmin sodasRgwAdmin;
+    private final ExecutorService adminExecutor;
+    private final long callTimeoutMillis;
+
+    public AsyncRgwAdmin(ObjectStorageConfig objectStorageConfig, SodasRgwAdmin sodasRgwAdmin, BackendCircuitBreakers circuitBreakers,
+                         @Value("${object-storage.admin.async.threads:16}") int threads,
+                         @Value("${object-storage.admin.call-timeout:30000}") long callTimeoutMillis,
+                         @Value("${object-storage.virtual-threads.enabled:false}") boolean virtualThreads) {
+        RgwAdmin client = new RgwAdminBuilder().accessKey(objectStorageConfig.getRgwAdminAccess())
+                .secretKey(objectStorageConfig.getRgwAdminSecret())
+                .endpoint(objectStorageConfig.getRgwEndpoint() + "/admin")
+                .build();
+        this.rgwAdmin = guarded(client, circuitBreakers.get(BackendCircuitBreakers.Backend.RGW_ADMIN));
+        this.callTimeoutMillis = callTimeoutMillis;
+        this.sodasRgwAdmin = sodasRgwAdmin;
+
+        this.adminExecutor = ThreadPools.perTask("rgw-admin", threads, virtualThreads);
+    }
+
+    public RgwAdmin rgwAdmin() {
+        return rgwAdmin;
+    }
+
+    public SodasRgwAdmin sodasRgwAdmin() {
+        return sodasRgwAdmin;
+    }
+
+    /*
+        위 메소드에 없는 RgwAdmin 호출
+     */
+    public <T> CompletableFuture<T> call(Function<RgwAdmin, T> operation) {
+        return CompletableFuture.supplyAsync(() -> operation.apply(rgwAdmin), adminExecutor)
+                .orTimeout(callTimeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /*
+        RgwAdmin 의 모든 메소드 호출 앞뒤로 회로 차단기를 적용
+     */
+    private static RgwAdmin guarded(RgwAdmin client, CircuitBreaker circuitBreaker) {
+        return (RgwAdmin) Proxy.newProxyInstance(RgwAdmin.class.getClassLoader(), new Class<?>[]{RgwAdmin.class},
+                (proxy, method, args) -> {
+                    if (method.getDeclaringClass() == Object.class) {
+                        return method.invoke(client, args);
+                    }
+                    return circuitBreaker.call(() -> {
+                        try {
+                            return method.invoke(client, args);
+                        } catch (InvocationTargetException e) {
+                            if (e.getCause() instanceof RuntimeException) {
+                                throw (RuntimeException) e.getCause();
+                            }
+                            throw new IllegalStateException(e.getCause());
+                        } catch (IllegalAccessException e) {
+                            throw new IllegalStateException(e);
+                        }
+                    });
+                });
+    }
+
+    public CompletableFuture<Optional<BucketInfo>> getBucketInfo(String bucketName) {
+        return call(admin -> admin.getBucketInfo(bucketName));
+    }
+
+    public CompletableFuture<Optional<Quota>> getUserQuota(String uid) {
+        return call(admin -> admin.getUserQuota(uid));
+    }
+
+    public CompletableFuture<Optional<Quota>> getBucketQuota(String uid) {
+        return call(admin -> admin.getBucketQuota(uid));
+    }
+
+    public CompletableFuture<Void> setUserQuota(String uid, long maxObjects, long maxSizeKb) {
+        return call(admin -> {
+            admin.setUserQuota(uid, maxObjects, maxSizeKb);
+            return null;
+        });
+    }
+
+    public CompletableFuture<User> createUser(String uid, Map<String, String> parameters) {
+        return call(admin -> admin.createUser(uid, parameters));
+    }
+
+    public CompletableFuture<Void> createS3Credential(String uid, String accessKey, String secretKey) {
+        return call(admin -> {
+            admin.createS3Credential(uid, accessKey, secretKey);
+            return null;
+        });
+    }
+
+    public CompletableFuture<List<String>> listSubUser(String uid) {
+        return call(admin -> admin.listSubUser(uid));
+    }
+
+    public CompletableFuture<Optional<SubUser>> getSubUserInfo(String uid, String subUid) {
+        return call(admin -> admin.getSubUserInfo(uid, subUid));
+    }
+
+    public CompletableFuture<List<SubUser>> createSubUser(String uid, String subUid, Map<String, String> parameters) {
+        return call(admin -> admin.createSubUser(uid, subUid, parameters));
+    }
+
+    public CompletableFuture<String> getUserRateLimit(String uid) {
+        return sodasRgwAdmin.getUserRateLimitAsync(uid);
+    }
+
+    public CompletableFuture<String> setUserRateLimit(String uid, RateLimit rateLimit) {
+        return sodasRgwAdmin.setUserRateLimitAsync(uid, rateLimit);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        adminExecutor.shutdownNow();
+    }
+}
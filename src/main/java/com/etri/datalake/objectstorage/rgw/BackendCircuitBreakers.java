@@ -0,0 +1,81 @@
+package com.etri.datalake.objectstorage.rgw;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.SdkClientException;
+import com.etri.datalake.objectstorage.utils.CircuitBreaker;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.twonote.rgwadmin4j.impl.RgwAdminException;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.TimeoutException;
+
+/*
+    백엔드별 회로 차단기 (RGW S3, RGW 관리 API, Ceph 대시보드, Keycloak)
+    5xx 응답, I/O 오류(연결/소켓 타임아웃 포함), 타임아웃, SDK 클라이언트 오류만 실패로 센다.
+    4xx 응답은 백엔드가 정상 응답한 것으로 보고, 그 외의 예외(응답 파싱, 코드 버그 등)는 실패로 세지 않는다.
+    503 SlowDown 등 요청 제한(throttling) 응답은 한 유저의 rate limit 이나 ACL 작업 때문에 모든 유저의 회로가 열리지 않도록 실패로 세지 않는다.
+ */
+@Component
+public class BackendCircuitBreakers {
+    public enum Backend { RGW_S3, RGW_ADMIN, DASHBOARD, KEYCLOAK }
+
+    private static final Set<String> THROTTLING_ERROR_CODES = Set.of(
+            "SlowDown", "Throttling", "ThrottlingException", "RequestThrottled", "RequestLimitExceeded",
+            "TooManyRequestsException", "BandwidthLimitExceeded");
+
+    private final Map<Backend, CircuitBreaker> breakers = new EnumMap<>(Backend.class);
+
+    public BackendCircuitBreakers(@Value("${object-storage.circuit-breaker.failure-threshold:5}") int failureThreshold,
+                                  @Value("${object-storage.circuit-breaker.open-duration:30000}") long openMillis) {
+        for (Backend backend : Backend.values()) {
+            breakers.put(backend, new CircuitBreaker(backend.name(), failureThreshold, openMillis, BackendCircuitBreakers::isBackendFailure));
+        }
+    }
+
+    public CircuitBreaker get(Backend backend) {
+        return breakers.get(backend);
+    }
+
+    public Map<String, Map<String, Object>> stats() {
+        Map<String, Map<String, Object>> result = new LinkedHashMap<>();
+        for (CircuitBreaker breaker : breakers.values()) {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("state", breaker.getState().name());
+            stats.put("consecutiveFailures", breaker.getConsecutiveFailures());
+            stats.put("rejected", breaker.getRejected());
+            stats.put("lastProbeSucceeded", breaker.getLastProbeSucceeded());
+            stats.put("lastProbeAt", breaker.getLastProbeAt());
+            result.put(breaker.getName(), stats);
+        }
+        return result;
+    }
+
+    /*
+        원인 체인을 따라가며 처음 만나는 백엔드 오류 종류로 판단 (CompletionException, ResourceAccessException 등의 포장 제거)
+     */
+    static boolean isBackendFailure(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = (cause.getCause() != cause) ? cause.getCause() : null) {
+            // AmazonServiceException 은 SdkClientException 의 하위 클래스이므로 먼저 확인
+            if (cause instanceof AmazonServiceException) {
+                AmazonServiceException serviceException = (AmazonServiceException) cause;
+                return serviceException.getStatusCode() >= 500 && !THROTTLING_ERROR_CODES.contains(serviceException.getErrorCode());
+            }
+            if (cause instanceof SdkClientException) {
+                return true;
+            }
+            if (cause instanceof RgwAdminException) {
+                return ((RgwAdminException) cause).status() >= 500;
+            }
+            if (cause instanceof HttpStatusCodeException) {
+                return ((HttpStatusCodeException) cause).getStatusCode().is5xxServerError();
+            }
+            if (cause instanceof IOException || cause instanceof TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
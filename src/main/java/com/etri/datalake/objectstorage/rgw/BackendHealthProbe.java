@@ -0,0 +1,72 @@
+package com.etri.datalake.objectstorage.rgw;
+
+import com.etri.datalake.auth.KeycloakAdapter;
+import com.etri.datalake.config.objectstorage.ObjectStorageConfig;
+import com.etri.datalake.objectstorage.utils.CircuitBreaker;
+import jakarta.annotation.PreDestroy;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/*
+    백엔드 상태를 주기적으로 확인해 회로 차단기에 반영
+    인증 없이 엔드포인트에 요청을 보내 5xx 가 아닌 응답(401/403 포함)이 오면 살아 있는 것으로 본다.
+ */
+@Component
+public class BackendHealthProbe {
+    private static final Logger logger = LoggerFactory.getLogger(BackendHealthProbe.class);
+
+    private final ObjectStorageConfig objectStorageConfig;
+    private final KeycloakAdapter keycloakAdapter;
+    private final BackendCircuitBreakers circuitBreakers;
+    private final OkHttpClient client;
+
+    public BackendHealthProbe(ObjectStorageConfig objectStorageConfig, KeycloakAdapter keycloakAdapter, BackendCircuitBreakers circuitBreakers,
+                              @Value("${object-storage.health.timeout:2000}") long timeoutMillis) {
+        this.objectStorageConfig = objectStorageConfig;
+        this.keycloakAdapter = keycloakAdapter;
+        this.circuitBreakers = circuitBreakers;
+        this.client = new OkHttpClient.Builder()
+                .connectTimeout(Duration.ofMillis(timeoutMillis))
+                .readTimeout(Duration.ofMillis(timeoutMillis))
+                .callTimeout(Duration.ofMillis(timeoutMillis * 2))
+                .retryOnConnectionFailure(false)
+                .build();
+    }
+
+    @Scheduled(fixedDelayString = "${object-storage.health.interval:15000}")
+    public void probe() {
+        probe(BackendCircuitBreakers.Backend.RGW_S3, objectStorageConfig.getRgwEndpoint());
+        probe(BackendCircuitBreakers.Backend.RGW_ADMIN, objectStorageConfig.getRgwEndpoint() + "/admin/info");
+        probe(BackendCircuitBreakers.Backend.DASHBOARD, objectStorageConfig.getMgrEndpoint());
+        probe(BackendCircuitBreakers.Backend.KEYCLOAK, keycloakAdapter.getKeycloakDeployment().getJwksUrl());
+    }
+
+    private void probe(BackendCircuitBreakers.Backend backend, String url) {
+        CircuitBreaker breaker = circuitBreakers.get(backend);
+        try (Response response = client.newCall(new Request.Builder().get().url(url).build()).execute()) {
+            if (response.code() < 500) {
+                breaker.probeSucceeded();
+                return;
+            }
+            logger.warn("백엔드 상태 확인 실패, backend: {}, code: {}", backend, response.code());
+        } catch (IOException | RuntimeException e) {
+            logger.warn("백엔드 상태 확인 실패, backend: {}, {}", backend, e.getMessage());
+        }
+        breaker.probeFailed();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        client.dispatcher().executorService().shutdownNow();
+        client.connectionPool().evictAll();
+    }
+}
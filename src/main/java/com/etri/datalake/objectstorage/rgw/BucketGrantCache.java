@@ -0,0 +1,93 @@
+package com.etri.datalake.objectstorage.rgw;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.*;
+import com.etri.datalake.objectstorage.utils.Futures;
+import com.etri.datalake.objectstorage.utils.ThreadPools;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.twonote.rgwadmin4j.model.S3Credential;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+
+/*
+    업로드할 오브젝트의 ACL 을 만들기 위한 캐시
+    버킷 ACL 의 grant 목록은 버킷별로, 업로드하는 계정의 canonical id 는 access key 별로 캐시한다.
+    버킷 ACL 을 바꾸는 RGWService 메소드에서 invalidate 를 호출해야 하며, 그 외의 변경은 ttl 이 지나면 반영된다.
+    RGW 조회는 캐시의 compute 안이 아니라 별도 실행 풀에서 한다.
+    업로드하는 유저가 버킷 ACL 을 읽을 수 없으면(READ_ACP 없음) ACL 없이 업로드하도록 null 을 반환해, 업로드 자체는 실패하지 않게 한다.
+ */
+@Component
+public class BucketGrantCache {
+    private final AsyncCache<String, List<Grant>> bucketGrants;
+    private final AsyncCache<String, String> ownerIds;
+    private final ExecutorService loaderExecutor;
+
+    public BucketGrantCache(@Value("${object-storage.acl.grant-cache-ttl:60000}") long ttlMillis,
+                            @Value("${object-storage.acl.grant-cache-max-size:10000}") long maxSize,
+                            @Value("${object-storage.acl.grant-cache-loader-threads:8}") int loaderThreads,
+                            @Value("${object-storage.virtual-threads.enabled:false}") boolean virtualThreads) {
+        this.loaderExecutor = ThreadPools.perTask("grant-loader", loaderThreads, virtualThreads);
+        this.bucketGrants = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(ttlMillis))
+                .maximumSize(maxSize)
+                .executor(loaderExecutor)
+                .buildAsync();
+        this.ownerIds = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(ttlMillis))
+                .maximumSize(maxSize)
+                .executor(loaderExecutor)
+                .buildAsync();
+    }
+
+    /*
+        소유자 FULL_CONTROL 에 버킷의 grant 를 더한 오브젝트 ACL
+        업로드 요청(PutObject, InitiateMultipartUpload)에 함께 보내 업로드 후 ACL 을 다시 쓰지 않도록 한다.
+     */
+    public AccessControlList objectAcl(AmazonS3 conn, S3Credential key, String bucketName) {
+        // 두 조회를 함께 시작하고 결과를 기다림
+        CompletableFuture<String> ownerIdFuture = ownerIds.get(key.getAccessKey(), accessKey -> conn.getS3AccountOwner().getId());
+        CompletableFuture<List<Grant>> grantsFuture = bucketGrants.get(bucketName, name -> copyGrants(conn.getBucketAcl(name)));
+        String ownerId = Futures.join(ownerIdFuture);
+        List<Grant> grants;
+        try {
+            grants = Futures.join(grantsFuture);
+        } catch (AmazonS3Exception e) {
+            if (e.getStatusCode() != 403) {
+                throw e;
+            }
+            // 실패한 조회는 캐시에 남지 않으므로 다른 유저는 다시 읽는다
+            return null;
+        }
+
+        AccessControlList accessControlList = new AccessControlList();
+        accessControlList.setOwner(new Owner(ownerId, ownerId));
+        accessControlList.grantPermission(new CanonicalGrantee(ownerId), Permission.FullControl);
+        accessControlList.grantAllPermissions(grants.toArray(new Grant[0]));
+        return accessControlList;
+    }
+
+    public void invalidate(String bucketName) {
+        bucketGrants.synchronous().invalidate(bucketName);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        loaderExecutor.shutdownNow();
+    }
+
+    private static List<Grant> copyGrants(AccessControlList bucketAcl) {
+        return bucketAcl.getGrantsAsList().stream()
+                .map(grant -> (grant.getGrantee() instanceof CanonicalGrantee)
+                        ? new Grant(new CanonicalGrantee(grant.getGrantee().getIdentifier()), grant.getPermission())
+                        : grant)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,277 @@
+package com.etri.datalake.objectstorage.rgw;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.*;
+import com.etri.datalake.exception.SodasException;
+import com.etri.datalake.exception.SodasExceptionCode;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/*
+    버킷 정책(bucket policy) 기반 공유
+    정책 모드 버킷은 권한마다 statement 하나를 두고 Principal 목록에 유저를 넣고 빼므로, 권한 부여/회수가 오브젝트 수와 상관없이 한 번의 정책 수정으로 끝난다.
+    정책 문서의 Id 가 POLICY_ID 이면 정책 모드로 보며, 모드는 버킷별로 캐시한다.
+    정책으로 권한을 받은 유저는 GetBucketPolicy 권한이 없으므로, 모드는 필요하면 버킷 소유자 크레덴셜로 읽는다.
+    정책 수정은 읽기-수정-쓰기이므로 버킷 이름으로 나눈 락으로 같은 버킷의 수정을 직렬화한다.
+ */
+@Component
+public class BucketPolicySharing {
+    public enum Mode { ACL, POLICY }
+
+    private static final String POLICY_ID = "sodas-sharing";
+    private static final String SID_PREFIX = "Sodas";
+    private static final String OWNER_SID = SID_PREFIX + "Owner";
+
+    private static final Map<Permission, List<String>> ACTIONS = Map.of(
+            Permission.Read, List.of("s3:ListBucket", "s3:GetObject"),
+            Permission.Write, List.of("s3:PutObject", "s3:DeleteObject", "s3:AbortMultipartUpload",
+                    "s3:ListMultipartUploadParts", "s3:ListBucketMultipartUploads"),
+            Permission.ReadAcp, List.of("s3:GetBucketAcl", "s3:GetObjectAcl"),
+            Permission.WriteAcp, List.of("s3:PutBucketAcl", "s3:PutObjectAcl"),
+            Permission.FullControl, List.of("s3:*"));
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final ObjectMapper objectMapper;
+    private final Cache<String, Mode> modes;
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+
+    public BucketPolicySharing(ObjectMapper objectMapper,
+                               @Value("${object-storage.sharing.mode-ttl:300000}") long modeTtlMillis) {
+        this.objectMapper = objectMapper;
+        this.modes = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(modeTtlMillis))
+                .maximumSize(100000)
+                .build();
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /*
+        ownerConn 은 호출한 유저가 정책을 읽을 수 없을 때만 부르며, 소유자를 알 수 없으면 null 을 반환한다
+     */
+    public Mode getMode(AmazonS3 conn, String bucketName, Supplier<AmazonS3> ownerConn) {
+        Mode mode = modes.getIfPresent(bucketName);
+        if (mode != null) {
+            return mode;
+        }
+
+        ObjectNode policy;
+        try {
+            policy = readPolicy(conn, bucketName);
+        } catch (AmazonS3Exception e) {
+            if (e.getStatusCode() != 403) {
+                throw e;
+            }
+            AmazonS3 owner = ownerConn.get();
+            if (owner == null) {
+                // 소유자 크레덴셜이 없으면 기존 ACL 방식으로 처리하고 캐시하지 않음
+                return Mode.ACL;
+            }
+            policy = readPolicy(owner, bucketName);
+        }
+
+        mode = isSharingPolicy(policy) ? Mode.POLICY : Mode.ACL;
+        modes.put(bucketName, mode);
+        return mode;
+    }
+
+    /*
+        버킷을 정책 모드로 전환하고 버킷 소유자 id 를 반환
+        버킷 ACL 에 있는 유저 권한을 정책으로 옮긴 뒤 버킷 ACL 에서는 제거하여, 정책에서 회수한 권한이 ACL 로 남지 않게 한다.
+        기존 오브젝트 ACL 은 여기서 바꾸지 않으며, 호출하는 쪽에서 AclPropagator.strip 작업으로 정리한다.
+     */
+    public String enable(AmazonS3 conn, String bucketName) {
+        ReentrantLock lock = lockFor(bucketName);
+        lock.lock();
+        try {
+            ObjectNode policy = readPolicy(conn, bucketName);
+            AccessControlList bucketAcl = conn.getBucketAcl(bucketName);
+            String ownerId = bucketAcl.getOwner().getId();
+
+            if (!isSharingPolicy(policy)) {
+                ArrayNode statements = objectMapper.createArrayNode();
+                // 권한 statement 가 모두 회수되어도 정책 문서가 비지 않도록 소유자 statement 를 둠
+                statements.add(statement(bucketName, OWNER_SID, ACTIONS.get(Permission.FullControl), List.of(ownerId)));
+                if (policy != null && policy.get("Statement") instanceof ArrayNode existing) {
+                    statements.addAll(existing);
+                }
+
+                policy = objectMapper.createObjectNode();
+                policy.put("Version", "2012-10-17");
+                policy.put("Id", POLICY_ID);
+                policy.set("Statement", statements);
+            }
+
+            AccessControlList ownerOnlyAcl = new AccessControlList();
+            ownerOnlyAcl.setOwner(bucketAcl.getOwner());
+            boolean migrated = false;
+            for (Grant grant : bucketAcl.getGrantsAsList()) {
+                if (grant.getGrantee() instanceof CanonicalGrantee && !ownerId.equals(grant.getGrantee().getIdentifier())) {
+                    addPrincipal(policy, bucketName, grant.getPermission(), grant.getGrantee().getIdentifier());
+                    migrated = true;
+                } else {
+                    // 소유자와 그룹 권한은 ACL 에 그대로 둠
+                    ownerOnlyAcl.grantAllPermissions(grant);
+                }
+            }
+
+            writePolicy(conn, bucketName, policy);
+            if (migrated) {
+                conn.setBucketAcl(bucketName, ownerOnlyAcl);
+            }
+            modes.put(bucketName, Mode.POLICY);
+            return ownerId;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void grant(AmazonS3 conn, String bucketName, String uid, Permission permission) {
+        ReentrantLock lock = lockFor(bucketName);
+        lock.lock();
+        try {
+            ObjectNode policy = readSharingPolicy(conn, bucketName);
+            addPrincipal(policy, bucketName, permission, uid);
+            writePolicy(conn, bucketName, policy);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /*
+        유저의 권한을 회수 (permission 이 null 이면 모든 권한)
+     */
+    public void revoke(AmazonS3 conn, String bucketName, String uid, Permission permission) {
+        ReentrantLock lock = lockFor(bucketName);
+        lock.lock();
+        try {
+            ObjectNode policy = readSharingPolicy(conn, bucketName);
+            String arn = userArn(uid);
+
+            Iterator<JsonNode> statements = policy.withArray("Statement").elements();
+            while (statements.hasNext()) {
+                JsonNode statement = statements.next();
+                String sid = statement.path("Sid").asText();
+                if (sid.equals(OWNER_SID) || !sid.startsWith(SID_PREFIX)
+                        || (permission != null && !sid.equals(SID_PREFIX + permission.name()))) {
+                    continue;
+                }
+
+                ArrayNode principals = (ArrayNode) statement.path("Principal").path("AWS");
+                for (int i = principals.size() - 1; i >= 0; i--) {
+                    if (principals.get(i).asText().equals(arn)) {
+                        principals.remove(i);
+                    }
+                }
+                if (principals.isEmpty()) {
+                    statements.remove();
+                }
+            }
+
+            writePolicy(conn, bucketName, policy);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void bucketRemoved(String bucketName) {
+        modes.invalidate(bucketName);
+    }
+
+    private ReentrantLock lockFor(String bucketName) {
+        return locks[Math.floorMod(bucketName.hashCode(), locks.length)];
+    }
+
+    private void addPrincipal(ObjectNode policy, String bucketName, Permission permission, String uid) {
+        String sid = SID_PREFIX + permission.name();
+        String arn = userArn(uid);
+
+        for (JsonNode statement : policy.withArray("Statement")) {
+            if (sid.equals(statement.path("Sid").asText())) {
+                ArrayNode principals = (ArrayNode) statement.path("Principal").path("AWS");
+                for (JsonNode principal : principals) {
+                    if (principal.asText().equals(arn)) {
+                        return;
+                    }
+                }
+                principals.add(arn);
+                return;
+            }
+        }
+
+        policy.withArray("Statement").add(statement(bucketName, sid, ACTIONS.get(permission), List.of(uid)));
+    }
+
+    private ObjectNode statement(String bucketName, String sid, List<String> actions, List<String> uids) {
+        ObjectNode statement = objectMapper.createObjectNode();
+        statement.put("Sid", sid);
+        statement.put("Effect", "Allow");
+
+        ArrayNode principals = statement.putObject("Principal").putArray("AWS");
+        uids.forEach(uid -> principals.add(userArn(uid)));
+
+        ArrayNode actionArray = statement.putArray("Action");
+        actions.forEach(actionArray::add);
+
+        statement.putArray("Resource")
+                .add("arn:aws:s3:::" + bucketName)
+                .add("arn:aws:s3:::" + bucketName + "/*");
+        return statement;
+    }
+
+    // 테넌트 유저(tenant$uid)는 RGW 의 테넌트 ARN 형식을 사용
+    private static String userArn(String uid) {
+        int separator = uid.indexOf('$');
+        if (separator == -1) {
+            return "arn:aws:iam:::user/" + uid;
+        }
+        return "arn:aws:iam::" + uid.substring(0, separator) + ":user/" + uid.substring(separator + 1);
+    }
+
+    private boolean isSharingPolicy(ObjectNode policy) {
+        return policy != null && POLICY_ID.equals(policy.path("Id").asText());
+    }
+
+    private ObjectNode readSharingPolicy(AmazonS3 conn, String bucketName) {
+        ObjectNode policy = readPolicy(conn, bucketName);
+        if (!isSharingPolicy(policy)) {
+            modes.put(bucketName, Mode.ACL);
+            throw new SodasException(SodasExceptionCode.NOT_POLICY_SHARING_BUCKET);
+        }
+        return policy;
+    }
+
+    private ObjectNode readPolicy(AmazonS3 conn, String bucketName) {
+        String policyText = conn.getBucketPolicy(bucketName).getPolicyText();
+        if (policyText == null) {
+            return null;
+        }
+        try {
+            return (ObjectNode) objectMapper.readTree(policyText);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Invalid bucket policy on " + bucketName, e);
+        }
+    }
+
+    private void writePolicy(AmazonS3 conn, String bucketName, ObjectNode policy) {
+        try {
+            conn.setBucketPolicy(bucketName, objectMapper.writeValueAsString(policy));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
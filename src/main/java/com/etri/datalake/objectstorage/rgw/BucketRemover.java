@@ -0,0 +1,128 @@
+package com.etri.datalake.objectstorage.rgw;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.*;
+import com.etri.datalake.objectstorage.job.Job;
+import com.etri.datalake.objectstorage.utils.ThreadPools;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.twonote.rgwadmin4j.model.S3Credential;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+
+/*
+    버킷 삭제
+    진행 중인 멀티파트 업로드를 abort 한 뒤, 목록을 페이지 단위로 받아 최대 1000개씩 DeleteObjects 로 지운다.
+    배치 전송은 작업마다 parallelism 개까지 동시에 진행하며, 지우지 못한 키는 작업에 기록하고 버킷은 남겨 둔다.
+ */
+@Component
+public class BucketRemover {
+    private static final int BATCH_SIZE = 1000;
+
+    private final S3ClientRegistry s3ClientRegistry;
+    private final int parallelism;
+    private final ExecutorService deleteExecutor;
+
+    public BucketRemover(S3ClientRegistry s3ClientRegistry,
+                         @Value("${object-storage.bucket-remove.parallelism:4}") int parallelism,
+                         @Value("${object-storage.bucket-remove.threads:16}") int threads,
+                         @Value("${object-storage.virtual-threads.enabled:false}") boolean virtualThreads) {
+        this.s3ClientRegistry = s3ClientRegistry;
+        this.parallelism = parallelism;
+
+        this.deleteExecutor = ThreadPools.perTask("bucket-remove", threads, virtualThreads);
+    }
+
+    public void remove(S3Credential key, String bucketName, Job job) {
+        abortMultipartUploads(key, bucketName, job);
+
+        Semaphore permits = new Semaphore(parallelism);
+        ListObjectsV2Request request = new ListObjectsV2Request()
+                .withBucketName(bucketName)
+                .withMaxKeys(BATCH_SIZE);
+        ListObjectsV2Result result;
+
+        try {
+            do {
+                result = s3ClientRegistry.getClient(key).listObjectsV2(request);
+                List<DeleteObjectsRequest.KeyVersion> keys = result.getObjectSummaries().stream()
+                        .map(objectSummary -> new DeleteObjectsRequest.KeyVersion(objectSummary.getKey()))
+                        .collect(Collectors.toList());
+
+                if (!keys.isEmpty()) {
+                    job.addTotal(keys.size());
+                    permits.acquire();
+                    deleteExecutor.execute(() -> {
+                        try {
+                            deleteBatch(key, bucketName, keys, job);
+                        } finally {
+                            permits.release();
+                        }
+                    });
+                }
+                request.setContinuationToken(result.getNextContinuationToken());
+            } while (result.isTruncated());
+
+            // 남은 배치가 모두 끝날 때까지 대기
+            permits.acquire(parallelism);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.fail("Bucket removal interrupted");
+            return;
+        }
+
+        if (job.getFailed() > 0) {
+            job.fail("Some objects could not be deleted, bucket is kept");
+            return;
+        }
+
+        s3ClientRegistry.getClient(key).deleteBucket(bucketName);
+    }
+
+    private void deleteBatch(S3Credential key, String bucketName, List<DeleteObjectsRequest.KeyVersion> keys, Job job) {
+        DeleteObjectsRequest deleteRequest = new DeleteObjectsRequest(bucketName)
+                .withKeys(keys)
+                .withQuiet(true);
+        try {
+            s3ClientRegistry.getClient(key).deleteObjects(deleteRequest);
+            job.addProcessed(keys.size());
+        } catch (MultiObjectDeleteException e) {
+            job.addProcessed(keys.size() - e.getErrors().size());
+            for (MultiObjectDeleteException.DeleteError error : e.getErrors()) {
+                job.addFailure(error.getKey(), error.getCode() + " " + error.getMessage());
+            }
+        } catch (RuntimeException e) {
+            for (DeleteObjectsRequest.KeyVersion keyVersion : keys) {
+                job.addFailure(keyVersion.getKey(), e.getMessage());
+            }
+        }
+    }
+
+    private void abortMultipartUploads(S3Credential key, String bucketName, Job job) {
+        AmazonS3 conn = s3ClientRegistry.getClient(key);
+        ListMultipartUploadsRequest request = new ListMultipartUploadsRequest(bucketName);
+        MultipartUploadListing listing;
+
+        do {
+            listing = conn.listMultipartUploads(request);
+            for (MultipartUpload upload : listing.getMultipartUploads()) {
+                try {
+                    conn.abortMultipartUpload(new AbortMultipartUploadRequest(bucketName, upload.getKey(), upload.getUploadId()));
+                } catch (RuntimeException e) {
+                    job.addFailure(upload.getKey() + " (uploadId " + upload.getUploadId() + ")", e.getMessage());
+                }
+            }
+            request.setKeyMarker(listing.getNextKeyMarker());
+            request.setUploadIdMarker(listing.getNextUploadIdMarker());
+        } while (listing.isTruncated());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        deleteExecutor.shutdownNow();
+    }
+}
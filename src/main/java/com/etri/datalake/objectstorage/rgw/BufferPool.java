@@ -0,0 +1,44 @@
+package com.etri.datalake.objectstorage.rgw;
+
+import com.etri.datalake.exception.BackendUnavailableException;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/*
+    고정 크기 byte[] 버퍼 풀
+    버퍼는 필요할 때 만들어지며 동시에 빌려줄 수 있는 개수는 maxBuffers 로 제한된다.
+    acquireTimeout 안에 버퍼를 빌리지 못하면 Bulkhead 와 같이 BackendUnavailableException(503) 으로 실패한다.
+ */
+public class BufferPool {
+    private final String name;
+    private final int bufferSize;
+    private final long acquireTimeoutMillis;
+    private final Semaphore available;
+    private final ConcurrentLinkedQueue<byte[]> idleBuffers = new ConcurrentLinkedQueue<>();
+
+    public BufferPool(String name, int bufferSize, int maxBuffers, long acquireTimeoutMillis) {
+        this.name = name;
+        this.bufferSize = bufferSize;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.available = new Semaphore(maxBuffers);
+    }
+
+    public byte[] acquire() throws InterruptedException {
+        if (!available.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+            throw new BackendUnavailableException(name, 1);
+        }
+        byte[] buffer = idleBuffers.poll();
+        return (buffer != null) ? buffer : new byte[bufferSize];
+    }
+
+    public void release(byte[] buffer) {
+        idleBuffers.offer(buffer);
+        available.release();
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+}
@@ -0,0 +1,63 @@
+package com.etri.datalake.objectstorage.rgw;
+
+import com.etri.datalake.objectstorage.utils.Bulkhead;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/*
+    API 종류별 실행 풀 (데이터, 관리 API, 대시보드)
+    느린 관리 API 팬아웃이나 대시보드 호출이 몰려도 각자의 풀만 채우므로,
+    Tomcat 워커와 데이터 API (목록 조회, presigned url 발급) 는 영향을 받지 않는다.
+    컨트롤러는 CompletableFuture 를 반환해 작업이 끝날 때까지 Tomcat 워커를 붙잡지 않는다.
+ */
+@Component
+public class Bulkheads {
+    private final Bulkhead data;
+    private final Bulkhead admin;
+    private final Bulkhead dashboard;
+
+    public Bulkheads(@Value("${object-storage.bulkhead.data.threads:64}") int dataThreads,
+                     @Value("${object-storage.bulkhead.data.queue:256}") int dataQueue,
+                     @Value("${object-storage.bulkhead.admin.threads:16}") int adminThreads,
+                     @Value("${object-storage.bulkhead.admin.queue:64}") int adminQueue,
+                     @Value("${object-storage.bulkhead.dashboard.threads:8}") int dashboardThreads,
+                     @Value("${object-storage.bulkhead.dashboard.queue:32}") int dashboardQueue,
+                     @Value("${object-storage.virtual-threads.enabled:false}") boolean virtualThreads) {
+        this.data = new Bulkhead("data-plane", dataThreads, dataQueue, virtualThreads);
+        this.admin = new Bulkhead("admin-plane", adminThreads, adminQueue, virtualThreads);
+        this.dashboard = new Bulkhead("dashboard", dashboardThreads, dashboardQueue, virtualThreads);
+    }
+
+    public <T> CompletableFuture<T> data(Supplier<T> task) {
+        return data.submit(task);
+    }
+
+    public <T> CompletableFuture<T> admin(Supplier<T> task) {
+        return admin.submit(task);
+    }
+
+    public <T> CompletableFuture<T> dashboard(Supplier<T> task) {
+        return dashboard.submit(task);
+    }
+
+    public Map<String, Map<String, Long>> stats() {
+        Map<String, Map<String, Long>> result = new LinkedHashMap<>();
+        for (Bulkhead bulkhead : new Bulkhead[]{data, admin, dashboard}) {
+            result.put(bulkhead.getName(), bulkhead.stats());
+        }
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        data.shutdown();
+        admin.shutdown();
+        dashboard.shutdown();
+    }
+}
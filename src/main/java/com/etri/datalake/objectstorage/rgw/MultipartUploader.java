@@ -0,0 +1,199 @@
+package com.etri.datalake.objectstorage.rgw;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.*;
+import com.etri.datalake.objectstorage.utils.ThreadPools;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+/*
+    입력 스트림을 한 번만 읽으면서 멀티파트 업로드를 수행
+    파트 버퍼는 BufferPool 에서 빌려 쓰고, 파트 전송은 업로드마다 parallelism 개까지 동시에 진행한다.
+    buffer-wait 안에 버퍼를 빌리지 못하면 503 으로 실패한다.
+    실패하면 남은 파트 전송을 중단하고 멀티파트 업로드를 abort 한다.
+    첫 버퍼에 다 들어가는 작은 파일은 PutObject 한 번으로 올린다.
+ */
+@Component
+public class MultipartUploader {
+    private static final Logger logger = LoggerFactory.getLogger(MultipartUploader.class);
+
+    private final int parallelism;
+    private final BufferPool bufferPool;
+    private final ExecutorService partExecutor;
+
+    public MultipartUploader(@Value("${object-storage.upload.part-size:31457280}") int partSize,
+                             @Value("${object-storage.upload.parallelism:4}") int parallelism,
+                             @Value("${object-storage.upload.max-buffers:16}") int maxBuffers,
+                             @Value("${object-storage.upload.buffer-wait:10000}") long bufferWaitMillis,
+                             @Value("${object-storage.upload.threads:16}") int threads,
+                             @Value("${object-storage.virtual-threads.enabled:false}") boolean virtualThreads) {
+        this.parallelism = parallelism;
+        this.bufferPool = new BufferPool("upload-buffers", partSize, maxBuffers, bufferWaitMillis);
+
+        this.partExecutor = ThreadPools.perTask("multipart-upload", threads, virtualThreads);
+    }
+
+    /*
+        acl 이 null 이 아니면 업로드 요청에 함께 보낸다
+     */
+    public void upload(AmazonS3 conn, String bucketName, String objectKey, InputStream inputStream, AccessControlList acl) throws IOException {
+        byte[] firstBuffer;
+        int firstLength;
+        try {
+            firstBuffer = bufferPool.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for an upload buffer", e);
+        }
+        try {
+            firstLength = inputStream.readNBytes(firstBuffer, 0, firstBuffer.length);
+        } catch (IOException e) {
+            bufferPool.release(firstBuffer);
+            throw e;
+        }
+
+        if (firstLength < firstBuffer.length) {
+            try {
+                putObject(conn, bucketName, objectKey, firstBuffer, firstLength, acl);
+            } finally {
+                bufferPool.release(firstBuffer);
+            }
+            return;
+        }
+
+        String uploadId;
+        try {
+            uploadId = conn.initiateMultipartUpload(new InitiateMultipartUploadRequest(bucketName, objectKey)
+                    .withAccessControlList(acl)).getUploadId();
+        } catch (RuntimeException e) {
+            bufferPool.release(firstBuffer);
+            throw e;
+        }
+
+        Semaphore permits = new Semaphore(parallelism);
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        List<Future<PartETag>> parts = new ArrayList<>();
+
+        try {
+            permits.acquire();
+            parts.add(submitPart(conn, bucketName, objectKey, uploadId, 1, firstBuffer, firstLength, permits, failure));
+
+            int partNumber = 2;
+            while (failure.get() == null) {
+                permits.acquire();
+                byte[] buffer;
+                int length;
+                try {
+                    buffer = bufferPool.acquire();
+                } catch (InterruptedException | RuntimeException e) {
+                    permits.release();
+                    throw e;
+                }
+                try {
+                    length = inputStream.readNBytes(buffer, 0, buffer.length);
+                } catch (IOException e) {
+                    bufferPool.release(buffer);
+                    permits.release();
+                    throw e;
+                }
+
+                // 마지막 빈 파트는 보내지 않음
+                if (length == 0) {
+                    bufferPool.release(buffer);
+                    permits.release();
+                    break;
+                }
+
+                parts.add(submitPart(conn, bucketName, objectKey, uploadId, partNumber, buffer, length, permits, failure));
+                partNumber++;
+
+                if (length < buffer.length) {
+                    break;
+                }
+            }
+
+            List<PartETag> partETags = new ArrayList<>(parts.size());
+            for (Future<PartETag> part : parts) {
+                partETags.add(part.get());
+            }
+
+            conn.completeMultipartUpload(new CompleteMultipartUploadRequest(bucketName, objectKey, uploadId, partETags));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abort(conn, bucketName, objectKey, uploadId, failure);
+            throw new IOException("Multipart upload interrupted", e);
+        } catch (ExecutionException e) {
+            abort(conn, bucketName, objectKey, uploadId, failure);
+            // 가장 먼저 실패한 파트의 예외를 그대로 전달 (QuotaExceeded 등)
+            if (failure.get() != null) {
+                throw failure.get();
+            }
+            throw new IOException("Multipart upload failed", e.getCause());
+        } catch (IOException | RuntimeException e) {
+            abort(conn, bucketName, objectKey, uploadId, failure);
+            throw e;
+        }
+    }
+
+    private void putObject(AmazonS3 conn, String bucketName, String objectKey, byte[] buffer, int length, AccessControlList acl) {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(length);
+
+        conn.putObject(new PutObjectRequest(bucketName, objectKey, new ByteArrayInputStream(buffer, 0, length), metadata)
+                .withAccessControlList(acl));
+    }
+
+    private Future<PartETag> submitPart(AmazonS3 conn, String bucketName, String objectKey, String uploadId,
+                                        int partNumber, byte[] buffer, int length, Semaphore permits, AtomicReference<RuntimeException> failure) {
+        return partExecutor.submit(() -> {
+            try {
+                // 앞선 파트가 실패했다면 전송하지 않음
+                if (failure.get() != null) {
+                    throw new CancellationException("Multipart upload aborted");
+                }
+
+                UploadPartRequest uploadPartRequest = new UploadPartRequest()
+                        .withBucketName(bucketName)
+                        .withKey(objectKey)
+                        .withUploadId(uploadId)
+                        .withPartNumber(partNumber)
+                        .withInputStream(new ByteArrayInputStream(buffer, 0, length))
+                        .withPartSize(length);
+
+                return conn.uploadPart(uploadPartRequest).getPartETag();
+            } catch (RuntimeException e) {
+                failure.compareAndSet(null, e);
+                throw e;
+            } finally {
+                bufferPool.release(buffer);
+                permits.release();
+            }
+        });
+    }
+
+    private void abort(AmazonS3 conn, String bucketName, String objectKey, String uploadId, AtomicReference<RuntimeException> failure) {
+        // 대기 중인 파트는 전송하지 않고 버퍼만 반납하도록 표시
+        failure.compareAndSet(null, new CancellationException("Multipart upload aborted"));
+        try {
+            conn.abortMultipartUpload(new AbortMultipartUploadRequest(bucketName, objectKey, uploadId));
+        } catch (RuntimeException e) {
+            logger.warn("멀티파트 업로드 abort 실패, bucket: {}, key: {}, uploadId: {}", bucketName, objectKey, uploadId, e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        partExecutor.shutdownNow();
+    }
+}
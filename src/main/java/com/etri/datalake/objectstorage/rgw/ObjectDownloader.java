@@ -0,0 +1,174 @@
+package com.etri.datalake.objectstorage.rgw;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.S3Object;
+import com.amazonaws.services.s3.model.S3ObjectInputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/*
+    RGW 오브젝트를 서블릿 응답으로 스트리밍하는 다운로드 프록시
+    Range(단일/다중), If-None-Match, If-Range 를 처리하며 오브젝트를 메모리에 올리지 않고
+    BufferPool 의 고정 크기 버퍼로 복사한다. 버퍼가 모두 사용 중이면 buffer-wait 동안 기다리고, 그래도 없으면 503 으로 실패한다.
+    버퍼는 응답을 쓰기 전에 하나를 빌려 모든 range 에 같이 쓰므로, 응답을 쓰는 도중에 실패하지 않는다.
+ */
+@Component
+public class ObjectDownloader {
+    private final BufferPool bufferPool;
+
+    public ObjectDownloader(@Value("${object-storage.download.buffer-size:65536}") int bufferSize,
+                            @Value("${object-storage.download.max-buffers:256}") int maxBuffers,
+                            @Value("${object-storage.download.buffer-wait:5000}") long bufferWaitMillis) {
+        this.bufferPool = new BufferPool("download-buffers", bufferSize, maxBuffers, bufferWaitMillis);
+    }
+
+    public void download(AmazonS3 conn, String bucketName, String objectKey,
+                         HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ObjectMetadata metadata = conn.getObjectMetadata(bucketName, objectKey);
+        String eTag = "\"" + metadata.getETag() + "\"";
+        String contentType = (metadata.getContentType() != null) ? metadata.getContentType() : MediaType.APPLICATION_OCTET_STREAM_VALUE;
+
+        response.setHeader(HttpHeaders.ETAG, eTag);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (metadata.getLastModified() != null) {
+            response.setDateHeader(HttpHeaders.LAST_MODIFIED, metadata.getLastModified().getTime());
+        }
+
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), eTag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        // If-Range 가 현재 ETag 와 다르면 Range 를 무시하고 전체를 보냄
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(eTag)) {
+            rangeHeader = null;
+        }
+
+        byte[] buffer;
+        try {
+            buffer = bufferPool.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a download buffer");
+        }
+        try {
+            send(conn, bucketName, objectKey, metadata, eTag, contentType, rangeHeader, response, buffer);
+        } finally {
+            bufferPool.release(buffer);
+        }
+    }
+
+    private void send(AmazonS3 conn, String bucketName, String objectKey, ObjectMetadata metadata, String eTag, String contentType,
+                      String rangeHeader, HttpServletResponse response, byte[] buffer) throws IOException {
+        long length = metadata.getContentLength();
+
+        if (!StringUtils.hasText(rangeHeader) || length == 0) {
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.setContentType(contentType);
+            response.setContentLengthLong(length);
+            copy(conn, new GetObjectRequest(bucketName, objectKey).withMatchingETagConstraint(metadata.getETag()), response.getOutputStream(), buffer);
+            return;
+        }
+
+        List<HttpRange> ranges;
+        try {
+            ranges = HttpRange.parseRanges(rangeHeader);
+            for (HttpRange range : ranges) {
+                range.getRangeStart(length);
+            }
+        } catch (IllegalArgumentException e) {
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+            response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            return;
+        }
+
+        response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+
+        if (ranges.size() == 1) {
+            long start = ranges.get(0).getRangeStart(length);
+            long end = ranges.get(0).getRangeEnd(length);
+
+            response.setContentType(contentType);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            response.setContentLengthLong(end - start + 1);
+            copy(conn, rangeRequest(bucketName, objectKey, metadata.getETag(), start, end), response.getOutputStream(), buffer);
+            return;
+        }
+
+        String boundary = MimeTypeUtils.generateMultipartBoundaryString();
+        response.setContentType("multipart/byteranges; boundary=" + boundary);
+        ServletOutputStream outputStream = response.getOutputStream();
+
+        for (HttpRange range : ranges) {
+            long start = range.getRangeStart(length);
+            long end = range.getRangeEnd(length);
+
+            String partHeader = "\r\n--" + boundary + "\r\n"
+                    + HttpHeaders.CONTENT_TYPE + ": " + contentType + "\r\n"
+                    + HttpHeaders.CONTENT_RANGE + ": bytes " + start + "-" + end + "/" + length + "\r\n\r\n";
+            outputStream.write(partHeader.getBytes(StandardCharsets.US_ASCII));
+            copy(conn, rangeRequest(bucketName, objectKey, metadata.getETag(), start, end), outputStream, buffer);
+        }
+        outputStream.write(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static GetObjectRequest rangeRequest(String bucketName, String objectKey, String eTag, long start, long end) {
+        return new GetObjectRequest(bucketName, objectKey)
+                .withRange(start, end)
+                .withMatchingETagConstraint(eTag);
+    }
+
+    private static void copy(AmazonS3 conn, GetObjectRequest getObjectRequest, ServletOutputStream outputStream, byte[] buffer) throws IOException {
+        try (S3Object s3Object = conn.getObject(getObjectRequest)) {
+            // ETag 조건이 맞지 않으면 (전송 중 오브젝트가 바뀐 경우) null
+            if (s3Object == null) {
+                throw new IOException("Object changed during download");
+            }
+
+            S3ObjectInputStream inputStream = s3Object.getObjectContent();
+            try {
+                int read;
+                while ((read = inputStream.read(buffer)) != -1) {
+                    outputStream.write(buffer, 0, read);
+                }
+            } catch (IOException e) {
+                // 클라이언트 연결이 끊긴 경우 남은 본문을 읽지 않고 RGW 연결을 닫음
+                inputStream.abort();
+                throw e;
+            }
+        }
+    }
+
+    private static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,201 @@
+package com.etri.datalake.objectstorage.rgw;
+
+import com.etri.datalake.objectstorage.constants.BObject;
+import com.etri.datalake.objectstorage.constants.SFolder;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+    버킷 하나의 오브젝트 키 prefix 트리
+    키를 '/' 단위 세그먼트로 나누어 저장하고 (폴더 세그먼트는 '/' 를 포함), 노드마다 하위 오브젝트 수와 용량을 유지한다.
+    같은 세그먼트 문자열은 인덱스 안의 dedup 맵으로 하나만 두어, 여러 폴더 아래 반복되는 이름을 공유한다.
+ */
+public class PrefixIndex {
+    private static final char DELIMITER = '/';
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Node root = new Node();
+    // 세그먼트 문자열 중복 제거 (write lock 안에서만 사용)
+    private final Map<String, String> segmentNames = new HashMap<>();
+
+    // 재구성 중에는 변경 사항을 새 인덱스에도 반영
+    private volatile PrefixIndex shadow;
+
+    public void put(String key, long size, long lastModified) {
+        lock.writeLock().lock();
+        try {
+            List<Node> path = new ArrayList<>();
+            Node node = root;
+            path.add(node);
+
+            int start = 0;
+            while (start < key.length()) {
+                int end = segmentEnd(key, start);
+                node = node.child(segmentName(key.substring(start, end)));
+                path.add(node);
+                start = end;
+            }
+
+            long countDelta = (node.size < 0) ? 1 : 0;
+            long sizeDelta = (node.size < 0) ? size : size - node.size;
+            node.size = size;
+            node.lastModified = lastModified;
+
+            for (Node pathNode : path) {
+                pathNode.objectCount += countDelta;
+                pathNode.totalSize += sizeDelta;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        PrefixIndex target = shadow;
+        if (target != null) {
+            target.put(key, size, lastModified);
+        }
+    }
+
+    public void remove(String key) {
+        lock.writeLock().lock();
+        try {
+            List<Node> path = new ArrayList<>();
+            List<String> segments = new ArrayList<>();
+            Node node = root;
+            path.add(node);
+
+            int start = 0;
+            while (start < key.length() && node != null) {
+                int end = segmentEnd(key, start);
+                String segment = key.substring(start, end);
+                node = (node.children != null) ? node.children.get(segment) : null;
+                path.add(node);
+                segments.add(segment);
+                start = end;
+            }
+
+            if (node == null || node.size < 0) {
+                return;
+            }
+
+            long size = node.size;
+            node.size = -1;
+            for (Node pathNode : path) {
+                pathNode.objectCount--;
+                pathNode.totalSize -= size;
+            }
+
+            // 하위에 오브젝트가 남지 않은 노드는 제거
+            for (int i = path.size() - 1; i > 0 && path.get(i).objectCount == 0; i--) {
+                path.get(i - 1).children.remove(segments.get(i - 1));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        PrefixIndex target = shadow;
+        if (target != null) {
+            target.remove(key);
+        }
+    }
+
+    /*
+        delimiter '/' 로 listObjects 한 것과 같은 결과를 반환
+        prefix 가 '/' 로 끝나지 않으면 마지막 세그먼트는 앞부분 일치로 거른다.
+     */
+    public SFolder browse(String prefix) {
+        String base = prefix.substring(0, prefix.lastIndexOf(DELIMITER) + 1);
+        String rest = prefix.substring(base.length());
+
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            int start = 0;
+            while (start < base.length() && node != null) {
+                int end = segmentEnd(base, start);
+                node = (node.children != null) ? node.children.get(base.substring(start, end)) : null;
+                start = end;
+            }
+
+            List<SFolder> folders = new ArrayList<>();
+            List<BObject> files = new ArrayList<>();
+            long objectCount = 0;
+            long totalSize = 0;
+
+            if (node == null) {
+                return new SFolder(prefix, 0, 0, folders, files);
+            }
+
+            // prefix 와 같은 키의 폴더 마커 오브젝트
+            if (rest.isEmpty() && !base.isEmpty() && node.size >= 0) {
+                files.add(new BObject(base, node.size, new Date(node.lastModified)));
+                objectCount++;
+                totalSize += node.size;
+            }
+
+            if (node.children != null) {
+                Set<String> folderSegments = new HashSet<>();
+                for (Map.Entry<String, Node> entry : node.children.tailMap(rest).entrySet()) {
+                    String segment = entry.getKey();
+                    if (!segment.startsWith(rest)) {
+                        break;
+                    }
+                    Node child = entry.getValue();
+                    if (segment.charAt(segment.length() - 1) == DELIMITER) {
+                        folders.add(new SFolder(base + segment, child.objectCount, child.totalSize));
+                        folderSegments.add(segment);
+                    } else {
+                        files.add(new BObject(base + segment, child.size, new Date(child.lastModified)));
+                    }
+                    objectCount += child.objectCount;
+                    totalSize += child.totalSize;
+                }
+                files.removeIf(file -> folderSegments.contains(file.getObjectName().substring(base.length()) + DELIMITER));
+            }
+
+            return new SFolder(prefix, objectCount, totalSize, folders, files);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long objectCount() {
+        lock.readLock().lock();
+        try {
+            return root.objectCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void setShadow(PrefixIndex shadow) {
+        this.shadow = shadow;
+    }
+
+    private String segmentName(String segment) {
+        String existing = segmentNames.putIfAbsent(segment, segment);
+        return (existing != null) ? existing : segment;
+    }
+
+    private static int segmentEnd(String key, int start) {
+        int delimiter = key.indexOf(DELIMITER, start);
+        return (delimiter == -1) ? key.length() : delimiter + 1;
+    }
+
+    private static final class Node {
+        // 파일만 있는 노드는 children 을 만들지 않음
+        private TreeMap<String, Node> children;
+        // 이 노드와 같은 키의 오브젝트 크기 (없으면 -1)
+        private long size = -1;
+        private long lastModified;
+        private long objectCount;
+        private long totalSize;
+
+        Node child(String segment) {
+            if (children == null) {
+                children = new TreeMap<>();
+            }
+            return children.computeIfAbsent(segment, s -> new Node());
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package com.etri.datalake.objectstorage.rgw;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.ListObjectsV2Request;
+import com.amazonaws.services.s3.model.ListObjectsV2Result;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import com.etri.datalake.objectstorage.constants.SFolder;
+import com.etri.datalake.objectstorage.utils.ThreadPools;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.twonote.rgwadmin4j.model.S3Credential;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/*
+    버킷별 PrefixIndex 저장소
+    처음 폴더를 조회하면 버킷 전체를 나열하는 인덱스 생성을 백그라운드에서 시작하고, 완성된 뒤의 조회는 인덱스에서 바로 응답한다.
+    인덱스가 완성되기 전까지는 null 을 반환해 호출하는 쪽이 RGW 를 직접 조회하게 한다 (요청 스레드에서 버킷 전체를 나열하지 않음).
+    RGWService 를 거치는 업로드/삭제는 인덱스에 바로 반영하고, 그 외의 변경은 주기적인 재구성으로 맞춘다.
+    인덱싱된 전체 오브젝트 수가 max-objects 를 넘으면 오래 쓰지 않은 버킷부터 인덱스를 버린다.
+    인덱스는 캐시의 compute 밖에서 만들고 완성되면 넣으며, 만드는 동안 들어온 변경은 만들고 있는 인덱스에도 반영한다.
+    생성과 재구성은 전용 풀에서 실행해 스프링 스케줄러 스레드를 오래 잡고 있지 않는다.
+ */
+@Component
+public class PrefixIndexRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(PrefixIndexRegistry.class);
+    private static final int PAGE_SIZE = 1000;
+
+    private final S3ClientRegistry s3ClientRegistry;
+    private final long maxObjectsPerBucket;
+    private final Cache<String, IndexedBucket> indexes;
+    // 너무 커서 인덱싱하지 않는 버킷
+    private final Cache<String, Boolean> oversizedBuckets;
+    // access key 별 버킷 조회 권한 확인 결과
+    private final Cache<String, Boolean> accessChecks;
+    // 처음 만들고 있는 버킷 인덱스
+    private final Map<String, PrefixIndex> building = new ConcurrentHashMap<>();
+    private final AtomicBoolean reconciling = new AtomicBoolean();
+    private final ExecutorService indexExecutor;
+
+    public PrefixIndexRegistry(S3ClientRegistry s3ClientRegistry,
+                               @Value("${object-storage.prefix-index.max-objects:5000000}") long maxObjects,
+                               @Value("${object-storage.prefix-index.max-objects-per-bucket:2000000}") long maxObjectsPerBucket,
+                               @Value("${object-storage.prefix-index.reconcile-interval:600000}") long reconcileIntervalMillis,
+                               @Value("${object-storage.prefix-index.access-ttl:300000}") long accessTtlMillis,
+                               @Value("${object-storage.prefix-index.threads:4}") int threads,
+                               @Value("${object-storage.virtual-threads.enabled:false}") boolean virtualThreads) {
+        this.s3ClientRegistry = s3ClientRegistry;
+        this.maxObjectsPerBucket = maxObjectsPerBucket;
+
+        this.indexes = Caffeine.newBuilder()
+                .maximumWeight(maxObjects)
+                .weigher((String bucketName, IndexedBucket indexed) -> (int) Math.min(Integer.MAX_VALUE, Math.max(1, indexed.index.objectCount())))
+                .build();
+        this.oversizedBuckets = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(reconcileIntervalMillis))
+                .build();
+        this.accessChecks = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(accessTtlMillis))
+                .maximumSize(100000)
+                .build();
+        this.indexExecutor = ThreadPools.perTask("prefix-index", threads, virtualThreads);
+    }
+
+    /*
+        인덱스에서 폴더를 조회
+        인덱스가 아직 없거나 버킷이 너무 커서 인덱싱할 수 없으면 null 을 반환하며, 호출하는 쪽에서 RGW 를 직접 조회해야 한다.
+     */
+    public SFolder browse(S3Credential key, String bucketName, String prefix) {
+        AmazonS3 conn = s3ClientRegistry.getClient(key);
+
+        // 버킷 조회 권한은 인덱스와 별개로 사용자마다 확인
+        String accessKey = key.getAccessKey() + "/" + bucketName;
+        if (accessChecks.getIfPresent(accessKey) == null) {
+            conn.listObjectsV2(new ListObjectsV2Request().withBucketName(bucketName).withMaxKeys(1));
+            accessChecks.put(accessKey, Boolean.TRUE);
+        }
+
+        if (oversizedBuckets.getIfPresent(bucketName) != null) {
+            return null;
+        }
+
+        IndexedBucket indexed = indexes.getIfPresent(bucketName);
+        if (indexed == null) {
+            startBuild(conn, bucketName, key);
+            return null;
+        }
+
+        indexed.credential = key;
+        return indexed.index.browse(prefix);
+    }
+
+    /*
+        업로드가 끝난 오브젝트를 반영
+        인덱싱 중이거나 인덱싱된 버킷일 때만 메타데이터를 조회한다.
+        이 확인 뒤에 인덱스 생성을 시작하면 나열 결과에 이미 업로드한 오브젝트가 들어 있으므로 놓치지 않는다.
+     */
+    public void objectPut(String bucketName, String objectKey, Supplier<ObjectMetadata> metadata) {
+        PrefixIndex pending = building.get(bucketName);
+        IndexedBucket indexed = indexes.getIfPresent(bucketName);
+        if (pending == null && indexed == null) {
+            return;
+        }
+
+        ObjectMetadata objectMetadata = metadata.get();
+        long size = objectMetadata.getContentLength();
+        long lastModified = objectMetadata.getLastModified().getTime();
+        if (pending != null) {
+            pending.put(objectKey, size, lastModified);
+        }
+        // 메타데이터를 조회하는 동안 생성이 끝났을 수 있으므로 다시 확인
+        indexed = indexes.getIfPresent(bucketName);
+        if (indexed != null) {
+            indexed.index.put(objectKey, size, lastModified);
+            reweigh(bucketName, indexed);
+        }
+    }
+
+    public void objectRemoved(String bucketName, String objectKey) {
+        PrefixIndex pending = building.get(bucketName);
+        if (pending != null) {
+            pending.remove(objectKey);
+        }
+        IndexedBucket indexed = indexes.getIfPresent(bucketName);
+        if (indexed != null) {
+            indexed.index.remove(objectKey);
+            reweigh(bucketName, indexed);
+        }
+    }
+
+    public void bucketRemoved(String bucketName) {
+        indexes.invalidate(bucketName);
+        oversizedBuckets.invalidate(bucketName);
+    }
+
+    public Map<String, Long> stats() {
+        Map<String, Long> result = new HashMap<>();
+        result.put("indexedBuckets", indexes.estimatedSize());
+        result.put("indexedObjects", indexes.asMap().values().stream().mapToLong(indexed -> indexed.index.objectCount()).sum());
+        result.put("oversizedBuckets", oversizedBuckets.estimatedSize());
+        return result;
+    }
+
+    /*
+        인덱싱된 버킷을 RGW 기준으로 다시 만듦
+        재구성하는 동안 들어온 변경은 기존 인덱스와 새 인덱스에 모두 반영된다.
+     */
+    @Scheduled(fixedDelayString = "${object-storage.prefix-index.reconcile-interval:600000}", initialDelayString = "${object-storage.prefix-index.reconcile-interval:600000}")
+    public void reconcile() {
+        // 이전 재구성이 아직 끝나지 않았으면 건너뜀
+        if (!reconciling.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            indexExecutor.execute(() -> {
+                try {
+                    reconcileAll();
+                } finally {
+                    reconciling.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            reconciling.set(false);
+        }
+    }
+
+    private void reconcileAll() {
+        for (Map.Entry<String, IndexedBucket> entry : indexes.asMap().entrySet()) {
+            String bucketName = entry.getKey();
+            IndexedBucket indexed = entry.getValue();
+            PrefixIndex fresh = new PrefixIndex();
+
+            indexed.index.setShadow(fresh);
+            try {
+                AmazonS3 conn = s3ClientRegistry.getClient(indexed.credential);
+                if (load(conn, bucketName, fresh)) {
+                    indexes.asMap().replace(bucketName, indexed, new IndexedBucket(fresh, indexed.credential));
+                } else {
+                    indexes.asMap().remove(bucketName, indexed);
+                    oversizedBuckets.put(bucketName, Boolean.TRUE);
+                }
+            } catch (RuntimeException e) {
+                logger.warn("prefix 인덱스 재구성 실패, bucket: {}", bucketName, e);
+                indexes.asMap().remove(bucketName, indexed);
+            } finally {
+                indexed.index.setShadow(null);
+            }
+        }
+    }
+
+    /*
+        버킷 인덱스 생성을 백그라운드에서 시작
+        캐시 밖에서 만들고 완성되면 넣으며, 이미 다른 요청이 만들고 있으면 아무것도 하지 않는다.
+     */
+    private void startBuild(AmazonS3 conn, String bucketName, S3Credential key) {
+        PrefixIndex index = new PrefixIndex();
+        if (building.putIfAbsent(bucketName, index) != null) {
+            return;
+        }
+        try {
+            indexExecutor.execute(() -> {
+                try {
+                    if (load(conn, bucketName, index)) {
+                        indexes.asMap().putIfAbsent(bucketName, new IndexedBucket(index, key));
+                    } else {
+                        oversizedBuckets.put(bucketName, Boolean.TRUE);
+                    }
+                } catch (RuntimeException e) {
+                    logger.warn("prefix 인덱스 생성 실패, bucket: {}", bucketName, e);
+                } finally {
+                    building.remove(bucketName, index);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            building.remove(bucketName, index);
+        }
+    }
+
+    /*
+        인덱스 안에서 바뀐 오브젝트 수를 캐시 무게에 반영
+        같은 값으로 다시 넣으면 Caffeine 이 무게를 다시 계산하고 필요하면 다른 버킷을 내보낸다.
+     */
+    private void reweigh(String bucketName, IndexedBucket indexed) {
+        indexes.asMap().replace(bucketName, indexed, indexed);
+    }
+
+    private boolean load(AmazonS3 conn, String bucketName, PrefixIndex index) {
+        ListObjectsV2Request request = new ListObjectsV2Request()
+                .withBucketName(bucketName)
+                .withMaxKeys(PAGE_SIZE);
+        ListObjectsV2Result result;
+
+        do {
+            result = conn.listObjectsV2(request);
+            for (S3ObjectSummary objectSummary : result.getObjectSummaries()) {
+                index.put(objectSummary.getKey(), objectSummary.getSize(), objectSummary.getLastModified().getTime());
+            }
+            if (index.objectCount() > maxObjectsPerBucket) {
+                logger.info("오브젝트가 너무 많아 prefix 인덱스를 만들지 않음, bucket: {}", bucketName);
+                return false;
+            }
+            request.setContinuationToken(result.getNextContinuationToken());
+        } while (result.isTruncated());
+
+        return true;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        indexExecutor.shutdownNow();
+    }
+
+    private static class IndexedBucket {
+        private final PrefixIndex index;
+        // 재구성할 때 사용할 최근 조회 사용자의 크레덴셜
+        private volatile S3Credential credential;
+
+        IndexedBucket(PrefixIndex index, S3Credential credential) {
+            this.index = index;
+            this.credential = credential;
+        }
+    }
+}
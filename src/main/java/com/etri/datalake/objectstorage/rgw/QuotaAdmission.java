@@ -0,0 +1,192 @@
+package com.etri.datalake.objectstorage.rgw;
+
+import com.etri.datalake.exception.SodasException;
+import com.etri.datalake.exception.SodasExceptionCode;
+import com.etri.datalake.objectstorage.utils.Futures;
+import com.etri.datalake.objectstorage.utils.ThreadPools;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.twonote.rgwadmin4j.model.BucketInfo;
+import org.twonote.rgwadmin4j.model.Quota;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+/*
+    업로드 본문을 읽기 전에 선언된 크기로 버킷/유저 쿼타 여유를 확인
+    쿼타와 사용량은 버킷 소유자 단위로 usage-ttl 동안 캐시하고, 진행 중인 업로드 크기는 예약으로 더해
+    동시에 들어온 업로드가 여유를 중복해서 쓰지 못하게 한다. 예약이 모두 풀린 항목은 맵에서 지운다.
+    사용량 정보를 얻을 수 없는 버킷은 확인하지 않는다 (RGW 의 QuotaExceeded 로 처리).
+    소유자/사용량 조회는 캐시의 compute 안이 아니라 별도 실행 풀에서 한다.
+ */
+@Component
+public class QuotaAdmission {
+    private final RGWService rgwService;
+    private final AsyncCache<String, String> bucketOwners;
+    private final AsyncCache<String, OwnerUsage> usages;
+    private final ExecutorService loaderExecutor;
+    // "bucket/{이름}", "user/{uid}" 별 진행 중인 업로드 바이트 (0 이 되면 제거)
+    private final Map<String, Long> reservedBytes = new ConcurrentHashMap<>();
+
+    public QuotaAdmission(RGWService rgwService,
+                          @Value("${object-storage.quota-admission.usage-ttl:30000}") long usageTtlMillis,
+                          @Value("${object-storage.quota-admission.owner-ttl:600000}") long ownerTtlMillis,
+                          @Value("${object-storage.quota-admission.loader-threads:8}") int loaderThreads,
+                          @Value("${object-storage.virtual-threads.enabled:false}") boolean virtualThreads) {
+        this.rgwService = rgwService;
+        this.loaderExecutor = ThreadPools.perTask("quota-admission", loaderThreads, virtualThreads);
+        this.bucketOwners = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(ownerTtlMillis))
+                .maximumSize(100000)
+                .executor(loaderExecutor)
+                .buildAsync();
+        this.usages = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(usageTtlMillis))
+                .maximumSize(10000)
+                .executor(loaderExecutor)
+                .buildAsync();
+    }
+
+    /*
+        length 바이트를 예약하고 반환, 확인할 수 없으면 null
+        쿼타 자체보다 크면 UPLOAD_TOO_LARGE(413), 남은 여유보다 크면 QUOTA_EXCEEDED(403)
+     */
+    public Reservation reserve(String bucketName, long length) {
+        String owner = Futures.join(bucketOwners.get(bucketName, key -> rgwService.findBucketInfo(key).map(BucketInfo::getOwner).orElse(null)));
+        if (owner == null) {
+            return null;
+        }
+        OwnerUsage usage = Futures.join(usages.get(owner, this::loadUsage));
+        BucketUsage bucket = usage.buckets.get(bucketName);
+        if (bucket == null) {
+            // 소유자가 바뀌었거나 새로 만든 버킷, 다음 요청에서 다시 읽음
+            bucketOwners.synchronous().invalidate(bucketName);
+            return null;
+        }
+
+        if ((bucket.quotaBytes >= 0 && length > bucket.quotaBytes) || (usage.quotaBytes >= 0 && length > usage.quotaBytes)) {
+            throw new SodasException(SodasExceptionCode.UPLOAD_TOO_LARGE);
+        }
+        if ((bucket.quotaObjects >= 0 && bucket.objects >= bucket.quotaObjects)
+                || (usage.quotaObjects >= 0 && usage.objects >= usage.quotaObjects)) {
+            throw new SodasException(SodasExceptionCode.QUOTA_EXCEEDED);
+        }
+
+        if (!tryReserve("bucket/" + bucketName, bucket.quotaBytes, bucket.bytes, length)) {
+            throw new SodasException(SodasExceptionCode.QUOTA_EXCEEDED);
+        }
+        if (!tryReserve("user/" + owner, usage.quotaBytes, usage.bytes, length)) {
+            unreserve("bucket/" + bucketName, length);
+            throw new SodasException(SodasExceptionCode.QUOTA_EXCEEDED);
+        }
+        return new Reservation(bucketName, owner, length);
+    }
+
+    /*
+        업로드가 끝나면 예약을 풀고, 성공했다면 캐시된 사용량을 버려 다음 확인에서 새로 읽게 한다
+     */
+    public void release(Reservation reservation, boolean uploaded) {
+        if (uploaded) {
+            usages.synchronous().invalidate(reservation.owner);
+        }
+        unreserve("bucket/" + reservation.bucketName, reservation.length);
+        unreserve("user/" + reservation.owner, reservation.length);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        loaderExecutor.shutdownNow();
+    }
+
+    /*
+        확인과 예약을 같은 compute 안에서 하여, 0 이 되어 지워지는 항목과 새 예약이 엇갈리지 않게 함
+     */
+    private boolean tryReserve(String key, long quota, long used, long length) {
+        boolean[] reserved = new boolean[1];
+        reservedBytes.compute(key, (k, current) -> {
+            long value = (current != null) ? current : 0;
+            if (quota >= 0 && used + value + length > quota) {
+                return current;
+            }
+            reserved[0] = true;
+            return value + length;
+        });
+        return reserved[0];
+    }
+
+    private void unreserve(String key, long length) {
+        reservedBytes.computeIfPresent(key, (k, current) -> (current - length > 0) ? current - length : null);
+    }
+
+    private OwnerUsage loadUsage(String owner) {
+        Map<String, BucketUsage> buckets = new HashMap<>();
+        long bytes = 0;
+        long objects = 0;
+
+        for (BucketInfo bucketInfo : rgwService.listBucketInfo(owner)) {
+            long bucketBytes = 0;
+            long bucketObjects = 0;
+            if (bucketInfo.getUsage() != null && bucketInfo.getUsage().getRgwMain() != null) {
+                bucketBytes = bucketInfo.getUsage().getRgwMain().getSize_actual();
+                bucketObjects = bucketInfo.getUsage().getRgwMain().getNum_objects();
+            }
+            buckets.put(bucketInfo.getBucket(), new BucketUsage(bucketBytes, bucketObjects,
+                    RGWService.quotaBytes(bucketInfo.getBucketQuota()), RGWService.quotaObjects(bucketInfo.getBucketQuota())));
+            bytes += bucketBytes;
+            objects += bucketObjects;
+        }
+
+        Optional<Quota> userQuota = rgwService.userQuota(owner);
+        return new OwnerUsage(buckets, bytes, objects,
+                userQuota.map(RGWService::quotaBytes).orElse(-1L), userQuota.map(RGWService::quotaObjects).orElse(-1L));
+    }
+
+    public static final class Reservation {
+        private final String bucketName;
+        private final String owner;
+        private final long length;
+
+        private Reservation(String bucketName, String owner, long length) {
+            this.bucketName = bucketName;
+            this.owner = owner;
+            this.length = length;
+        }
+    }
+
+    private static final class BucketUsage {
+        private final long bytes;
+        private final long objects;
+        private final long quotaBytes;
+        private final long quotaObjects;
+
+        private BucketUsage(long bytes, long objects, long quotaBytes, long quotaObjects) {
+            this.bytes = bytes;
+            this.objects = objects;
+            this.quotaBytes = quotaBytes;
+            this.quotaObjects = quotaObjects;
+        }
+    }
+
+    private static final class OwnerUsage {
+        private final Map<String, BucketUsage> buckets;
+        private final long bytes;
+        private final long objects;
+        private final long quotaBytes;
+        private final long quotaObjects;
+
+        private OwnerUsage(Map<String, BucketUsage> buckets, long bytes, long objects, long quotaBytes, long quotaObjects) {
+            this.buckets = buckets;
+            this.bytes = bytes;
+            this.objects = objects;
+            this.quotaBytes = quotaBytes;
+            this.quotaObjects = quotaObjects;
+        }
+    }
+}
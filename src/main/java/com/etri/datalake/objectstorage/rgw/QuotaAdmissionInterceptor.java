@@ -0,0 +1,92 @@
+package com.etri.datalake.objectstorage.rgw;
+
+import com.etri.datalake.exception.SodasException;
+import com.etri.datalake.objectstorage.constants.SUploadSession;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/*
+    업로드 API 의 본문을 읽기 전에 Content-Length 로 쿼타 여유를 확인
+    버킷 이름은 path variable(bucketName, sessionId) 또는 쿼리 문자열에서 찾는다.
+    multipart 본문을 파싱하지 않도록 request.getParameter 대신 쿼리 문자열을 직접 읽는다.
+    Content-Length 가 없는 (chunked) 요청은 확인하지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class QuotaAdmissionInterceptor implements HandlerInterceptor {
+    private static final String RESERVATION = QuotaAdmissionInterceptor.class.getName() + ".RESERVATION";
+
+    private final QuotaAdmission quotaAdmission;
+    private final UploadSessionStore uploadSessionStore;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        long length = request.getContentLengthLong();
+        if (length < 0 || !("PUT".equals(request.getMethod()) || "POST".equals(request.getMethod()))) {
+            return true;
+        }
+
+        String bucketName = bucketName(request);
+        if (bucketName == null) {
+            return true;
+        }
+
+        try {
+            QuotaAdmission.Reservation reservation = quotaAdmission.reserve(bucketName, length);
+            if (reservation != null) {
+                request.setAttribute(RESERVATION, reservation);
+            }
+        } catch (SodasException e) {
+            // 보내지 않은 본문을 서버가 읽어 버리지 않도록 연결을 닫음
+            response.setHeader(HttpHeaders.CONNECTION, "close");
+            throw e;
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object reservation = request.getAttribute(RESERVATION);
+        if (reservation != null) {
+            request.removeAttribute(RESERVATION);
+            quotaAdmission.release((QuotaAdmission.Reservation) reservation, ex == null && response.getStatus() < 300);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private String bucketName(HttpServletRequest request) {
+        Map<String, String> pathVariables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (pathVariables != null) {
+            if (pathVariables.containsKey("bucketName")) {
+                return pathVariables.get("bucketName");
+            }
+            if (pathVariables.containsKey("sessionId")) {
+                return uploadSessionStore.find(pathVariables.get("sessionId")).map(SUploadSession::getBucketName).orElse(null);
+            }
+        }
+        return queryParameter(request.getQueryString(), "bucketName");
+    }
+
+    private static String queryParameter(String queryString, String name) {
+        if (!StringUtils.hasText(queryString)) {
+            return null;
+        }
+        for (String pair : queryString.split("&")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0 && name.equals(URLDecoder.decode(pair.substring(0, separator), StandardCharsets.UTF_8))) {
+                return URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,335 @@
+package com.etri.datalake.objectstorage.rgw;
+
+import com.etri.datalake.exception.SodasException;
+import com.etri.datalake.exception.SodasExceptionCode;
+import com.etri.datalake.objectstorage.constants.SQuotaHistory;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.twonote.rgwadmin4j.model.BucketInfo;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+    버킷별 사용량(size_actual), 오브젝트 수, 쿼타를 주기적으로 기록하는 수집기
+    샘플은 raw -> 5분 -> 1시간 원형 버퍼로 평균 내어 내려가며, 버퍼가 가득 차면 오래된 값부터 덮어쓴다.
+    state-file 을 지정하면 주기적으로 파일에 저장하고 재시작할 때 읽어 들인다.
+ */
+@Component
+public class QuotaHistoryCollector {
+    private static final Logger logger = LoggerFactory.getLogger(QuotaHistoryCollector.class);
+    private static final int FILE_VERSION = 1;
+
+    public enum Resolution {
+        RAW("raw"), FIVE_MINUTES("5m"), HOURLY("1h");
+
+        private final String label;
+
+        Resolution(String label) {
+            this.label = label;
+        }
+
+        public static Resolution of(String label) {
+            for (Resolution resolution : values()) {
+                if (resolution.label.equals(label)) {
+                    return resolution;
+                }
+            }
+            throw new SodasException(SodasExceptionCode.BAD_REQUEST);
+        }
+    }
+
+    private final RGWService rgwService;
+    private final int rawCapacity;
+    private final int fiveMinuteCapacity;
+    private final int hourlyCapacity;
+    private final Path stateFile;
+    private final Map<String, BucketHistory> histories = new ConcurrentHashMap<>();
+
+    public QuotaHistoryCollector(RGWService rgwService,
+                                 @Value("${object-storage.quota-history.raw-capacity:120}") int rawCapacity,
+                                 @Value("${object-storage.quota-history.five-minute-capacity:576}") int fiveMinuteCapacity,
+                                 @Value("${object-storage.quota-history.hourly-capacity:720}") int hourlyCapacity,
+                                 @Value("${object-storage.quota-history.state-file:}") String stateFile) {
+        this.rgwService = rgwService;
+        this.rawCapacity = rawCapacity;
+        this.fiveMinuteCapacity = fiveMinuteCapacity;
+        this.hourlyCapacity = hourlyCapacity;
+        this.stateFile = StringUtils.hasText(stateFile) ? Paths.get(stateFile) : null;
+    }
+
+    @Scheduled(fixedDelayString = "${object-storage.quota-history.sample-interval:60000}")
+    public void sample() {
+        List<BucketInfo> bucketInfos;
+        try {
+            bucketInfos = rgwService.listBucketInfo();
+        } catch (RuntimeException e) {
+            logger.warn("버킷 사용량 샘플링 실패", e);
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        Set<String> sampled = new HashSet<>();
+        for (BucketInfo bucketInfo : bucketInfos) {
+            long size = 0;
+            long objectCount = 0;
+            if (bucketInfo.getUsage() != null && bucketInfo.getUsage().getRgwMain() != null) {
+                size = bucketInfo.getUsage().getRgwMain().getSize_actual();
+                objectCount = bucketInfo.getUsage().getRgwMain().getNum_objects();
+            }
+
+            sampled.add(bucketInfo.getBucket());
+            histories.computeIfAbsent(bucketInfo.getBucket(), bucketName -> newHistory())
+                    .record(now, bucketInfo.getOwner(), RGWService.quotaBytes(bucketInfo.getBucketQuota()), size, objectCount);
+        }
+
+        // 지워진 버킷의 기록은 버림
+        histories.keySet().retainAll(sampled);
+    }
+
+    public Optional<String> ownerOf(String bucketName) {
+        BucketHistory history = histories.get(bucketName);
+        return (history == null) ? Optional.empty() : Optional.ofNullable(history.owner);
+    }
+
+    public SQuotaHistory bucketHistory(String bucketName, Resolution resolution) {
+        BucketHistory history = histories.get(bucketName);
+        if (history == null) {
+            throw new SodasException(SodasExceptionCode.QUOTA_HISTORY_NOT_FOUND);
+        }
+
+        long[][] series;
+        long quota;
+        history.lock.lock();
+        try {
+            series = history.ring(resolution).toArrays();
+            quota = history.quota;
+        } finally {
+            history.lock.unlock();
+        }
+        return new SQuotaHistory(bucketName, resolution.label, series[0], series[1], series[2],
+                quota, projectExhaustion(series[0], series[1], quota));
+    }
+
+    /*
+        유저가 가진 버킷들의 합계
+        같은 샘플링에서 기록한 점은 시각이 같으므로 시각별로 더한다.
+     */
+    public SQuotaHistory userHistory(String uid, Resolution resolution) {
+        TreeMap<Long, long[]> totals = new TreeMap<>();
+        boolean found = false;
+
+        for (BucketHistory history : histories.values()) {
+            long[][] series;
+            history.lock.lock();
+            try {
+                if (!uid.equals(history.owner)) {
+                    continue;
+                }
+                series = history.ring(resolution).toArrays();
+            } finally {
+                history.lock.unlock();
+            }
+            found = true;
+            for (int i = 0; i < series[0].length; i++) {
+                long[] total = totals.computeIfAbsent(series[0][i], timestamp -> new long[2]);
+                total[0] += series[1][i];
+                total[1] += series[2][i];
+            }
+        }
+        if (!found) {
+            throw new SodasException(SodasExceptionCode.QUOTA_HISTORY_NOT_FOUND);
+        }
+
+        long[] timestamps = new long[totals.size()];
+        long[] sizes = new long[totals.size()];
+        long[] objects = new long[totals.size()];
+        int i = 0;
+        for (Map.Entry<Long, long[]> entry : totals.entrySet()) {
+            timestamps[i] = entry.getKey();
+            sizes[i] = entry.getValue()[0];
+            objects[i] = entry.getValue()[1];
+            i++;
+        }
+
+        long quota = rgwService.userQuota(uid).map(RGWService::quotaBytes).orElse(-1L);
+        return new SQuotaHistory(uid, resolution.label, timestamps, sizes, objects,
+                quota, projectExhaustion(timestamps, sizes, quota));
+    }
+
+    /*
+        최소제곱 직선의 기울기로 마지막 사용량에서 쿼타까지 걸리는 시간을 추정
+     */
+    static Long projectExhaustion(long[] timestamps, long[] sizes, long quota) {
+        int n = timestamps.length;
+        if (quota <= 0 || n < 2) {
+            return null;
+        }
+        if (sizes[n - 1] >= quota) {
+            return timestamps[n - 1];
+        }
+
+        long origin = timestamps[0];
+        double meanTime = 0;
+        double meanSize = 0;
+        for (int i = 0; i < n; i++) {
+            meanTime += timestamps[i] - origin;
+            meanSize += sizes[i];
+        }
+        meanTime /= n;
+        meanSize /= n;
+
+        double covariance = 0;
+        double variance = 0;
+        for (int i = 0; i < n; i++) {
+            double time = timestamps[i] - origin - meanTime;
+            covariance += time * (sizes[i] - meanSize);
+            variance += time * time;
+        }
+        if (variance == 0 || covariance <= 0) {
+            return null;
+        }
+
+        double bytesPerMilli = covariance / variance;
+        return timestamps[n - 1] + (long) ((quota - sizes[n - 1]) / bytesPerMilli);
+    }
+
+    @PostConstruct
+    public void load() {
+        if (stateFile == null || !Files.exists(stateFile)) {
+            return;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(stateFile)))) {
+            if (in.readInt() != FILE_VERSION) {
+                logger.warn("사용량 기록 파일 버전이 달라 읽지 않습니다, file: {}", stateFile);
+                return;
+            }
+            int bucketCount = in.readInt();
+            for (int i = 0; i < bucketCount; i++) {
+                String bucketName = in.readUTF();
+                BucketHistory history = newHistory();
+                history.read(in);
+                histories.put(bucketName, history);
+            }
+            logger.info("버킷 {}개의 사용량 기록 로드", histories.size());
+        } catch (IOException e) {
+            logger.warn("사용량 기록 파일을 읽을 수 없습니다, file: {}", stateFile, e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${object-storage.quota-history.persist-interval:300000}", initialDelayString = "${object-storage.quota-history.persist-interval:300000}")
+    @PreDestroy
+    public void persist() {
+        if (stateFile == null) {
+            return;
+        }
+
+        Path temp = stateFile.resolveSibling(stateFile.getFileName() + ".tmp");
+        try {
+            if (stateFile.getParent() != null) {
+                Files.createDirectories(stateFile.getParent());
+            }
+            Map<String, BucketHistory> current = new HashMap<>(histories);
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(FILE_VERSION);
+                out.writeInt(current.size());
+                for (Map.Entry<String, BucketHistory> entry : current.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    entry.getValue().write(out);
+                }
+            }
+            Files.move(temp, stateFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("사용량 기록 저장 실패, file: {}", stateFile, e);
+        }
+    }
+
+    private BucketHistory newHistory() {
+        return new BucketHistory(rawCapacity, fiveMinuteCapacity, hourlyCapacity);
+    }
+
+    private static final class BucketHistory {
+        private static final long FIVE_MINUTES = 5 * 60 * 1000L;
+        private static final long ONE_HOUR = 60 * 60 * 1000L;
+
+        private final QuotaRing raw;
+        private final QuotaRing fiveMinutes;
+        private final QuotaRing hourly;
+        // 파일 저장 중에도 잡고 있으므로 synchronized 대신 사용 (가상 스레드 pinning 방지)
+        private final ReentrantLock lock = new ReentrantLock();
+        private String owner;
+        private long quota = -1;
+
+        BucketHistory(int rawCapacity, int fiveMinuteCapacity, int hourlyCapacity) {
+            this.raw = new QuotaRing(rawCapacity, 0);
+            this.fiveMinutes = new QuotaRing(fiveMinuteCapacity, FIVE_MINUTES);
+            this.hourly = new QuotaRing(hourlyCapacity, ONE_HOUR);
+        }
+
+        void record(long timestamp, String owner, long quota, long size, long objectCount) {
+            lock.lock();
+            try {
+                this.owner = owner;
+                this.quota = quota;
+
+                raw.put(timestamp, size, objectCount);
+                if (fiveMinutes.accumulate(timestamp, size, objectCount)) {
+                    hourly.accumulate(fiveMinutes.lastTimestamp(), fiveMinutes.lastSize(), fiveMinutes.lastObjects());
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        QuotaRing ring(Resolution resolution) {
+            switch (resolution) {
+                case FIVE_MINUTES:
+                    return fiveMinutes;
+                case HOURLY:
+                    return hourly;
+                default:
+                    return raw;
+            }
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            lock.lock();
+            try {
+                out.writeUTF((owner == null) ? "" : owner);
+                out.writeLong(quota);
+                raw.write(out);
+                fiveMinutes.write(out);
+                hourly.write(out);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void read(DataInputStream in) throws IOException {
+            lock.lock();
+            try {
+                String storedOwner = in.readUTF();
+                owner = storedOwner.isEmpty() ? null : storedOwner;
+                quota = in.readLong();
+                raw.read(in);
+                fiveMinutes.read(in);
+                hourly.read(in);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.etri.datalake.objectstorage.rgw;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/*
+    (시각, 사용량, 오브젝트 수) 를 고정 크기 원형 버퍼에 저장
+    가득 차면 가장 오래된 값을 덮어쓴다.
+    resolution 이 0 보다 크면 accumulate 로 들어온 값을 resolution 구간마다 평균 내어 한 점으로 저장한다.
+    동기화는 호출하는 쪽(QuotaHistoryCollector.BucketHistory)에서 한다.
+ */
+final class QuotaRing {
+    private final long resolution;
+    private final long[] timestamps;
+    private final long[] sizes;
+    private final long[] objects;
+    private int head;
+    private int count;
+
+    // 아직 끝나지 않은 구간의 누적값
+    private long windowStart = -1;
+    private long sumSize;
+    private long sumObjects;
+    private int windowCount;
+
+    QuotaRing(int capacity, long resolution) {
+        this.resolution = resolution;
+        this.timestamps = new long[capacity];
+        this.sizes = new long[capacity];
+        this.objects = new long[capacity];
+    }
+
+    void put(long timestamp, long size, long objectCount) {
+        timestamps[head] = timestamp;
+        sizes[head] = size;
+        objects[head] = objectCount;
+        head = (head + 1) % timestamps.length;
+        if (count < timestamps.length) {
+            count++;
+        }
+    }
+
+    /*
+        새 구간이 시작되어 이전 구간을 한 점으로 저장했으면 true
+        저장된 점은 lastTimestamp, lastSize, lastObjects 로 읽는다.
+     */
+    boolean accumulate(long timestamp, long size, long objectCount) {
+        long window = timestamp - (timestamp % resolution);
+        boolean flushed = false;
+
+        if (windowCount > 0 && window != windowStart) {
+            put(windowStart, sumSize / windowCount, sumObjects / windowCount);
+            sumSize = 0;
+            sumObjects = 0;
+            windowCount = 0;
+            flushed = true;
+        }
+
+        windowStart = window;
+        sumSize += size;
+        sumObjects += objectCount;
+        windowCount++;
+        return flushed;
+    }
+
+    long lastTimestamp() {
+        return timestamps[last()];
+    }
+
+    long lastSize() {
+        return sizes[last()];
+    }
+
+    long lastObjects() {
+        return objects[last()];
+    }
+
+    /*
+        오래된 순서로 복사 (timestamps, sizes, objects)
+     */
+    long[][] toArrays() {
+        long[][] arrays = new long[3][count];
+        int start = (head - count + timestamps.length) % timestamps.length;
+        for (int i = 0; i < count; i++) {
+            int index = (start + i) % timestamps.length;
+            arrays[0][i] = timestamps[index];
+            arrays[1][i] = sizes[index];
+            arrays[2][i] = objects[index];
+        }
+        return arrays;
+    }
+
+    void write(DataOutputStream out) throws IOException {
+        long[][] arrays = toArrays();
+        out.writeInt(count);
+        for (int i = 0; i < count; i++) {
+            out.writeLong(arrays[0][i]);
+            out.writeLong(arrays[1][i]);
+            out.writeLong(arrays[2][i]);
+        }
+        out.writeLong(windowStart);
+        out.writeLong(sumSize);
+        out.writeLong(sumObjects);
+        out.writeInt(windowCount);
+    }
+
+    /*
+        저장할 때와 용량이 달라도 읽을 수 있도록 점을 하나씩 다시 넣는다
+     */
+    void read(DataInputStream in) throws IOException {
+        int stored = in.readInt();
+        for (int i = 0; i < stored; i++) {
+            put(in.readLong(), in.readLong(), in.readLong());
+        }
+        windowStart = in.readLong();
+        sumSize = in.readLong();
+        sumObjects = in.readLong();
+        windowCount = in.readInt();
+    }
+
+    private int last() {
+        return (head - 1 + timestamps.length) % timestamps.length;
+    }
+}
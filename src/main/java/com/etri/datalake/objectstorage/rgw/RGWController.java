@@ -4,6 +4,7 @@ import com.amazonaws.services.s3.model.AmazonS3Exception;
 import com.amazonaws.services.s3.model.Bucket;
 import com.etri.datalake.auth.GetIdFromToken;
 import com.etri.datalake.auth.KeycloakFilter;
+import com.etri.datalake.auth.UserPrincipal;
 import com.etri.datalake.objectstorage.constants.*;
 import com.etri.datalake.objectstorage.dashboard.DSService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -12,9 +13,13 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.apache.commons.fileupload.FileUploadException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -24,10 +29,12 @@ import org.twonote.rgwadmin4j.model.*;
 
 import java.io.IOException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 @Tag(name = "Object stroage", description = "Object storage API 문서입니다")
 @RestController
 @RequiredArgsConstructor
@@ -35,6 +42,11 @@ import java.util.Map;
 public class RGWController {
     private final DSService dsService;
     private final RGWService rgwService;
+    private final ResumableUploadService resumableUploadService;
+    private final AdminSnapshotService adminSnapshotService;
+    private final QuotaHistoryCollector quotaHistoryCollector;
+    private final BackendCircuitBreakers backendCircuitBreakers;
+    private final Bulkheads bulkheads;
     private final String PF_ADMIN = "/organization/default_org/roles/platform_admin";
     private static final Logger logger = LoggerFactory.getLogger(RGWController.class);
 
@@ -42,24 +54,28 @@ public class RGWController {
             @ApiResponse(responseCode = "200", description = "유저 쿼타 정보 출력 성공", content = @Content(mediaType = "application/json",schema = @Schema(implementation = SQuota.class))),
             @ApiResponse(responseCode = "404", description = "존재하지 않는 리소스 접근")})
     @GetMapping("/quota/user/size/{uid}/get")
-    public ResponseEntity<?> userQuotaInfo(@Parameter(name = "uid", description = "유저 id") @PathVariable("uid") String userName, @GetIdFromToken Map<String, Object> userInfo){
-        if(rgwService.validAccess(userInfo, PF_ADMIN)){
-            return ResponseEntity.status(HttpStatus.OK).body(dsService.userQoutaInfo(userName));
-        }else {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-        }
+    public CompletableFuture<ResponseEntity<?>> userQuotaInfo(@Parameter(name = "uid", description = "유저 id") @PathVariable("uid") String userName, @GetIdFromToken UserPrincipal userInfo){
+        return bulkheads.dashboard(() -> {
+            if(rgwService.validAccess(userInfo, PF_ADMIN)){
+                return ResponseEntity.status(HttpStatus.OK).body(dsService.userQoutaInfo(userName));
+            }else {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            }
+        });
     }
 
     @Operation(summary = "유저 버킷 쿼타 정보 출력", description = "유저 id를 입력하여 유저의 버킷 쿼타 정보를 출력합니다", responses = {
             @ApiResponse(responseCode = "200", description = "유저 버킷 쿼타 정보 출력 성공", content = @Content(mediaType = "application/json",schema = @Schema(implementation = SQuota.class))),
             @ApiResponse(responseCode = "404", description = "존재하지 않는 리소스 접근")})
     @GetMapping("/quota/bucket/size/{uid}/get")
-    public ResponseEntity<List<HashMap>> bucketQuotaInfo(@Parameter(name = "uid", description = "유저 id") @PathVariable("uid") String userName, @GetIdFromToken Map<String, Object> userInfo){
-        if(rgwService.validAccess(userInfo, PF_ADMIN)){
-            return ResponseEntity.status(HttpStatus.OK).body(dsService.bucketQoutaInfo(userName));
-        }else {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-        }
+    public CompletableFuture<ResponseEntity<List<HashMap>>> bucketQuotaInfo(@Parameter(name = "uid", description = "유저 id") @PathVariable("uid") String userName, @GetIdFromToken UserPrincipal userInfo){
+        return bulkheads.dashboard(() -> {
+            if(rgwService.validAccess(userInfo, PF_ADMIN)){
+                return ResponseEntity.status(HttpStatus.OK).body(dsService.bucketQoutaInfo(userName));
+            }else {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            }
+        });
     }
 
     /*
@@ -70,70 +86,67 @@ public class RGWController {
             @ApiResponse(responseCode = "200", description = "유저 쿼타 설정 성공", content = @Content(mediaType = "application/json")),
             @ApiResponse(responseCode = "404", description = "존재하지 않는 리소스 접근")})
     @PostMapping("/permission/quota/user/{uid}/size/update")
-    public ResponseEntity userQuotaConfig(@Parameter(name = "uid", description = "유저 id")@PathVariable("uid") String userName,
-                                          @RequestBody SQuota quota, @GetIdFromToken Map<String, Object> userInfo){
-
-        if(rgwService.validAccess(userInfo, PF_ADMIN)){
-            quota.setQuota_type("user");
-            dsService.quotaConfig(userName, quota);
-            return ResponseEntity.status(HttpStatus.OK).body("UserQuota configuration success!");
-        }else {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-        }
+    public CompletableFuture<ResponseEntity> userQuotaConfig(@Parameter(name = "uid", description = "유저 id")@PathVariable("uid") String userName,
+                                                             @RequestBody SQuota quota, @GetIdFromToken UserPrincipal userInfo){
+        return bulkheads.dashboard(() -> {
+            if(rgwService.validAccess(userInfo, PF_ADMIN)){
+                quota.setQuota_type("user");
+                dsService.quotaConfig(userName, quota);
+                return ResponseEntity.status(HttpStatus.OK).body("UserQuota configuration success!");
+            }else {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            }
+        });
     }
 
     @Operation(summary = "여러 유저 쿼타 조회", description = "유저 id의 배열을 입력하여 유저의 쿼타를 조회합니다", responses = {
             @ApiResponse(responseCode = "200", description = "유저 쿼타 조회 성공", content = @Content(mediaType = "application/json")),
             @ApiResponse(responseCode = "404", description = "존재하지 않는 리소스 접근")})
     @GetMapping("/permission/quota/users/size/get")
-    public ResponseEntity<?> getUserQuotaConfigList(@Parameter(name = "userName", description = "유저 아이디 리스트") @RequestParam(name="userName") List<String> userList,
-                                                 @GetIdFromToken Map<String, Object> userInfo){
-        if(rgwService.validAccess(userInfo, PF_ADMIN)){
-            HashMap<String, HashMap<String, Object>> result = new HashMap<>();
-            for (String userName: userList){
-                result.put(userName, dsService.userQoutaInfo(userName));
+    public CompletableFuture<ResponseEntity<?>> getUserQuotaConfigList(@Parameter(name = "userName", description = "유저 아이디 리스트") @RequestParam(name="userName") List<String> userList,
+                                                 @GetIdFromToken UserPrincipal userInfo){
+        return bulkheads.admin(() -> {
+            if(rgwService.validAccess(userInfo, PF_ADMIN)){
+                return ResponseEntity.status(HttpStatus.OK).body(rgwService.usersQuotaConfig(userList));
+            }else {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
             }
-            return ResponseEntity.status(HttpStatus.OK).body(result);
-        }else {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-        }
+        });
     }
 
     @Operation(summary = "여러 유저 쿼타 설정", description = "유저 id와 쿼타의 배열을 입력하여 유저의 쿼타를 설정합니다", responses = {
             @ApiResponse(responseCode = "200", description = "유저 쿼타 설정 성공", content = @Content(mediaType = "application/json")),
             @ApiResponse(responseCode = "404", description = "존재하지 않는 리소스 접근")})
     @PostMapping("/permission/quota/users/size/update")
-    public ResponseEntity setUserQuotaConfigList(
+    public CompletableFuture<ResponseEntity> setUserQuotaConfigList(
             @Parameter(name = "userQuotaList", description = "유저 쿼타 리스트", schema = @Schema( type = "object", example = "{\"user1\": {\"enabled\": \"true/false\",\"max_objects\": \"integer\",\"max_size_kb\": \"integer\",\"quota_type\": \"user\"}, \"user2\": {\"enabled\": \"true/false\",\"max_objects\": \"integer\",\"max_size_kb\": \"integer\",\"quota_type\": \"user\"}}"))
             @RequestBody Map<String, SQuota> userQuotaList,
-            @GetIdFromToken Map<String, Object> userInfo)
+            @GetIdFromToken UserPrincipal userInfo)
     {
-        if(rgwService.validAccess(userInfo, PF_ADMIN)){
-            for (String userName: userQuotaList.keySet()){
-                SQuota quota = userQuotaList.get(userName);
-                quota.setQuota_type("user");
-                dsService.quotaConfig(userName, quota);
+        return bulkheads.admin(() -> {
+            if(rgwService.validAccess(userInfo, PF_ADMIN)){
+                return ResponseEntity.status(HttpStatus.OK).body(rgwService.setUsersQuotaConfig(userQuotaList));
+            }else {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
             }
-            return ResponseEntity.status(HttpStatus.OK).body("UserQuota configuration success!");
-        }else {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-        }
+        });
     }
 
     @Operation(summary = "버킷 쿼타 설정", description = "유저 id와 쿼타를 입력하여 버킷의 쿼타를 설정합니다", responses = {
             @ApiResponse(responseCode = "200", description = "버킷 쿼타 설정 성공", content = @Content(mediaType = "application/json",schema = @Schema(implementation = SQuota.class))),
             @ApiResponse(responseCode = "404", description = "존재하지 않는 리소스 접근")})
     @PostMapping("/permission/quota/bucket/{uid}/size/update")
-    public ResponseEntity bucketQuotaConfig(@Parameter(name = "uid", description = "유저 id")@PathVariable("uid") String userName,
-                                            @RequestBody SQuota quota, @GetIdFromToken Map<String, Object> userInfo){
-
-        if(rgwService.validAccess(userInfo, PF_ADMIN)){
-            quota.setQuota_type("bucket");
-            dsService.quotaConfig(userName, quota);
-            return ResponseEntity.status(HttpStatus.OK).body("BucketQuota configuration success!");
-        }else {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-        }
+    public CompletableFuture<ResponseEntity> bucketQuotaConfig(@Parameter(name = "uid", description = "유저 id")@PathVariable("uid") String userName,
+                                                               @RequestBody SQuota quota, @GetIdFromToken UserPrincipal userInfo){
+        return bulkheads.dashboard(() -> {
+            if(rgwService.validAccess(userInfo, PF_ADMIN)){
+                quota.setQuota_type("bucket");
+                dsService.quotaConfig(userName, quota);
+                return ResponseEntity.status(HttpStatus.OK).body("BucketQuota configuration success!");
+            }else {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            }
+        });
     }
 
     /*
@@ -144,28 +157,32 @@ public class RGWController {
             @ApiResponse(responseCode = "200", description = "유저 쿼타 사용 금지 설정 성공"),
             @ApiResponse(responseCode = "404", description = "존재하지 않는 리소스 접근")})
     @PostMapping("/permission/quota/user/{uid}/size/remove")
-    public ResponseEntity<String> userQuotaDisable(@Parameter(name = "uid", description = "유저 id")@PathVariable("uid") String userName,
-                                                   @RequestBody Map<String, String> body, @GetIdFromToken Map<String, Object> userInfo){
-        if(rgwService.validAccess(userInfo, PF_ADMIN)){
-            dsService.quotaDisable(userName, body.get("user"));
-            return ResponseEntity.status(HttpStatus.OK).body("UserQuota remove success!");
-        }else {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-        }
+    public CompletableFuture<ResponseEntity<String>> userQuotaDisable(@Parameter(name = "uid", description = "유저 id")@PathVariable("uid") String userName,
+                                                                      @RequestBody Map<String, String> body, @GetIdFromToken UserPrincipal userInfo){
+        return bulkheads.dashboard(() -> {
+            if(rgwService.validAccess(userInfo, PF_ADMIN)){
+                dsService.quotaDisable(userName, body.get("user"));
+                return ResponseEntity.status(HttpStatus.OK).body("UserQuota remove success!");
+            }else {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            }
+        });
     }
 
     @Operation(summary = "버킷 쿼타 사용 금지 설정", description = "유저 id를 입력하여 유저의 쿼타의 사용을 금지합니다", responses = {
             @ApiResponse(responseCode = "200", description = "유저 쿼타 사용 금지 설정 성공"),
             @ApiResponse(responseCode = "404", description = "존재하지 않는 리소스 접근")})
     @PostMapping("/permission/quota/bucket/{uid}/size/remove")
-    public ResponseEntity<String> bucketQuotaDisable(@Parameter(name = "uid", description = "유저 id")@PathVariable("uid") String userName,
-                                                     @RequestBody Map<String, String> body, @GetIdFromToken Map<String, Object> userInfo){
-        if(rgwService.validAccess(userInfo, PF_ADMIN)){
-            dsService.quotaDisable(userName, body.get("bucket"));
-            return ResponseEntity.status(HttpStatus.OK).body("BucketQuota remove success!");
-        }else {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-        }
+    public CompletableFuture<ResponseEntity<String>> bucketQuotaDisable(@Parameter(name = "uid", description = "유저 id")@PathVariable("uid") String userName,
+                                                                        @RequestBody Map<String, String> body, @GetIdFromToken UserPrincipal userInfo){
+        return bulkheads.dashboard(() -> {
+            if(rgwService.validAccess(userInfo, PF_ADMIN)){
+                dsService.quotaDisable(userName, body.get("bucket"));
+                return ResponseEntity.status(HttpStatus.OK).body("BucketQuota remove success!");
+            }else {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            }
+        });
     }
 
     /*
@@ -181,18 +198,17 @@ public class RGWController {
             @ApiResponse(responseCode = "200", description = "버킷 조회 성공", content = @Content(mediaType = "application/json", schema = @Schema(implementation = SBucket.class))),
             @ApiResponse(responseCode = "404", description = "존재하지 않는 리소스 접근")})
     @GetMapping("/bucket/list")
-    public ResponseEntity<List<SBucket>> getBuckets(@GetIdFromToken Map<String, Object> userInfo) {
-
-        return ResponseEntity.status(HttpStatus.OK).body(rgwService.getBuckets((S3Credential) userInfo.get("credential")));
+    public CompletableFuture<ResponseEntity<List<SBucket>>> getBuckets(@GetIdFromToken UserPrincipal userInfo) {
+        return bulkheads.data(() -> ResponseEntity.status(HttpStatus.OK).body(rgwService.getBuckets(userInfo.getCredential())));
     }
 
     @Operation(summary = "버킷 조회", description = "유저의 버킷을 조회합니다", responses = {
             @ApiResponse(responseCode = "200", description = "버킷 조회 성공", content = @Content(mediaType = "application/json", schema = @Schema(implementation = SBucket.class))),
             @ApiResponse(responseCode = "404", description = "존재하지 않는 리소스 접근")})
     @GetMapping("/bucket/{bucketName}/get")
-    public ResponseEntity<BucketInfo> getBuckets(@GetIdFromToken Map<String, Object> userInfo,
-                                                 @Parameter(name = "bucketName", description = "버킷 이름")@PathVariable String bucketName) {
-        return ResponseEntity.status(HttpStatus.OK).body(rgwService.getBucketInfo(bucketName));
+    public CompletableFuture<ResponseEntity<BucketInfo>> getBuckets(@GetIdFromToken UserPrincipal userInfo,
+                                                                    @Parameter(name = "bucketName", description = "버킷 이름")@PathVariable String bucketName) {
+        return bulkheads.admin(() -> ResponseEntity.status(HttpStatus.OK).body(rgwService.getBucketInfo(bucketName)));
     }
 
     /*
@@ -202,22 +218,50 @@ public class RGWController {
             @ApiResponse(responseCode = "200", description = "버킷 생성 성공", content = @Content(mediaType = "application/json", schema = @Schema(implementation = SBucket.class))),
             @ApiResponse(responseCode = "404", description = "존재하지 않는 리소스 접근")})
     @PostMapping("/bucket/{bucketName}/create")
-    public ResponseEntity<Bucket> createBucket(@GetIdFromToken Map<String, Object> userInfo,
+    public ResponseEntity<Bucket> createBucket(@GetIdFromToken UserPrincipal userInfo,
                                                @Parameter(name = "bucketName", description = "버킷 이름") @PathVariable String bucketName) {
-        return ResponseEntity.status(HttpStatus.OK).body(rgwService.createBucket((S3Credential) userInfo.get("credential"), bucketName));
+        return ResponseEntity.status(HttpStatus.OK).body(rgwService.createBucket(userInfo.getCredential(), bucketName));
     }
 
     /*
         Permission - Data - Delete
      */
-    @Operation(summary = "버킷 삭제", description = "버킷 이름을 확인하여 해당 버킷을 삭제합니다", responses = {
-            @ApiResponse(responseCode = "200", description = "버킷 삭제 성공"),
+    @Operation(summary = "버킷 삭제", description = "버킷 이름을 확인하여 해당 버킷을 삭제합니다. 삭제는 백그라운드 작업으로 진행되며 반환된 작업 id로 진행 상태를 조회합니다", responses = {
+            @ApiResponse(responseCode = "202", description = "버킷 삭제 작업 시작", content = @Content(mediaType = "application/json", schema = @Schema(implementation = SJob.class))),
             @ApiResponse(responseCode = "404", description = "존재하지 않는 리소스 접근")})
     @PostMapping("/bucket/{bucketName}/remove")
-    public ResponseEntity<?> removeBucket(@GetIdFromToken Map<String, Object> userInfo,
-                                          @Parameter(name = "bucketName", description = "버킷 이름") @PathVariable String bucketName) {
-        rgwService.removeBucket((S3Credential) userInfo.get("credential"), bucketName);
-        return ResponseEntity.ok().build();
+    public ResponseEntity<SJob> removeBucket(@GetIdFromToken UserPrincipal userInfo,
+                                             @Parameter(name = "bucketName", description = "버킷 이름") @PathVariable String bucketName) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(rgwService.removeBucket(userInfo, bucketName));
+    }
+
+    /*
+        Job - Get
+     */
+    @Operation(summary = "작업 진행 상태 조회", description = "작업 id를 입력하여 버킷 삭제 등 백그라운드 작업의 진행 상태와 실패한 대상을 조회합니다", responses = {
+            @ApiResponse(responseCode = "200", description = "작업 조회 성공"),
+            @ApiResponse(responseCode = "404", description = "존재하지 않는 작업")})
+    @GetMapping("/job/{jobId}/get")
+    public ResponseEntity<SJob> getJob(@GetIdFromToken UserPrincipal userInfo,
+                                       @Parameter(name = "jobId", description = "작업 id") @PathVariable String jobId) {
+        return ResponseEntity.ok(rgwService.getJob(userInfo, jobId));
+    }
+
+    @Operation(summary = "작업 이어서 실행", description = "실패한 작업을 마지막 checkpoint 다음부터 다시 실행합니다", responses = {
+            @ApiResponse(responseCode = "200", description = "작업 재시작 성공"),
+            @ApiResponse(responseCode = "404", description = "존재하지 않는 작업"),
+            @ApiResponse(responseCode = "409", description = "실패한 작업이 아님")})
+    @PostMapping("/job/{jobId}/resume")
+    public ResponseEntity<SJob> resumeJob(@GetIdFromToken UserPrincipal userInfo,
+                                          @Parameter(name = "jobId", description = "작업 id") @PathVariable String jobId) {
+        return ResponseEntity.ok(rgwService.resumeJob(userInfo, jobId));
+    }
+
+    @Operation(summary = "작업 목록 조회", description = "토큰 유저가 요청한 백그라운드 작업 목록을 조회합니다", responses = {
+            @ApiResponse(responseCode = "200", description = "작업 목록 조회 성공")})
+    @GetMapping("/job/list")
+    public ResponseEntity<List<SJob>> getJobs(@GetIdFromToken UserPrincipal userInfo) {
+        return ResponseEntity.ok(rgwService.getJobs(userInfo));
     }
 
     /*
@@ -227,10 +271,53 @@ public class RGWController {
             @ApiResponse(responseCode = "200", description = "prefix 경로의 폴더 및 파일 리스트 반환 성공"),
             @ApiResponse(responseCode = "404", description = "존재하지 않는 리소스 접근")})
     @PostMapping("/data/{bucketName}/list")
-    public ResponseEntity<Map<String, List<?>>> getFileList(@GetIdFromToken Map<String, Object> userInfo,
-                                                            @Parameter(name = "bucketName", description = "버킷 이름") @PathVariable String bucketName,
-                                                            @Parameter(name = "prefix", description = "prefix") @RequestParam(required = false) String prefix) {
-        return ResponseEntity.ok(rgwService.getFileList((S3Credential) userInfo.get("credential"), bucketName, prefix));
+    public CompletableFuture<ResponseEntity<Map<String, List<?>>>> getFileList(@GetIdFromToken UserPrincipal userInfo,
+                                                                               @Parameter(name = "bucketName", description = "버킷 이름") @PathVariable String bucketName,
+                                                                               @Parameter(name = "prefix", description = "prefix") @RequestParam(required = false) String prefix) {
+        return bulkheads.data(() -> ResponseEntity.ok(rgwService.getFileList(userInfo.getCredential(), bucketName, prefix)));
+    }
+
+    @Operation(summary = "prefix 경로의 폴더 조회", description = "버킷 이름, prefix를 입력하여 prefix 바로 아래의 폴더(하위 오브젝트 수, 용량 포함)와 파일 목록을 반환합니다", responses = {
+            @ApiResponse(responseCode = "200", description = "폴더 조회 성공", content = @Content(mediaType = "application/json", schema = @Schema(implementation = SFolder.class))),
+            @ApiResponse(responseCode = "404", description = "존재하지 않는 리소스 접근")})
+    @GetMapping("/data/{bucketName}/folder/get")
+    public CompletableFuture<ResponseEntity<SFolder>> getFolder(@GetIdFromToken UserPrincipal userInfo,
+                                                                @Parameter(name = "bucketName", description = "버킷 이름") @PathVariable String bucketName,
+                                                                @Parameter(name = "prefix", description = "prefix") @RequestParam(required = false) String prefix) {
+        return bulkheads.data(() -> ResponseEntity.ok(rgwService.getFolder(userInfo.getCredential(), bucketName, prefix)));
+    }
+
+    @Operation(summary = "오브젝트 목록 페이지 조회", description = "버킷 이름, prefix, continuation token, 페이지 크기(최대 1000)를 입력하여 오브젝트 목록 한 페이지를 반환합니다. 응답의 nextContinuationToken 으로 다음 페이지를 조회합니다", responses = {
+            @ApiResponse(responseCode = "200", description = "오브젝트 목록 페이지 조회 성공"),
+            @ApiResponse(responseCode = "404", description = "존재하지 않는 리소스 접근")})
+    @GetMapping("/data/{bucketName}/object/list")
+    public CompletableFuture<ResponseEntity<SObjectPage>> getObjectPage(@GetIdFromToken UserPrincipal userInfo,
+                                                                        @Parameter(name = "bucketName", description = "버킷 이름") @PathVariable String bucketName,
+                                                                        @Parameter(name = "prefix", description = "prefix") @RequestParam(required = false) String prefix,
+                                                                        @Parameter(name = "continuationToken", description = "이전 응답의 nextContinuationToken") @RequestParam(required = false) String continuationToken,
+                                                                        @Parameter(name = "pageSize", description = "페이지 크기") @RequestParam(defaultValue = "1000") int pageSize) {
+        return bulkheads.data(() -> ResponseEntity.ok(rgwService.getObjectPage(userInfo.getCredential(), bucketName, prefix, continuationToken, pageSize)));
+    }
+
+    @Operation(summary = "오브젝트 목록 스트리밍", description = "버킷 이름, prefix를 입력하여 전체 오브젝트 목록을 NDJSON(한 줄에 오브젝트 하나)으로 스트리밍합니다", responses = {
+            @ApiResponse(responseCode = "200", description = "오브젝트 목록 스트리밍 성공", content = @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = BObject.class))),
+            @ApiResponse(responseCode = "404", description = "존재하지 않는 리소스 접근")})
+    @GetMapping("/data/{bucketName}/object/stream")
+    public void streamObjects(@GetIdFromToken UserPrincipal userInfo,
+                              @Parameter(name = "bucketName", description = "버킷 이름") @PathVariable String bucketName,
+                              @Parameter(name = "prefix", description = "prefix") @RequestParam(required = false) String prefix,
+                              HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        try {
+            rgwService.streamObjects(userInfo.getCredential(), bucketName, prefix, response.getOutputStream());
+        } catch (AmazonS3Exception e) {
+            if (response.isCommitted()) {
+                // 200 이 이미 나갔으므로 예외를 다시 던져 연결을 비정상 종료 (마지막 줄에 error 레코드가 있음)
+                throw e;
+            }
+            response.sendError(e.getStatusCode());
+        }
     }
 
     /*
@@ -240,10 +327,10 @@ public class RGWController {
             @ApiResponse(responseCode = "200", description = "오브젝트 삭제 성공"),
             @ApiResponse(responseCode = "404", description = "존재하지 않는 리소스 접근")})
     @PostMapping("/data/{bucketName}/{objectKey}/remove")
-    public ResponseEntity<?> removeObject(@GetIdFromToken Map<String, Object> userInfo,
+    public ResponseEntity<?> removeObject(@GetIdFromToken UserPrincipal userInfo,
                                           @Parameter(name = "bucketName", description = "버킷 이름") @PathVariable String bucketName,
                                           @Parameter(name = "objectKey", description = "오브젝트 키") @PathVariable String objectKey) {
-        rgwService.removeObject((S3Credential) userInfo.get("credential"), bucketName, objectKey);
+        rgwService.removeObject(userInfo.getCredential(), bucketName, objectKey);
         return ResponseEntity.ok().build();
     }
 
@@ -257,10 +344,10 @@ public class RGWController {
     public ResponseEntity<String> objectUpload(@Parameter(name = "file", description = "파일") @RequestPart(value = "file", required = false) MultipartFile file,
                                                @Parameter(name = "bucketName", description = "버킷 이름") @RequestParam(value = "bucketName") String bucketName,
                                                @Parameter(name = "objectKey", description = "오브젝트 키") @RequestParam(value = "objectKey", required = false) String objectKey,
-                                               @GetIdFromToken Map<String, Object> userInfo) throws IOException {
+                                               @GetIdFromToken UserPrincipal userInfo) throws IOException {
 
         try {
-            rgwService.objectUpload(file, bucketName, (S3Credential) userInfo.get("credential"), objectKey);
+            rgwService.objectUpload(file, bucketName, userInfo.getCredential(), objectKey);
             return ResponseEntity.ok(file.getOriginalFilename());
         } catch (AmazonS3Exception e) {
             if ("QuotaExceeded".equals(e.getErrorCode())) {
@@ -270,6 +357,148 @@ public class RGWController {
         }
     }
 
+    @Operation(summary = "오브젝트 스트리밍 생성", description = "요청 본문을 임시 파일 없이 바로 오브젝트로 업로드합니다", responses = {
+            @ApiResponse(responseCode = "200", description = "오브젝트 생성 성공"),
+            @ApiResponse(responseCode = "403", description = "쿼타 초과"),
+            @ApiResponse(responseCode = "413", description = "업로드 크기가 쿼타보다 큼"),
+            @ApiResponse(responseCode = "415", description = "폼(application/x-www-form-urlencoded) 본문"),
+            @ApiResponse(responseCode = "404", description = "존재하지 않는 리소스 접근")})
+    // 폼 본문은 FormContentFilter 가 메모리로 읽어 들이므로 받지 않음 (415)
+    @PutMapping(value = "/data/{bucketName}/stream", consumes = "!" + MediaType.APPLICATION_FORM_URLENCODED_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<String> objectRawUpload(@Parameter(name = "bucketName", description = "버킷 이름") @PathVariable String bucketName,
+                                                  @Parameter(name = "objectKey", description = "오브젝트 키") @RequestParam(value = "objectKey") String objectKey,
+                                                  @GetIdFromToken UserPrincipal userInfo,
+                                                  HttpServletRequest request) throws IOException {
+        try {
+            rgwService.objectUpload(request.getInputStream(), bucketName, userInfo.getCredential(), objectKey);
+            return ResponseEntity.ok(objectKey);
+        } catch (AmazonS3Exception e) {
+            if ("QuotaExceeded".equals(e.getErrorCode())) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Quota has been exceeded!");
+            }
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("An S3 error occurred: " + e.getErrorCode());
+        }
+    }
+
+    @Operation(summary = "오브젝트 멀티파트 스트리밍 생성", description = "multipart/form-data 의 file 파트를 임시 파일 없이 바로 업로드합니다. objectKey 필드는 file 파트 앞에 둡니다", responses = {
+            @ApiResponse(responseCode = "200", description = "오브젝트 생성 성공"),
+            @ApiResponse(responseCode = "400", description = "file 파트 누락"),
+            @ApiResponse(responseCode = "403", description = "쿼타 초과")})
+    @PostMapping(value = "/data/{bucketName}/stream", consumes = MediaType.MULTIPART_FORM_DATA_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<String> objectStreamUpload(@Parameter(name = "bucketName", description = "버킷 이름") @PathVariable String bucketName,
+                                                     @GetIdFromToken UserPrincipal userInfo,
+                                                     HttpServletRequest request) throws IOException {
+        try {
+            return ResponseEntity.ok(rgwService.objectStreamUpload(request, bucketName, userInfo.getCredential()));
+        } catch (FileUploadException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (AmazonS3Exception e) {
+            if ("QuotaExceeded".equals(e.getErrorCode())) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Quota has been exceeded!");
+            }
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("An S3 error occurred: " + e.getErrorCode());
+        }
+    }
+
+    /*
+        Data - Resumable upload
+     */
+    @Operation(summary = "이어받기 업로드 시작", description = "버킷 이름, 오브젝트 키를 입력하여 이어받기 가능한 업로드 세션을 생성합니다", responses = {
+            @ApiResponse(responseCode = "200", description = "업로드 세션 생성 성공", content = @Content(mediaType = "application/json", schema = @Schema(implementation = SUploadSession.class))),
+            @ApiResponse(responseCode = "404", description = "존재하지 않는 리소스 접근")})
+    @PostMapping("/data/{bucketName}/upload/create")
+    public ResponseEntity<SUploadSession> initiateResumableUpload(@GetIdFromToken UserPrincipal userInfo,
+                                                                  @Parameter(name = "bucketName", description = "버킷 이름") @PathVariable String bucketName,
+                                                                  @Parameter(name = "objectKey", description = "오브젝트 키") @RequestParam(value = "objectKey") String objectKey) {
+        return ResponseEntity.ok(resumableUploadService.initiate(userInfo, bucketName, objectKey));
+    }
+
+    @Operation(summary = "이어받기 업로드 파트 전송", description = "요청 본문을 지정한 번호의 파트로 업로드합니다. 같은 번호로 다시 보내면 덮어씁니다", responses = {
+            @ApiResponse(responseCode = "200", description = "파트 업로드 성공", content = @Content(mediaType = "application/json", schema = @Schema(implementation = SUploadPart.class))),
+            @ApiResponse(responseCode = "403", description = "쿼타 초과"),
+            @ApiResponse(responseCode = "404", description = "존재하지 않는 업로드 세션"),
+            @ApiResponse(responseCode = "411", description = "Content-Length 누락"),
+            @ApiResponse(responseCode = "413", description = "업로드 크기가 쿼타보다 큼")})
+    @PutMapping("/data/upload/{sessionId}/part/{partNumber}")
+    public ResponseEntity<SUploadPart> uploadResumablePart(@GetIdFromToken UserPrincipal userInfo,
+                                                           @Parameter(name = "sessionId", description = "업로드 세션 id") @PathVariable String sessionId,
+                                                           @Parameter(name = "partNumber", description = "파트 번호") @PathVariable int partNumber,
+                                                           HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(resumableUploadService.uploadPart(userInfo, sessionId, partNumber, request.getInputStream(), request.getContentLengthLong()));
+    }
+
+    @Operation(summary = "이어받기 업로드 파트 목록", description = "업로드 세션에서 RGW 가 받은 파트 목록을 반환합니다", responses = {
+            @ApiResponse(responseCode = "200", description = "파트 목록 조회 성공"),
+            @ApiResponse(responseCode = "404", description = "존재하지 않는 업로드 세션")})
+    @GetMapping("/data/upload/{sessionId}/part/list")
+    public ResponseEntity<List<SUploadPart>> listResumableParts(@GetIdFromToken UserPrincipal userInfo,
+                                                                @Parameter(name = "sessionId", description = "업로드 세션 id") @PathVariable String sessionId) {
+        return ResponseEntity.ok(resumableUploadService.listParts(userInfo, sessionId));
+    }
+
+    @Operation(summary = "이어받기 업로드 완료", description = "받은 파트들로 오브젝트를 완성합니다", responses = {
+            @ApiResponse(responseCode = "200", description = "업로드 완료"),
+            @ApiResponse(responseCode = "404", description = "존재하지 않는 업로드 세션")})
+    @PostMapping("/data/upload/{sessionId}/complete")
+    public ResponseEntity<String> completeResumableUpload(@GetIdFromToken UserPrincipal userInfo,
+                                                          @Parameter(name = "sessionId", description = "업로드 세션 id") @PathVariable String sessionId) {
+        try {
+            return ResponseEntity.ok(resumableUploadService.complete(userInfo, sessionId));
+        } catch (AmazonS3Exception e) {
+            if ("QuotaExceeded".equals(e.getErrorCode())) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Quota has been exceeded!");
+            }
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("An S3 error occurred: " + e.getErrorCode());
+        }
+    }
+
+    @Operation(summary = "이어받기 업로드 취소", description = "업로드 세션을 취소하고 RGW 에 올라간 파트를 삭제합니다", responses = {
+            @ApiResponse(responseCode = "200", description = "업로드 취소 성공"),
+            @ApiResponse(responseCode = "404", description = "존재하지 않는 업로드 세션")})
+    @PostMapping("/data/upload/{sessionId}/remove")
+    public ResponseEntity<?> abortResumableUpload(@GetIdFromToken UserPrincipal userInfo,
+                                                  @Parameter(name = "sessionId", description = "업로드 세션 id") @PathVariable String sessionId) {
+        resumableUploadService.abort(userInfo, sessionId);
+        return ResponseEntity.ok().build();
+    }
+
+    @Operation(summary = "presigned 멀티파트 업로드 시작", description = "업로드 세션을 만들고 파트 수만큼 UploadPart presigned url 을 반환합니다. 클라이언트는 각 url 로 파트를 직접 PUT 합니다", responses = {
+            @ApiResponse(responseCode = "200", description = "presigned url 생성 성공", content = @Content(mediaType = "application/json", schema = @Schema(implementation = SPresignedUpload.class))),
+            @ApiResponse(responseCode = "400", description = "잘못된 파트 수")})
+    @PostMapping("/data/{bucketName}/presigned-upload/create")
+    public CompletableFuture<ResponseEntity<SPresignedUpload>> initiatePresignedUpload(@GetIdFromToken UserPrincipal userInfo,
+                                                                                       @Parameter(name = "bucketName", description = "버킷 이름") @PathVariable String bucketName,
+                                                                                       @Parameter(name = "objectKey", description = "오브젝트 키") @RequestParam(value = "objectKey") String objectKey,
+                                                                                       @Parameter(name = "partCount", description = "파트 수") @RequestParam(value = "partCount") int partCount) {
+        return bulkheads.data(() -> ResponseEntity.ok(resumableUploadService.initiatePresigned(userInfo, bucketName, objectKey, partCount)));
+    }
+
+    @Operation(summary = "presigned 멀티파트 업로드 완료", description = "클라이언트가 받은 파트 번호와 ETag 로 업로드를 완료하고 버킷 권한을 오브젝트에 적용합니다", responses = {
+            @ApiResponse(responseCode = "200", description = "업로드 완료"),
+            @ApiResponse(responseCode = "404", description = "존재하지 않는 업로드 세션")})
+    @PostMapping("/data/presigned-upload/{sessionId}/complete")
+    public CompletableFuture<ResponseEntity<String>> completePresignedUpload(@GetIdFromToken UserPrincipal userInfo,
+                                                                             @Parameter(name = "sessionId", description = "업로드 세션 id") @PathVariable String sessionId,
+                                                                             @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "파트 번호와 ETag 목록") @RequestBody List<SUploadPart> parts) {
+        return bulkheads.data(() -> {
+            try {
+                return ResponseEntity.ok(resumableUploadService.completePresigned(userInfo, sessionId, parts));
+            } catch (AmazonS3Exception e) {
+                if ("QuotaExceeded".equals(e.getErrorCode())) {
+                    return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Quota has been exceeded!");
+                }
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("An S3 error occurred: " + e.getErrorCode());
+            }
+        });
+    }
+
+    @Operation(summary = "이어받기 업로드 세션 목록", description = "토큰 유저의 진행 중인 업로드 세션 목록을 반환합니다", responses = {
+            @ApiResponse(responseCode = "200", description = "세션 목록 조회 성공")})
+    @GetMapping("/data/upload/list")
+    public ResponseEntity<List<SUploadSession>> listResumableUploads(@GetIdFromToken UserPrincipal userInfo) {
+        return ResponseEntity.ok(resumableUploadService.listSessions(userInfo));
+    }
+
     /*
         Data - Get
      */
@@ -277,75 +506,141 @@ public class RGWController {
             @ApiResponse(responseCode = "200", description = "오브젝트의 url 다운로드 성공"),
             @ApiResponse(responseCode = "404", description = "존재하지 않는 리소스 접근")})
     @GetMapping("/data/{bucketName}/{objectKey}/get")
-    public ResponseEntity<URL> objectDownUrl(@GetIdFromToken Map<String, Object> userInfo,
-                                             @Parameter(name = "bucketName", description = "버킷 이름") @PathVariable String bucketName,
-                                             @Parameter(name = "objectKey", description = "오브젝트 키") @PathVariable String objectKey) {
-        return ResponseEntity.ok(rgwService.objectDownUrl((S3Credential) userInfo.get("credential"), bucketName, objectKey));
+    public CompletableFuture<ResponseEntity<URL>> objectDownUrl(@GetIdFromToken UserPrincipal userInfo,
+                                                                @Parameter(name = "bucketName", description = "버킷 이름") @PathVariable String bucketName,
+                                                                @Parameter(name = "objectKey", description = "오브젝트 키") @PathVariable String objectKey) {
+        return bulkheads.data(() -> ResponseEntity.ok(rgwService.objectDownUrl(userInfo.getCredential(), bucketName, objectKey)));
+    }
+
+    @Operation(summary = "오브젝트 다운로드", description = "버킷 이름, 오브젝트 키를 입력하여 오브젝트를 서버를 거쳐 스트리밍으로 다운로드합니다. Range(단일/다중)와 If-None-Match 를 지원합니다", responses = {
+            @ApiResponse(responseCode = "200", description = "오브젝트 전체 다운로드 성공"),
+            @ApiResponse(responseCode = "206", description = "Range 다운로드 성공"),
+            @ApiResponse(responseCode = "304", description = "ETag 가 일치하여 변경 없음"),
+            @ApiResponse(responseCode = "404", description = "존재하지 않는 리소스 접근"),
+            @ApiResponse(responseCode = "416", description = "잘못된 Range")})
+    @GetMapping("/data/{bucketName}/{objectKey}/download")
+    public void objectDownload(@GetIdFromToken UserPrincipal userInfo,
+                               @Parameter(name = "bucketName", description = "버킷 이름") @PathVariable String bucketName,
+                               @Parameter(name = "objectKey", description = "오브젝트 키") @PathVariable String objectKey,
+                               HttpServletRequest request, HttpServletResponse response) throws IOException {
+        try {
+            rgwService.objectDownload(userInfo.getCredential(), bucketName, objectKey, request, response);
+        } catch (AmazonS3Exception e) {
+            if (response.isCommitted()) {
+                // 200 이 이미 나갔으므로 예외를 다시 던져 연결을 비정상 종료 (마지막 줄에 error 레코드가 있음)
+                throw e;
+            }
+            response.sendError(e.getStatusCode());
+        }
     }
 
-    @Operation(summary = "버킷에 대한 사용자 권한 추가", description = "버킷 이름, 권한, 유저를 입력하여 해당 유저에게 사용자 권한을 부여합니다.(FullControl, Read, Write, ReadAcp, WriteAcp)")
+    @Operation(summary = "버킷에 대한 사용자 권한 추가", description = "버킷 이름, 권한, 유저를 입력하여 해당 유저에게 사용자 권한을 부여합니다.(FullControl, Read, Write, ReadAcp, WriteAcp) 기존 오브젝트의 권한은 백그라운드 작업으로 반영되며 반환된 작업 id로 진행 상태를 조회합니다", responses = {
+            @ApiResponse(responseCode = "200", description = "정책 공유 모드 버킷 권한 부여 성공"),
+            @ApiResponse(responseCode = "202", description = "권한 반영 작업 시작", content = @Content(mediaType = "application/json", schema = @Schema(implementation = SJob.class))),
+            @ApiResponse(responseCode = "404", description = "존재하지 않는 리소스 접근")})
     @PostMapping("/permission/acl/bucket/{bucketName}/update")
-    public ResponseEntity<?> addBucketUser(@GetIdFromToken Map<String, Object> userInfo,
-                                           @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "유저") @RequestBody SUserPerm sUserPerm,
-                                           @Parameter(name = "bucketName", description = "버킷 이름") @PathVariable String bucketName) {
-        rgwService.addBucketUser((S3Credential) userInfo.get("credential"), sUserPerm.getUserId(), sUserPerm.getPermission(), bucketName);
+    public ResponseEntity<SJob> addBucketUser(@GetIdFromToken UserPrincipal userInfo,
+                                              @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "유저") @RequestBody SUserPerm sUserPerm,
+                                              @Parameter(name = "bucketName", description = "버킷 이름") @PathVariable String bucketName) {
+        SJob job = rgwService.addBucketUser(userInfo, sUserPerm.getUserId(), sUserPerm.getPermission(), bucketName);
+        if (job == null) {
+            return ResponseEntity.ok().build();
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    @Operation(summary = "버킷에 대한 사용자 권한 회수", description = "정책 공유 모드 버킷에서 유저의 권한을 회수합니다. 권한을 비우면 모든 권한을 회수합니다", responses = {
+            @ApiResponse(responseCode = "200", description = "권한 회수 성공"),
+            @ApiResponse(responseCode = "400", description = "정책 공유 모드 버킷이 아님"),
+            @ApiResponse(responseCode = "404", description = "존재하지 않는 리소스 접근")})
+    @PostMapping("/permission/policy/bucket/{bucketName}/remove")
+    public ResponseEntity<?> removeBucketUser(@GetIdFromToken UserPrincipal userInfo,
+                                              @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "유저") @RequestBody SUserPerm sUserPerm,
+                                              @Parameter(name = "bucketName", description = "버킷 이름") @PathVariable String bucketName) {
+        rgwService.removeBucketUser(userInfo.getCredential(), sUserPerm.getUserId(), sUserPerm.getPermission(), bucketName);
         return ResponseEntity.ok().build();
     }
 
+    @Operation(summary = "버킷 공유 모드 조회", description = "버킷의 공유 방식(ACL, POLICY)을 조회합니다", responses = {
+            @ApiResponse(responseCode = "200", description = "공유 모드 조회 성공"),
+            @ApiResponse(responseCode = "404", description = "존재하지 않는 리소스 접근")})
+    @GetMapping("/permission/policy/bucket/{bucketName}/get")
+    public ResponseEntity<Map<String, String>> getBucketSharingMode(@GetIdFromToken UserPrincipal userInfo,
+                                                                    @Parameter(name = "bucketName", description = "버킷 이름") @PathVariable String bucketName) {
+        Map<String, String> response = new HashMap<>();
+        response.put("mode", rgwService.getBucketSharingMode(userInfo.getCredential(), bucketName));
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "버킷 공유 모드 전환", description = "ACL 로 공유하던 버킷을 버킷 정책 방식으로 전환합니다. 버킷 ACL 의 유저 권한이 정책으로 옮겨지며, 이후 권한 부여/회수와 업로드에서 오브젝트 ACL 을 수정하지 않습니다. 기존 오브젝트 ACL 의 유저 권한은 백그라운드 작업으로 제거되며 반환된 작업 id로 진행 상태를 조회합니다", responses = {
+            @ApiResponse(responseCode = "202", description = "공유 모드 전환 및 오브젝트 ACL 정리 작업 시작", content = @Content(mediaType = "application/json", schema = @Schema(implementation = SJob.class))),
+            @ApiResponse(responseCode = "404", description = "존재하지 않는 리소스 접근")})
+    @PostMapping("/permission/policy/bucket/{bucketName}/migrate")
+    public ResponseEntity<SJob> migrateBucketSharing(@GetIdFromToken UserPrincipal userInfo,
+                                                     @Parameter(name = "bucketName", description = "버킷 이름") @PathVariable String bucketName) {
+        SJob job = rgwService.migrateBucketSharing(userInfo, bucketName);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
     @Operation(summary = "선택한 유저 전송 속도 조회", description = "유저의 API ratelimit(전송 속도와 호출 수)을 조회합니다", responses = {
             @ApiResponse(responseCode = "200", description = "전송 속도 조회 성공", content = @Content(mediaType = "application/json", schema = @Schema(implementation = RateLimit.class))),
             @ApiResponse(responseCode = "404", description = "존재하지 않는 리소스 접근")})
     @GetMapping("/permission/quota/user/rate-limit/{uid}/get")
-    public ResponseEntity<?> getUserRateLimit(@Parameter(name = "uid", description = "유저 아이디") @PathVariable String uid,
-                                              @GetIdFromToken Map<String, Object> userInfo) {
-        if (rgwService.validAccess(userInfo, PF_ADMIN)) {
-            return ResponseEntity.ok(rgwService.getUserRateLimit(uid));
-        } else {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-        }
+    public CompletableFuture<ResponseEntity<?>> getUserRateLimit(@Parameter(name = "uid", description = "유저 아이디") @PathVariable String uid,
+                                                                 @GetIdFromToken UserPrincipal userInfo) {
+        return bulkheads.admin(() -> {
+            if (rgwService.validAccess(userInfo, PF_ADMIN)) {
+                return ResponseEntity.ok(rgwService.getUserRateLimit(uid));
+            } else {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            }
+        });
     }
 
     @Operation(summary = "여러 유저의 전송 속도 조회", description = "사용자 이름의 배열을 입력받아 전송 속도 배열을 반환합니다.", responses = {
             @ApiResponse(responseCode = "200", description = "전송 속도 배열 조회 성공", content = @Content(mediaType = "application/json", schema = @Schema(implementation = RateLimit.class))),
             @ApiResponse(responseCode = "404", description = "존재하지 않는 리소스 접근")})
     @PostMapping("/permission/quota/users/rate-limit/get")
-    public ResponseEntity<?> getUserRateLimitList(@Parameter(name = "userName", description = "유저 아이디 리스트") @RequestParam(name="userName") List<String> userList,
-                                                  @GetIdFromToken Map<String, Object> userInfo) {
-        System.out.println(userList.toString());
-        if(rgwService.validAccess(userInfo, PF_ADMIN)){
-            return ResponseEntity.ok(rgwService.getUserRateLimitList(userList));
-        }else {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-        }
+    public CompletableFuture<ResponseEntity<?>> getUserRateLimitList(@Parameter(name = "userName", description = "유저 아이디 리스트") @RequestParam(name="userName") List<String> userList,
+                                                                     @GetIdFromToken UserPrincipal userInfo) {
+        return bulkheads.admin(() -> {
+            if(rgwService.validAccess(userInfo, PF_ADMIN)){
+                return ResponseEntity.ok(rgwService.getUserRateLimitList(userList));
+            }else {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            }
+        });
     }
 
     @Operation(summary = "여러 유저의 전송 속도 설정", description = "사용자 이름의 배열을 입력받아 다수의 전송 속도를 설정합니다.", responses = {
             @ApiResponse(responseCode = "200", description = "전송 속도 설정 성공", content = @Content(mediaType = "application/json", schema = @Schema(implementation = RateLimit.class))),
             @ApiResponse(responseCode = "404", description = "존재하지 않는 리소스 접근")})
     @PostMapping("/permission/quota/users/rate-limit/update")
-    public ResponseEntity<String> setUserRateLimitList(@io.swagger.v3.oas.annotations.parameters.RequestBody(description = "사용자 이름 배열") @RequestBody Map<String, RateLimit> userRateLimits,
-                                                       @GetIdFromToken Map<String, Object> userInfo) {
-
-        if(rgwService.validAccess(userInfo, PF_ADMIN)){
-            return ResponseEntity.ok(rgwService.setUserRateLimitList(userRateLimits));
-        }else {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-        }
+    public CompletableFuture<ResponseEntity<SAdminList<String>>> setUserRateLimitList(@io.swagger.v3.oas.annotations.parameters.RequestBody(description = "사용자 이름 배열") @RequestBody Map<String, RateLimit> userRateLimits,
+                                                       @GetIdFromToken UserPrincipal userInfo) {
+        return bulkheads.admin(() -> {
+            if(rgwService.validAccess(userInfo, PF_ADMIN)){
+                return ResponseEntity.ok(rgwService.setUserRateLimitList(userRateLimits));
+            }else {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            }
+        });
     }
 
     @Operation(summary = "전송 속도 설정", description = "유저 아이디를 입력하여 해당 유저의 전송 속도를 설정합니다", responses = {
             @ApiResponse(responseCode = "200", description = "전송 속도 설정 성공"),
             @ApiResponse(responseCode = "404", description = "존재하지 않는 리소스 접근")})
     @PostMapping("/permission/quota/user/rate-limit/{uid}/update")
-    public ResponseEntity<String> setUserRateLimit(@Parameter(name = "uid", description = "유저 아이디") @PathVariable String uid,
-                                                   @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "제한 속도") @RequestBody RateLimit rateLimit,
-                                                   @GetIdFromToken Map<String, Object> userInfo) {
-        if (rgwService.validAccess(userInfo, PF_ADMIN)) {
-            return ResponseEntity.ok(rgwService.setUserRateLimit(uid, rateLimit));
-        } else {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-        }
-
+    public CompletableFuture<ResponseEntity<String>> setUserRateLimit(@Parameter(name = "uid", description = "유저 아이디") @PathVariable String uid,
+                                                                      @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "제한 속도") @RequestBody RateLimit rateLimit,
+                                                                      @GetIdFromToken UserPrincipal userInfo) {
+        return bulkheads.admin(() -> {
+            if (rgwService.validAccess(userInfo, PF_ADMIN)) {
+                return ResponseEntity.ok(rgwService.setUserRateLimit(uid, rateLimit));
+            } else {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            }
+        });
     }
 
     /*
@@ -356,8 +651,8 @@ public class RGWController {
             @ApiResponse(responseCode = "200", description = "버킷 크기 조회 성공", content = @Content(mediaType = "application/json", schema = @Schema(implementation = SQuota.class))),
             @ApiResponse(responseCode = "404", description = "존재하지 않는 리소스 접근")})
     @GetMapping("/permission/quota/bucket/size/{bucketName}/get")
-    public ResponseEntity<Map<String, Long>> getIndividualBucketQuota(@Parameter(name = "bucketName", description = "버킷 이름") @PathVariable String bucketName) {
-        return ResponseEntity.ok(rgwService.getIndividualBucketQuota(bucketName));
+    public CompletableFuture<ResponseEntity<Map<String, Long>>> getIndividualBucketQuota(@Parameter(name = "bucketName", description = "버킷 이름") @PathVariable String bucketName) {
+        return bulkheads.admin(() -> ResponseEntity.ok(rgwService.getIndividualBucketQuota(bucketName)));
     }
 
     /*
@@ -367,16 +662,17 @@ public class RGWController {
             @ApiResponse(responseCode = "200", description = "버킷 크기 설정 성공", content = @Content(mediaType = "application/json", schema = @Schema(implementation = SQuota.class))),
             @ApiResponse(responseCode = "404", description = "존재하지 않는 리소스 접근")})
     @PostMapping("/permission/quota/bucket/size/{bucketName}/{uid}/update")
-    public ResponseEntity<SQuota> setIndividualBucketQuota(@Parameter(name = "bucketName", description = "버킷 이름") @PathVariable String bucketName,
-                                                           @Parameter(name = "uid", description = "유저 아이디") @PathVariable String uid,
-                                                           @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "할당량") @RequestBody SQuota quota,
-                                                           @GetIdFromToken Map<String, Object> userInfo) {
-
-        if (rgwService.validAccess(userInfo, PF_ADMIN)) {
-            return ResponseEntity.ok(rgwService.setIndividualBucketQuota(uid, bucketName, quota));
-        } else {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-        }
+    public CompletableFuture<ResponseEntity<SQuota>> setIndividualBucketQuota(@Parameter(name = "bucketName", description = "버킷 이름") @PathVariable String bucketName,
+                                                                              @Parameter(name = "uid", description = "유저 아이디") @PathVariable String uid,
+                                                                              @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "할당량") @RequestBody SQuota quota,
+                                                                              @GetIdFromToken UserPrincipal userInfo) {
+        return bulkheads.admin(() -> {
+            if (rgwService.validAccess(userInfo, PF_ADMIN)) {
+                return ResponseEntity.ok(rgwService.setIndividualBucketQuota(uid, bucketName, quota));
+            } else {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            }
+        });
     }
 
 
@@ -387,9 +683,9 @@ public class RGWController {
             @ApiResponse(responseCode = "200", description = "서브 유저 생성 성공", content = @Content(mediaType = "application/json", schema = @Schema(implementation = SSubUser.class))),
             @ApiResponse(responseCode = "404", description = "존재하지 않는 리소스 접근")})
     @PostMapping("/credential/user/sub-user/create")
-    public ResponseEntity<List<SubUser>> createSubUser(@io.swagger.v3.oas.annotations.parameters.RequestBody(description = "서브 유저") @RequestBody SSubUser subUser,
-                                                       @GetIdFromToken Map<String, Object> userInfo) {
-        return ResponseEntity.ok(rgwService.createSubUser((String)userInfo.get("userId"), subUser));
+    public CompletableFuture<ResponseEntity<List<SubUser>>> createSubUser(@io.swagger.v3.oas.annotations.parameters.RequestBody(description = "서브 유저") @RequestBody SSubUser subUser,
+                                                                          @GetIdFromToken UserPrincipal userInfo) {
+        return bulkheads.admin(() -> ResponseEntity.ok(rgwService.createSubUser(userInfo.getUserId(), subUser)));
     }
 
     /*
@@ -399,14 +695,15 @@ public class RGWController {
             @ApiResponse(responseCode = "200", description = "서브유저 권한정보 출력 성공", content = @Content(mediaType = "application/json", schema = @Schema(implementation = SSubUser.class))),
             @ApiResponse(responseCode = "404", description = "존재하지 않는 리소스 접근")})
     @GetMapping("/credential/user/sub-user/{subUid}/get")
-    public ResponseEntity<String> subUserInfo(@Parameter(name = "subUid", description = "서브유저 아이디") @PathVariable("subUid") String subUid,
-                                              @GetIdFromToken Map<String, Object> userInfo) {
-
-        if (rgwService.validAccess(userInfo, PF_ADMIN)) {
-            return ResponseEntity.ok(rgwService.subUserInfo((String)userInfo.get("userId"), subUid));
-        } else {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-        }
+    public CompletableFuture<ResponseEntity<String>> subUserInfo(@Parameter(name = "subUid", description = "서브유저 아이디") @PathVariable("subUid") String subUid,
+                                                                 @GetIdFromToken UserPrincipal userInfo) {
+        return bulkheads.admin(() -> {
+            if (rgwService.validAccess(userInfo, PF_ADMIN)) {
+                return ResponseEntity.ok(rgwService.subUserInfo(userInfo.getUserId(), subUid));
+            } else {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            }
+        });
     }
 
     /*
@@ -416,11 +713,13 @@ public class RGWController {
             @ApiResponse(responseCode = "200", description = "서브유저 권한 수정 성공", content = @Content(mediaType = "application/json", schema = @Schema(implementation = SSubUser.class))),
             @ApiResponse(responseCode = "404", description = "존재하지 않는 리소스 접근")})
     @PostMapping("/credential/user/sub-user/{subUid}/update")
-    public ResponseEntity<?> setSubUserPermission(@Parameter(name = "subUid", description = "서브유저 아이디") @PathVariable("subUid") String subUid,
-                                                  @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "권한") @RequestBody String permission,
-                                                  @GetIdFromToken Map<String, Object> userInfo) {
-        rgwService.setSubUserPermission((String)userInfo.get("userId"), subUid, permission);
-        return ResponseEntity.ok("Subuser permission update successfully.");
+    public CompletableFuture<ResponseEntity<?>> setSubUserPermission(@Parameter(name = "subUid", description = "서브유저 아이디") @PathVariable("subUid") String subUid,
+                                                                     @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "권한") @RequestBody String permission,
+                                                                     @GetIdFromToken UserPrincipal userInfo) {
+        return bulkheads.admin(() -> {
+            rgwService.setSubUserPermission(userInfo.getUserId(), subUid, permission);
+            return ResponseEntity.ok("Subuser permission update successfully.");
+        });
     }
 
     /*
@@ -430,11 +729,13 @@ public class RGWController {
             @ApiResponse(responseCode = "200", description = "서브유저 삭제 성공"),
             @ApiResponse(responseCode = "404", description = "존재하지 않는 리소스 접근")})
     @PostMapping("/credential/user/sub-user/{subUid}/remove")
-    public ResponseEntity<Object> removeSubUser(@Parameter(name = "subUid", description = "서브유저 아이디") @PathVariable("subUid") String subUid,
-                                                @Parameter(name = "key", description = "해당 키 값") @RequestBody Key key,
-                                                @GetIdFromToken Map<String, Object> userInfo) {
-        rgwService.removeSubUser((String)userInfo.get("userId"), subUid, key);
-        return ResponseEntity.ok("Subuser removed.");
+    public CompletableFuture<ResponseEntity<Object>> removeSubUser(@Parameter(name = "subUid", description = "서브유저 아이디") @PathVariable("subUid") String subUid,
+                                                                   @Parameter(name = "key", description = "해당 키 값") @RequestBody Key key,
+                                                                   @GetIdFromToken UserPrincipal userInfo) {
+        return bulkheads.admin(() -> {
+            rgwService.removeSubUser(userInfo.getUserId(), subUid, key);
+            return ResponseEntity.ok("Subuser removed.");
+        });
     }
 
     /*
@@ -444,12 +745,13 @@ public class RGWController {
             @ApiResponse(responseCode = "200", description = "서브유저 키 변경 성공", content = @Content(mediaType = "application/json", schema = @Schema(implementation = SSubUser.class))),
             @ApiResponse(responseCode = "404", description = "존재하지 않는 리소스 접근")})
     @PostMapping("/credential/user/sub-user/{subUid}/key/update")
-    public ResponseEntity<?> alterSubUserKey(@Parameter(name = "subUid", description = "서브유저 아이디") @PathVariable("subUid") String subUid,
-                                             @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "해당 키 값") @RequestBody Key key,
-                                             @GetIdFromToken Map<String, Object> userInfo) {
-
-        rgwService.alterSubUserKey((String)userInfo.get("userId"), subUid, key);
-        return ResponseEntity.ok("Subuser key change successfully.");
+    public CompletableFuture<ResponseEntity<?>> alterSubUserKey(@Parameter(name = "subUid", description = "서브유저 아이디") @PathVariable("subUid") String subUid,
+                                                                @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "해당 키 값") @RequestBody Key key,
+                                                                @GetIdFromToken UserPrincipal userInfo) {
+        return bulkheads.admin(() -> {
+            rgwService.alterSubUserKey(userInfo.getUserId(), subUid, key);
+            return ResponseEntity.ok("Subuser key change successfully.");
+        });
     }
 
     /*
@@ -460,15 +762,16 @@ public class RGWController {
             @ApiResponse(responseCode = "200", description = "S3Credential 리스트 반환 성공", content = @Content(mediaType = "application/json", schema = @Schema(implementation = S3Credential.class))),
             @ApiResponse(responseCode = "404", description = "존재하지 않는 리소스 접근")})
     @GetMapping("/credential/user/{uid}/list")
-    public ResponseEntity<?> getCredential(@Parameter(name = "uid", description = "유저 아이디") @PathVariable String uid,
-                                           @GetIdFromToken Map<String, Object> userInfo) {
-
-        if (rgwService.validAccess(userInfo, PF_ADMIN)) {
-
-            return ResponseEntity.ok(rgwService.getS3CredentialList(uid));
-        } else {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-        }
+    public CompletableFuture<ResponseEntity<?>> getCredential(@Parameter(name = "uid", description = "유저 아이디") @PathVariable String uid,
+                                                              @GetIdFromToken UserPrincipal userInfo) {
+        return bulkheads.admin(() -> {
+            if (rgwService.validAccess(userInfo, PF_ADMIN)) {
+
+                return ResponseEntity.ok(rgwService.getS3CredentialList(uid));
+            } else {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            }
+        });
     }
 
     /*
@@ -479,13 +782,15 @@ public class RGWController {
             @ApiResponse(responseCode = "200", description = "S3Credential 생성 성공", content = @Content(mediaType = "application/json", schema = @Schema(implementation = S3Credential.class))),
             @ApiResponse(responseCode = "404", description = "존재하지 않는 리소스 접근")})
     @PostMapping("/credential/user/{uid}/create")
-    public ResponseEntity<List<S3Credential>> createCredential(@Parameter(name = "uid", description = "유저 아이디") @PathVariable String uid,
-                                                               @GetIdFromToken Map<String, Object> userInfo) {
-        if(rgwService.validAccess(userInfo, PF_ADMIN)){
-            return ResponseEntity.ok(rgwService.createS3Credential(uid));
-        }else {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-        }
+    public CompletableFuture<ResponseEntity<List<S3Credential>>> createCredential(@Parameter(name = "uid", description = "유저 아이디") @PathVariable String uid,
+                                                                                  @GetIdFromToken UserPrincipal userInfo) {
+        return bulkheads.admin(() -> {
+            if(rgwService.validAccess(userInfo, PF_ADMIN)){
+                return ResponseEntity.ok(rgwService.createS3Credential(uid));
+            }else {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            }
+        });
     }
 
     // TODO: 자신의 subuser만 제어 가능하도록 valid access key 함수 넣어야 하는지?
@@ -497,7 +802,7 @@ public class RGWController {
             @ApiResponse(responseCode = "200", description = "S3Credential 리스트 삭제 성공"),
             @ApiResponse(responseCode = "404", description = "존재하지 않는 리소스 접근")})
     @PostMapping("/credential/user/remove")
-    public ResponseEntity<?> removeCredential(@GetIdFromToken Map<String, Object> userInfo) {
+    public ResponseEntity<?> removeCredential(@GetIdFromToken UserPrincipal userInfo) {
         if(rgwService.validAccess(userInfo, PF_ADMIN)){
 //            rgwService.removeS3Credential(uid, key.getAccessKey());
             return ResponseEntity.ok("Delete credential successfully.");
@@ -510,32 +815,36 @@ public class RGWController {
             @ApiResponse(responseCode = "200", description = "서브 유저 리스트 출력 성공"),
             @ApiResponse(responseCode = "404", description = "존재하지 않는 리소스 접근")})
     @GetMapping("/credential/user/sub-user/list")
-    public ResponseEntity<Map<String, String>> subUserList(@GetIdFromToken Map<String, Object> userInfo) {
-        return ResponseEntity.ok(rgwService.subUserList((String) userInfo.get("userId")));
+    public CompletableFuture<ResponseEntity<Map<String, String>>> subUserList(@GetIdFromToken UserPrincipal userInfo) {
+        return bulkheads.admin(() -> ResponseEntity.ok(rgwService.subUserList(userInfo.getUserId())));
     }
 
     @Operation(summary = "유저 삭제", description = "유저 아이디를 입력받아 유저를 삭제합니다", responses = {
             @ApiResponse(responseCode = "200", description = "유저 삭제 성공"),
             @ApiResponse(responseCode = "404", description = "존재하지 않는 리소스 접근")})
     @PostMapping("/user/remove")
-    public ResponseEntity<Map<String, String>> removeUser(@GetIdFromToken Map<String, Object> userInfo,
-                                                          @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "유저 아이디") @RequestBody String userId){
-        if(rgwService.validAccess(userInfo, PF_ADMIN)){
-            return ResponseEntity.ok(rgwService.removeUser(userId));
-        }else{
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-        }
+    public CompletableFuture<ResponseEntity<Map<String, String>>> removeUser(@GetIdFromToken UserPrincipal userInfo,
+                                                                             @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "유저 아이디") @RequestBody String userId){
+        return bulkheads.admin(() -> {
+            if(rgwService.validAccess(userInfo, PF_ADMIN)){
+                return ResponseEntity.ok(rgwService.removeUser(userId));
+            }else{
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            }
+        });
     }
 
     @Operation(summary = "유저 생성", description = "유저를 생성합니다")
     @PostMapping("/user/create")
-    public ResponseEntity<User> createUser(@io.swagger.v3.oas.annotations.parameters.RequestBody(description = "유저") @RequestBody SUser user,
-                                           @GetIdFromToken Map<String, Object> userInfo) {
-        if (rgwService.validAccess(userInfo, PF_ADMIN)) {
-            return ResponseEntity.ok(rgwService.createUser(user));
-        } else {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-        }
+    public CompletableFuture<ResponseEntity<User>> createUser(@io.swagger.v3.oas.annotations.parameters.RequestBody(description = "유저") @RequestBody SUser user,
+                                                              @GetIdFromToken UserPrincipal userInfo) {
+        return bulkheads.admin(() -> {
+            if (rgwService.validAccess(userInfo, PF_ADMIN)) {
+                return ResponseEntity.ok(rgwService.createUser(user));
+            } else {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            }
+        });
     }
 
     /*
@@ -545,60 +854,157 @@ public class RGWController {
             @ApiResponse(responseCode = "200", description = "버킷 사용도 출력 성공"),
             @ApiResponse(responseCode = "404", description = "존재하지 않는 리소스 접근")})
     @GetMapping("/monitoring/{bucketName}/get")
-    public ResponseEntity<Map<String, String>> quotaUtilizationInfo(@Parameter(name = "bucketName", description = "버킷 이름") @PathVariable String bucketName) {
-        return ResponseEntity.ok(rgwService.quotaUtilizationInfo(bucketName));
+    public CompletableFuture<ResponseEntity<Map<String, String>>> quotaUtilizationInfo(@Parameter(name = "bucketName", description = "버킷 이름") @PathVariable String bucketName) {
+        return bulkheads.admin(() -> ResponseEntity.ok(rgwService.quotaUtilizationInfo(bucketName)));
     }
 
     @Operation(summary = "유저 크기 쿼타 리스트 출력", description = "유저의 크기 쿼타 리스트를 출력합니다", responses = {
             @ApiResponse(responseCode = "200", description = "쿼타 리스트 출력 성공"),
             @ApiResponse(responseCode = "404", description = "존재하지 않는 리소스 접근")})
     @GetMapping("/permission/quota/user/size/list")
-    public ResponseEntity<Map<String, Map<String, Quota>>> usersQuotaList(@GetIdFromToken Map<String, Object> userInfo){
-        if(rgwService.validAccess(userInfo, PF_ADMIN)){
-            return ResponseEntity.ok(rgwService.usersQuota());
-        }else{
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-        }
+    public CompletableFuture<ResponseEntity<SAdminList<Map<String, Quota>>>> usersQuotaList(@GetIdFromToken UserPrincipal userInfo){
+        return bulkheads.admin(() -> {
+            if(rgwService.validAccess(userInfo, PF_ADMIN)){
+                return snapshotResponse(adminSnapshotService.usersQuota());
+            }else{
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            }
+        });
     }
 
     @Operation(summary = "모든 유저 전송 속도 출력", description = "모든 유저의 전송 속도를 출력합니다", responses = {
             @ApiResponse(responseCode = "200", description = "전송 속도 출력 성공"),
             @ApiResponse(responseCode = "404", description = "존재하지 않는 리소스 접근")})
     @GetMapping("/permission/quota/user/rate-limit/list")
-    public ResponseEntity<Map<String, Map<String, String>>> usersRateLimit(@GetIdFromToken Map<String, Object> userInfo){
-        if(rgwService.validAccess(userInfo, PF_ADMIN)){
-            return ResponseEntity.ok(rgwService.usersRateLimit());
-        }else{
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-        }
+    public CompletableFuture<ResponseEntity<SAdminList<Map<String, String>>>> usersRateLimit(@GetIdFromToken UserPrincipal userInfo){
+        return bulkheads.admin(() -> {
+            if(rgwService.validAccess(userInfo, PF_ADMIN)){
+                return snapshotResponse(adminSnapshotService.usersRateLimit());
+            }else{
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            }
+        });
     }
 
     @Operation(summary = "모든 유저 버킷 쿼타 출력", description = "모든 유저의 버킷 쿼타를 출력합니다", responses = {
             @ApiResponse(responseCode = "200", description = "버킷 쿼타 출력 성공"),
             @ApiResponse(responseCode = "404", description = "존재하지 않는 리소스 접근")})
     @GetMapping("/permission/quota/bucket/size/list")
-    public ResponseEntity<Map<String, Map<String, Quota>>> bucketsQuotaList(@GetIdFromToken Map<String, Object> userInfo){
-        if(rgwService.validAccess(userInfo, PF_ADMIN)){
-            return ResponseEntity.ok(rgwService.bucketsQuota());
-        }else{
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-        }
+    public CompletableFuture<ResponseEntity<SAdminList<Map<String, Quota>>>> bucketsQuotaList(@GetIdFromToken UserPrincipal userInfo){
+        return bulkheads.admin(() -> {
+            if(rgwService.validAccess(userInfo, PF_ADMIN)){
+                return snapshotResponse(adminSnapshotService.bucketsQuota());
+            }else{
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            }
+        });
     }
 
     @Operation(summary = "유저의 버킷 쿼타 출력", description = "해당 토큰 유저의 버킷 쿼타를 출력합니다", responses = {
             @ApiResponse(responseCode = "200", description = "버킷 쿼타 출력 성공"),
             @ApiResponse(responseCode = "404", description = "존재하지 않는 리소스 접근")})
     @PostMapping("/permission/quota/bucket/size/{uid}/get")
-    public ResponseEntity<Quota> bucketsQuota(@GetIdFromToken Map<String, Object> userInfo,
-                                              @Parameter(name = "uid", description = "유저 아이디")@PathVariable String uid){
-        return ResponseEntity.ok(rgwService.bucketsQuota(uid));
+    public CompletableFuture<ResponseEntity<Quota>> bucketsQuota(@GetIdFromToken UserPrincipal userInfo,
+                                                                 @Parameter(name = "uid", description = "유저 아이디")@PathVariable String uid){
+        return bulkheads.admin(() -> ResponseEntity.ok(rgwService.bucketsQuota(uid)));
+    }
+
+    @Operation(summary = "S3 클라이언트 캐시 통계 출력", description = "access key 별로 재사용되는 S3 클라이언트의 hit/miss 수와 살아있는 클라이언트 수를 출력합니다", responses = {
+            @ApiResponse(responseCode = "200", description = "S3 클라이언트 통계 출력 성공"),
+            @ApiResponse(responseCode = "404", description = "존재하지 않는 리소스 접근")})
+    @GetMapping("/monitoring/s3-client/stats")
+    public ResponseEntity<Map<String, Long>> s3ClientStats(@GetIdFromToken UserPrincipal userInfo) {
+        if (rgwService.validAccess(userInfo, PF_ADMIN)) {
+            return ResponseEntity.ok(rgwService.s3ClientStats());
+        } else {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+    }
+
+    @Operation(summary = "prefix 인덱스 통계 출력", description = "폴더 조회에 사용하는 prefix 인덱스의 버킷 수와 오브젝트 수를 출력합니다", responses = {
+            @ApiResponse(responseCode = "200", description = "prefix 인덱스 통계 출력 성공"),
+            @ApiResponse(responseCode = "404", description = "존재하지 않는 리소스 접근")})
+    @GetMapping("/monitoring/prefix-index/stats")
+    public ResponseEntity<Map<String, Long>> prefixIndexStats(@GetIdFromToken UserPrincipal userInfo) {
+        if (rgwService.validAccess(userInfo, PF_ADMIN)) {
+            return ResponseEntity.ok(rgwService.prefixIndexStats());
+        } else {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+    }
+
+    @Operation(summary = "백엔드 회로 차단기 상태 출력", description = "RGW S3, RGW 관리 API, Ceph 대시보드, Keycloak 의 회로 상태와 마지막 상태 확인 결과를 출력합니다", responses = {
+            @ApiResponse(responseCode = "200", description = "회로 차단기 상태 출력 성공"),
+            @ApiResponse(responseCode = "404", description = "존재하지 않는 리소스 접근")})
+    @GetMapping("/monitoring/backends")
+    public ResponseEntity<Map<String, Map<String, Object>>> backendStats(@GetIdFromToken UserPrincipal userInfo) {
+        if (rgwService.validAccess(userInfo, PF_ADMIN)) {
+            return ResponseEntity.ok(backendCircuitBreakers.stats());
+        } else {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+    }
+
+    @Operation(summary = "실행 풀 상태 출력", description = "데이터, 관리 API, 대시보드 실행 풀의 사용 중인 스레드 수, 대기열 길이, 거절 수를 출력합니다", responses = {
+            @ApiResponse(responseCode = "200", description = "실행 풀 상태 출력 성공"),
+            @ApiResponse(responseCode = "404", description = "존재하지 않는 리소스 접근")})
+    @GetMapping("/monitoring/bulkheads")
+    public ResponseEntity<Map<String, Map<String, Long>>> bulkheadStats(@GetIdFromToken UserPrincipal userInfo) {
+        if (rgwService.validAccess(userInfo, PF_ADMIN)) {
+            return ResponseEntity.ok(bulkheads.stats());
+        } else {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+    }
+
+    @Operation(summary = "버킷 사용량 추이 출력", description = "버킷의 사용량, 오브젝트 수 추이와 쿼타 도달 예상 시각을 출력합니다 (관리자 또는 버킷 소유자)", responses = {
+            @ApiResponse(responseCode = "200", description = "사용량 추이 출력 성공", content = @Content(mediaType = "application/json", schema = @Schema(implementation = SQuotaHistory.class))),
+            @ApiResponse(responseCode = "404", description = "존재하지 않는 리소스 접근")})
+    @GetMapping("/monitoring/quota-history/bucket/{bucket}")
+    public ResponseEntity<SQuotaHistory> bucketQuotaHistory(@GetIdFromToken UserPrincipal userInfo,
+                                                            @Parameter(name = "bucket", description = "버킷 이름") @PathVariable("bucket") String bucketName,
+                                                            @Parameter(name = "resolution", description = "해상도 (raw, 5m, 1h)") @RequestParam(value = "resolution", defaultValue = "raw") String resolution) {
+        boolean owner = quotaHistoryCollector.ownerOf(bucketName).map(userInfo.getUserId()::equals).orElse(false);
+        if (owner || rgwService.validAccess(userInfo, PF_ADMIN)) {
+            return ResponseEntity.ok(quotaHistoryCollector.bucketHistory(bucketName, QuotaHistoryCollector.Resolution.of(resolution)));
+        } else {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+    }
+
+    @Operation(summary = "유저 사용량 추이 출력", description = "유저가 가진 모든 버킷의 사용량 합계 추이와 유저 쿼타 도달 예상 시각을 출력합니다 (관리자 또는 본인)", responses = {
+            @ApiResponse(responseCode = "200", description = "사용량 추이 출력 성공", content = @Content(mediaType = "application/json", schema = @Schema(implementation = SQuotaHistory.class))),
+            @ApiResponse(responseCode = "404", description = "존재하지 않는 리소스 접근")})
+    @GetMapping("/monitoring/quota-history/user/{uid}")
+    public ResponseEntity<SQuotaHistory> userQuotaHistory(@GetIdFromToken UserPrincipal userInfo,
+                                                          @Parameter(name = "uid", description = "유저 id") @PathVariable("uid") String uid,
+                                                          @Parameter(name = "resolution", description = "해상도 (raw, 5m, 1h)") @RequestParam(value = "resolution", defaultValue = "raw") String resolution) {
+        if (uid.equals(userInfo.getUserId()) || rgwService.validAccess(userInfo, PF_ADMIN)) {
+            return ResponseEntity.ok(quotaHistoryCollector.userHistory(uid, QuotaHistoryCollector.Resolution.of(resolution)));
+        } else {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
     }
 
     @Operation(summary = "유저의 모든 버킷 사용도 출력", description = "해당 토큰 유저의 모든 버킷 사용도를 출력합니다", responses = {
             @ApiResponse(responseCode = "200", description = "버킷 사용도 출력 성공"),
             @ApiResponse(responseCode = "404", description = "존재하지 않는 리소스 접근")})
     @GetMapping("/monitoring/list")
-    public ResponseEntity<Map<String, String>> quotaUtilizationList(@GetIdFromToken Map<String, Object> userInfo) {
-        return ResponseEntity.ok(rgwService.quotaUtilizationList((S3Credential) userInfo.get("credential")));
+    public CompletableFuture<ResponseEntity<Map<String, String>>> quotaUtilizationList(@GetIdFromToken UserPrincipal userInfo) {
+        return bulkheads.admin(() -> {
+            Map<String, String> utilizations = adminSnapshotService.quotaUtilizationList(userInfo.getUserId());
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.AGE, Long.toString(adminSnapshotService.age() / 1000))
+                    .body(utilizations);
+        });
+    }
+
+    /*
+        스냅샷에서 읽은 응답에 Age 헤더(초)를 붙임
+     */
+    private static <T> ResponseEntity<SAdminList<T>> snapshotResponse(SAdminList<T> list) {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.AGE, Long.toString(list.getSnapshotAge() / 1000))
+                .body(list);
     }
 }
\ No newline at end of file
@@ -1,48 +1,72 @@
 package com.etri.datalake.objectstorage.rgw;
 
-import com.amazonaws.ClientConfiguration;
-import com.amazonaws.auth.AWSCredentials;
-import com.amazonaws.auth.AWSStaticCredentialsProvider;
-import com.amazonaws.auth.BasicAWSCredentials;
-import com.amazonaws.client.builder.AwsClientBuilder;
-import com.amazonaws.regions.Regions;
+import com.amazonaws.AmazonServiceException;
 import com.amazonaws.services.s3.AmazonS3;
-import com.amazonaws.services.s3.AmazonS3ClientBuilder;
 import com.amazonaws.services.s3.model.*;
+import com.etri.datalake.auth.UserPrincipal;
 import com.etri.datalake.objectstorage.constants.*;
 import com.etri.datalake.objectstorage.constants.SQuota;
 import com.etri.datalake.objectstorage.dashboard.DSService;
 import com.etri.datalake.config.objectstorage.ObjectStorageConfig;
+import com.etri.datalake.objectstorage.job.Job;
+import com.etri.datalake.objectstorage.job.JobRegistry;
+import com.etri.datalake.objectstorage.utils.Futures;
+import com.etri.datalake.objectstorage.utils.ServletUploadContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.apache.commons.fileupload.FileItemIterator;
+import org.apache.commons.fileupload.FileItemStream;
+import org.apache.commons.fileupload.FileUpload;
+import org.apache.commons.fileupload.FileUploadException;
+import org.apache.commons.fileupload.util.Streams;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import org.twonote.rgwadmin4j.RgwAdmin;
-import org.twonote.rgwadmin4j.RgwAdminBuilder;
 import org.twonote.rgwadmin4j.model.*;
 import software.amazon.awssdk.core.exception.SdkClientException;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class RGWService {
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final byte[] NEW_LINE = "\n".getBytes(StandardCharsets.UTF_8);
+
     private final ObjectStorageConfig objectStorageConfig;
-    private RgwAdmin rgwAdmin;
-    private SodasRgwAdmin sodasRgwAdmin;
     private final DSService dsService;
+    private final S3CredentialCache s3CredentialCache;
+    private final S3ClientRegistry s3ClientRegistry;
+    private final MultipartUploader multipartUploader;
+    private final ObjectDownloader objectDownloader;
+    private final PrefixIndexRegistry prefixIndexRegistry;
+    private final BucketRemover bucketRemover;
+    private final AclPropagator aclPropagator;
+    private final BucketPolicySharing bucketPolicySharing;
+    private final BucketGrantCache bucketGrantCache;
+    private final AdminFanOut adminFanOut;
+    private final AsyncRgwAdmin asyncRgwAdmin;
+    private final JobRegistry jobRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+
+    @Value("${object-storage.sharing.default-mode:ACL}")
+    private BucketPolicySharing.Mode defaultSharingMode;
 
     private RgwAdmin getRgwAdmin() {
-        if (this.rgwAdmin == null) {
-            rgwAdmin = new RgwAdminBuilder().accessKey(objectStorageConfig.getRgwAdminAccess())
-                    .secretKey(objectStorageConfig.getRgwAdminSecret())
-                    .endpoint(objectStorageConfig.getRgwEndpoint() + "/admin")
-                    .build();
-        }
-        return rgwAdmin;
+        return asyncRgwAdmin.rgwAdmin();
     }
 
     public void linkBucket(){
@@ -58,10 +82,7 @@ public class RGWService {
     }
 
     private SodasRgwAdmin getSodasRgwAdmin(){
-        if(this.sodasRgwAdmin == null){
-            sodasRgwAdmin = new SodasRgwAdmin(objectStorageConfig);
-        }
-        return sodasRgwAdmin;
+        return asyncRgwAdmin.sodasRgwAdmin();
     }
 
     public List<SBucket> getBuckets(S3Credential key) {
@@ -78,123 +99,258 @@ public class RGWService {
 
     public List<BObject> getObjects(S3Credential key, String bucketName) {
         AmazonS3 conn = getClient(key);
-        ObjectListing objects = conn.listObjects(bucketName);
 
         List<BObject> objectList = new ArrayList<>();
 
-        do {
-            for (S3ObjectSummary objectSummary : objects.getObjectSummaries()) {
-                objectList.add(new BObject(objectSummary.getKey(), objectSummary.getSize(), objectSummary.getLastModified()));
-//                System.out.println(objectSummary.getKey() + " " + conn.getObjectAcl(bucketName, objectSummary.getKey()));
+        forEachObjectPage(conn, bucketName, null, page -> {
+            for (S3ObjectSummary objectSummary : page.getObjectSummaries()) {
+                objectList.add(toBObject(objectSummary));
             }
-            objects = conn.listNextBatchOfObjects(objects);
-        } while (objects.isTruncated());
+        });
         return objectList;
     }
 
-    public Bucket createBucket(S3Credential key, String bucketName) {
+    /*
+        continuation token 기반 오브젝트 목록 한 페이지 조회
+        token 은 RGW 가 돌려준 값을 그대로 전달하며, 첫 페이지는 null 로 요청한다.
+     */
+    public SObjectPage getObjectPage(S3Credential key, String bucketName, String prefix, String continuationToken, int pageSize) {
         AmazonS3 conn = getClient(key);
-        Bucket newBucket = conn.createBucket(bucketName);
 
-        return newBucket;
+        ListObjectsV2Request request = new ListObjectsV2Request()
+                .withBucketName(bucketName)
+                .withPrefix(prefix)
+                .withContinuationToken(continuationToken)
+                .withMaxKeys(Math.max(1, Math.min(pageSize, MAX_PAGE_SIZE)));
+        ListObjectsV2Result result = conn.listObjectsV2(request);
+
+        List<BObject> objectList = new ArrayList<>(result.getObjectSummaries().size());
+        for (S3ObjectSummary objectSummary : result.getObjectSummaries()) {
+            objectList.add(toBObject(objectSummary));
+        }
+        return new SObjectPage(objectList, result.getNextContinuationToken(), result.isTruncated());
     }
 
-    public void removeBucket(S3Credential key, String bucketName) {
+    /*
+        오브젝트 목록을 NDJSON (한 줄에 오브젝트 하나) 으로 출력
+        RGW 에서 페이지를 받을 때마다 바로 쓰고 flush 하므로 버킷 크기와 상관없이 메모리 사용량이 일정하다.
+     */
+    public void streamObjects(S3Credential key, String bucketName, String prefix, OutputStream outputStream) throws IOException {
         AmazonS3 conn = getClient(key);
+        int[] writtenPages = {0};
 
-        List<BObject> objectList = getObjects(key, bucketName);
+        try {
+            forEachObjectPage(conn, bucketName, prefix, page -> {
+                try {
+                    for (S3ObjectSummary objectSummary : page.getObjectSummaries()) {
+                        outputStream.write(objectMapper.writeValueAsBytes(toBObject(objectSummary)));
+                        outputStream.write(NEW_LINE);
+                    }
+                    outputStream.flush();
+                    writtenPages[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // 클라이언트 연결이 끊기면 남은 페이지는 조회하지 않음
+            throw e.getCause();
+        } catch (RuntimeException e) {
+            // 이미 응답을 보내기 시작했으면 상태 코드를 바꿀 수 없으므로, 목록이 잘렸다는 error 레코드를 마지막 줄로 씀
+            if (writtenPages[0] > 0) {
+                writeErrorRecord(outputStream, e);
+            }
+            throw e;
+        }
+    }
 
-        for (BObject bObject : objectList) {
-            conn.deleteObject(bucketName, bObject.getObjectName());
+    private void writeErrorRecord(OutputStream outputStream, RuntimeException e) {
+        Map<String, Object> error = new LinkedHashMap<>();
+        if (e instanceof AmazonServiceException serviceException) {
+            error.put("status", serviceException.getStatusCode());
+            error.put("code", serviceException.getErrorCode());
+        } else {
+            error.put("code", e.getClass().getSimpleName());
+        }
+        error.put("message", e.getMessage());
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(Map.of("error", error)));
+            outputStream.write(NEW_LINE);
+            outputStream.flush();
+        } catch (IOException ignored) {
+            // 연결이 이미 끊긴 경우, 원래 예외를 그대로 전달
         }
+    }
+
+    private void forEachObjectPage(AmazonS3 conn, String bucketName, String prefix, Consumer<ListObjectsV2Result> consumer) {
+        ListObjectsV2Request request = new ListObjectsV2Request()
+                .withBucketName(bucketName)
+                .withPrefix(prefix)
+                .withMaxKeys(MAX_PAGE_SIZE);
+        ListObjectsV2Result result;
 
-        conn.deleteBucket(bucketName);
+        do {
+            result = conn.listObjectsV2(request);
+            consumer.accept(result);
+            request.setContinuationToken(result.getNextContinuationToken());
+        } while (result.isTruncated());
+    }
+
+    private static BObject toBObject(S3ObjectSummary objectSummary) {
+        return new BObject(objectSummary.getKey(), objectSummary.getSize(), objectSummary.getLastModified());
+    }
+
+    public Bucket createBucket(S3Credential key, String bucketName) {
+        AmazonS3 conn = getClient(key);
+        Bucket newBucket = conn.createBucket(bucketName);
+
+        if (defaultSharingMode == BucketPolicySharing.Mode.POLICY) {
+            bucketPolicySharing.enable(conn, bucketName);
+        }
+        eventPublisher.publishEvent(new AdminDataChangedEvent(AdminDataChangedEvent.Kind.BUCKET, bucketName));
+        return newBucket;
+    }
+
+    /*
+        버킷 삭제를 백그라운드 작업으로 시작하고 바로 반환
+        진행 상황은 반환된 작업 id 로 조회한다.
+     */
+    public SJob removeBucket(UserPrincipal userInfo, String bucketName) {
+        S3Credential key = userInfo.getCredential();
+
+        Job job = jobRegistry.submit("bucket-remove", userInfo.getUserId(), bucketName, bucketJob -> {
+            try {
+                bucketRemover.remove(key, bucketName, bucketJob);
+            } finally {
+                prefixIndexRegistry.bucketRemoved(bucketName);
+                bucketPolicySharing.bucketRemoved(bucketName);
+                bucketGrantCache.invalidate(bucketName);
+                eventPublisher.publishEvent(new AdminDataChangedEvent(AdminDataChangedEvent.Kind.BUCKET, bucketName));
+            }
+        });
+        return job.snapshot();
     }
 
     public void removeObject(S3Credential key, String bucketName, String object) {
         AmazonS3 conn = getClient(key);
 
         conn.deleteObject(bucketName, object);
+        prefixIndexRegistry.objectRemoved(bucketName, object);
     }
 
     private AmazonS3 getClient(S3Credential key) {
-        String accessKey = key.getAccessKey();
-        String secretKey = key.getSecretKey();
+        return s3ClientRegistry.getClient(key);
+    }
+
+    public Map<String, Long> s3ClientStats() {
+        return s3ClientRegistry.stats();
+    }
+
+    public Map<String, Long> prefixIndexStats() {
+        return prefixIndexRegistry.stats();
+    }
+
+    public SJob getJob(UserPrincipal userInfo, String jobId) {
+        return jobRegistry.find(userInfo.getUserId(), jobId).snapshot();
+    }
+
+    public SJob resumeJob(UserPrincipal userInfo, String jobId) {
+        return jobRegistry.resume(userInfo.getUserId(), jobId).snapshot();
+    }
 
-        AWSCredentials awsCredentials = new BasicAWSCredentials(accessKey, secretKey);
-        ClientConfiguration clientConfiguration = new ClientConfiguration();
-        return AmazonS3ClientBuilder
-                .standard()
-                .withEndpointConfiguration(new AwsClientBuilder.EndpointConfiguration(objectStorageConfig.getRgwEndpoint(), Regions.DEFAULT_REGION.getName()))
-                .withPathStyleAccessEnabled(true)
-                .withClientConfiguration(clientConfiguration)
-                .withCredentials(new AWSStaticCredentialsProvider(awsCredentials))
-                .build();
+    public List<SJob> getJobs(UserPrincipal userInfo) {
+        return jobRegistry.findByOwner(userInfo.getUserId()).stream()
+                .map(Job::snapshot)
+                .collect(Collectors.toList());
     }
 
     public void objectUpload(MultipartFile file, String bucketName, S3Credential key, String objectKey) throws IOException {
         AmazonS3 conn = getClient(key);
-//        ByteArrayInputStream input = new ByteArrayInputStream(file.getBytes());
-//        byte[] bytes = input.readAllBytes();
         String objectKeyName = (objectKey == null) ? file.getOriginalFilename() : objectKey;
-        long partSize = 30 * 1024 * 1024;
-        long contentLength = file.getSize();
-        int partCount = (int) Math.ceil((double) contentLength / partSize);
 
-        List<PartETag> partETags = new ArrayList<>();
+        try (InputStream inputStream = file.getInputStream()) {
+            multipartUploader.upload(conn, bucketName, objectKeyName, inputStream, objectAcl(conn, key, bucketName));
+        }
 
-        String uploadId = initiateMultipartUpload(bucketName, objectKeyName, conn);
+        afterObjectUpload(conn, bucketName, objectKeyName);
+    }
 
+    /*
+        요청 본문을 임시 파일 없이 그대로 RGW 멀티파트 업로드로 전달
+     */
+    public void objectUpload(InputStream inputStream, String bucketName, S3Credential key, String objectKey) throws IOException {
+        AmazonS3 conn = getClient(key);
 
-        for (int i = 0; i < partCount; i++) {
-            long start = i * partSize;
-            long end = Math.min(start + partSize, contentLength);
+        multipartUploader.upload(conn, bucketName, objectKey, inputStream, objectAcl(conn, key, bucketName));
 
-            try (InputStream inputStream = file.getInputStream()) {
-                long skipBytes = inputStream.skip(start);
-                if (skipBytes != start) {
-                    throw new IOException("Could not skip to the desired position.");
-                }
+        afterObjectUpload(conn, bucketName, objectKey);
+    }
 
-                byte[] buffer = new byte[(int) (end - start)];
-                int bytesRead = inputStream.read(buffer);
+    /*
+        multipart/form-data 본문을 commons-fileupload 스트리밍 API 로 읽어 file 파트를 바로 업로드
+        objectKey 폼 필드는 file 파트보다 앞에 있어야 하며, 없으면 파일 이름을 키로 사용
+     */
+    public String objectStreamUpload(HttpServletRequest request, String bucketName, S3Credential key) throws IOException, FileUploadException {
+        FileItemIterator iterator = new FileUpload().getItemIterator(new ServletUploadContext(request));
+        String objectKey = null;
 
-                UploadPartRequest uploadPartRequest = new UploadPartRequest()
-                        .withBucketName(bucketName)
-                        .withKey(objectKeyName)
-                        .withUploadId(uploadId)
-                        .withPartNumber(i + 1)
-                        .withInputStream(new ByteArrayInputStream(buffer))
-                        .withPartSize(bytesRead);
+        while (iterator.hasNext()) {
+            FileItemStream item = iterator.next();
 
-                UploadPartResult uploadPartResult = conn.uploadPart(uploadPartRequest);
-                partETags.add(uploadPartResult.getPartETag());
+            if (item.isFormField()) {
+                if ("objectKey".equals(item.getFieldName())) {
+                    try (InputStream inputStream = item.openStream()) {
+                        objectKey = Streams.asString(inputStream, StandardCharsets.UTF_8.name());
+                    }
+                }
+                continue;
             }
-        }
-
 
-        CompleteMultipartUploadRequest completeRequest = new CompleteMultipartUploadRequest()
-                .withBucketName(bucketName)
-                .withKey(objectKeyName)
-                .withUploadId(uploadId)
-                .withPartETags(partETags);
+            if ("file".equals(item.getFieldName())) {
+                String objectKeyName = (objectKey == null || objectKey.isEmpty()) ? item.getName() : objectKey;
+                try (InputStream inputStream = item.openStream()) {
+                    objectUpload(inputStream, bucketName, key, objectKeyName);
+                }
+                return objectKeyName;
+            }
+        }
 
-        conn.completeMultipartUpload(completeRequest);
+        throw new FileUploadException("file part is missing");
+    }
 
-        addUserPermissionToObject(conn, bucketName, objectKeyName);
+    /*
+        업로드 요청에 함께 보낼 오브젝트 ACL (소유자 + 버킷 grant)
+        정책 모드 버킷은 버킷 정책이 오브젝트에도 적용되므로 null 을 반환한다.
+        버킷 ACL 을 읽을 수 없는 유저도 null 을 반환하며, 이때 오브젝트는 RGW 기본 ACL 로 저장된다.
+     */
+    public AccessControlList objectAcl(AmazonS3 conn, S3Credential key, String bucketName) {
+        if (sharingMode(conn, bucketName) == BucketPolicySharing.Mode.POLICY) {
+            return null;
+        }
+        return bucketGrantCache.objectAcl(conn, key, bucketName);
     }
 
-    public void addUserPermissionToObject(AmazonS3 conn, String bucketName, String filename){
-        AccessControlList accessControlList = conn.getBucketAcl(bucketName);
-        List<Grant> grants = accessControlList.getGrantsAsList();
-        AccessControlList objectAcl = conn.getObjectAcl(bucketName, filename);
+    /*
+        버킷 공유 모드, 호출한 유저가 정책을 읽을 수 없으면 버킷 소유자 크레덴셜로 확인
+     */
+    private BucketPolicySharing.Mode sharingMode(AmazonS3 conn, String bucketName) {
+        return bucketPolicySharing.getMode(conn, bucketName, () -> bucketOwnerClient(bucketName));
+    }
 
-        for(Grant grant : grants){
-            Grant newGrant = new Grant(new CanonicalGrantee(grant.getGrantee().getIdentifier()), grant.getPermission());
-            objectAcl.grantAllPermissions(newGrant);
-        }
+    private AmazonS3 bucketOwnerClient(String bucketName) {
+        S3Credential ownerCredential = findBucketInfo(bucketName)
+                .map(BucketInfo::getOwner)
+                .map(this::getS3Credential)
+                .orElse(null);
+        return (ownerCredential == null) ? null : getClient(ownerCredential);
+    }
 
-        conn.setObjectAcl(bucketName, filename, objectAcl);
+    /*
+        업로드가 끝난 오브젝트를 prefix 인덱스에 반영
+     */
+    public void afterObjectUpload(AmazonS3 conn, String bucketName, String objectKey) {
+        // 인덱싱 중인 버킷도 반영해야 하므로 반영 여부는 레지스트리가 판단
+        prefixIndexRegistry.objectPut(bucketName, objectKey, () -> conn.getObjectMetadata(bucketName, objectKey));
     }
 
     public String initiateMultipartUpload(String bucketName, String key, AmazonS3 conn){
@@ -203,8 +359,8 @@ public class RGWService {
         return initiateResult.getUploadId();
     }
 
-    public boolean validAccess(Map<String, Object> userInfo, String access) {
-        return Objects.equals(((ArrayList<String>) userInfo.get("group")).get(0), access);
+    public boolean validAccess(UserPrincipal userInfo, String access) {
+        return userInfo.hasGroup(access);
     }
 
     public URL objectDownUrl(S3Credential key, String bucketName, String object) {
@@ -215,6 +371,13 @@ public class RGWService {
         return conn.generatePresignedUrl(request);
     }
 
+    public void objectDownload(S3Credential key, String bucketName, String object,
+                               HttpServletRequest request, HttpServletResponse response) throws IOException {
+        AmazonS3 conn = getClient(key);
+
+        objectDownloader.download(conn, bucketName, object, request, response);
+    }
+
     public Map<String, Long> getIndividualBucketQuota(String bucketName) {
         RgwAdmin rgwAdmin = getRgwAdmin();
 
@@ -231,9 +394,7 @@ public class RGWService {
     }
 
     public BucketInfo getBucketInfo(String bucketName){
-        RgwAdmin rgwAdmin = getRgwAdmin();
-
-        return rgwAdmin.getBucketInfo(bucketName).get();
+        return Futures.join(asyncRgwAdmin.getBucketInfo(bucketName)).get();
     }
 
 
@@ -244,27 +405,74 @@ public class RGWService {
         //    && rgwAdmin.getUserQuota(uid).get().getMaxObjects() >= Long.parseLong(quota.getMax_objects())){
         rgwAdmin.setIndividualBucketQuota(uid, bucketName, Long.parseLong(quota.getMax_objects()), Long.parseLong(quota.getMax_size_kb()));
         //}
+        eventPublisher.publishEvent(new AdminDataChangedEvent(AdminDataChangedEvent.Kind.BUCKET, bucketName));
 
         return quota;
     }
 
     public Map<String, String> quotaUtilizationInfo(String bucketName) {
-        RgwAdmin rgwAdmin = getRgwAdmin();
         Map<String, String> result = new HashMap<>();
+        result.put("result", findBucketInfo(bucketName).map(RGWService::utilization).orElse("-1%"));
+        return result;
+    }
 
-        if(rgwAdmin.getBucketInfo(bucketName).isPresent()) {
-            Optional<BucketInfo> bucketInfo = rgwAdmin.getBucketInfo(bucketName);
-            BucketInfo bucketInfo1 = bucketInfo.get();
+    public Optional<BucketInfo> findBucketInfo(String bucketName) {
+        return Futures.join(asyncRgwAdmin.getBucketInfo(bucketName));
+    }
 
-            if(bucketInfo1.getUsage().getRgwMain() != null) {
-                double usage = (((double) bucketInfo1.getUsage().getRgwMain().getSize_actual() / (bucketInfo1.getBucketQuota().getMaxSizeKb() * 1024)) * 100);
-                result.put("result", Double.toString(usage) + "%");
+    public List<BucketInfo> listBucketInfo() {
+        RgwAdmin rgwAdmin = getRgwAdmin();
 
-                return result;
-            }
+        return rgwAdmin.listBucketInfo();
+    }
+
+    public List<BucketInfo> listBucketInfo(String uid) {
+        RgwAdmin rgwAdmin = getRgwAdmin();
+
+        return rgwAdmin.listBucketInfo(uid);
+    }
+
+    /*
+        쿼타의 최대 용량 (byte), 쿼타가 꺼져 있거나 제한이 없으면 -1
+     */
+    static long quotaBytes(Quota quota) {
+        if (quota == null || !Boolean.TRUE.equals(quota.getEnabled()) || quota.getMaxSizeKb() == null || quota.getMaxSizeKb() <= 0) {
+            return -1;
         }
-        result.put("result", "-1%");
-        return result;
+        return quota.getMaxSizeKb() * 1024;
+    }
+
+    /*
+        쿼타의 최대 오브젝트 수, 쿼타가 꺼져 있거나 제한이 없으면 -1
+     */
+    static long quotaObjects(Quota quota) {
+        if (quota == null || !Boolean.TRUE.equals(quota.getEnabled()) || quota.getMaxObjects() == null || quota.getMaxObjects() <= 0) {
+            return -1;
+        }
+        return quota.getMaxObjects();
+    }
+
+    /*
+        버킷 쿼타 대비 실제 사용량 (사용량 정보가 없으면 -1%)
+     */
+    static String utilization(BucketInfo bucketInfo) {
+        if (bucketInfo.getUsage() == null || bucketInfo.getUsage().getRgwMain() == null) {
+            return "-1%";
+        }
+        double usage = (((double) bucketInfo.getUsage().getRgwMain().getSize_actual() / (bucketInfo.getBucketQuota().getMaxSizeKb() * 1024)) * 100);
+        return Double.toString(usage) + "%";
+    }
+
+    /*
+        모든 버킷의 사용률을 owner 별로 모음 (버킷 목록 조회 한 번)
+     */
+    public Map<String, Map<String, String>> bucketUtilizations() {
+        Map<String, Map<String, String>> utilizations = new HashMap<>();
+        for (BucketInfo bucketInfo : listBucketInfo()) {
+            utilizations.computeIfAbsent(bucketInfo.getOwner(), owner -> new HashMap<>())
+                    .put(bucketInfo.getBucket(), utilization(bucketInfo));
+        }
+        return utilizations;
     }
 
     public Map<String, String> quotaUtilizationList(S3Credential key){
@@ -281,13 +489,12 @@ public class RGWService {
     }
 
     public List<SubUser> createSubUser(String uid, SSubUser subUser) {
-        RgwAdmin rgwAdmin = getRgwAdmin();
         Map<String, String> subUserParam = new HashMap<>();
         subUserParam.put("access-key", subUser.getAccessKey());
         subUserParam.put("secret-key", subUser.getSecretKey());
         subUserParam.put("key-type", "s3");
         subUserParam.put("access", SubUser.Permission.NONE.toString());
-        return rgwAdmin.createSubUser(uid, subUser.getSubUid(), subUserParam);
+        return Futures.join(asyncRgwAdmin.createSubUser(uid, subUser.getSubUid(), subUserParam));
     }
 
     public String subUserInfo(String uid, String subUid) {
@@ -307,31 +514,42 @@ public class RGWService {
     }
 
     public Map<String, String> subUserList(String uid){
-        RgwAdmin rgwAdmin = getRgwAdmin();
-
-        List<String> subUserList = rgwAdmin.listSubUser(uid);
-
-        Map<String, String> userInfoMap = new HashMap<>();
-
-        for(String subUser : subUserList){
-            String[] parts = subUser.split(":");
-            String orgSubUser = parts[1];
-            userInfoMap.put(orgSubUser, subUserInfo(uid, orgSubUser).toUpperCase());
-        }
+        return Futures.join(subUserListAsync(uid));
+    }
+
+    /*
+        서브 유저 목록을 읽은 뒤 서브 유저별 권한 조회를 동시에 보냄
+     */
+    public CompletableFuture<Map<String, String>> subUserListAsync(String uid){
+        return asyncRgwAdmin.listSubUser(uid).thenCompose(subUserList -> {
+            Map<String, CompletableFuture<Optional<SubUser>>> subUserInfos = new LinkedHashMap<>();
+            for(String subUser : subUserList){
+                String[] parts = subUser.split(":");
+                String orgSubUser = parts[1];
+                subUserInfos.put(orgSubUser, asyncRgwAdmin.getSubUserInfo(uid, orgSubUser));
+            }
 
-        return userInfoMap;
+            return CompletableFuture.allOf(subUserInfos.values().toArray(new CompletableFuture[0])).thenApply(done -> {
+                Map<String, String> userInfoMap = new HashMap<>();
+                subUserInfos.forEach((orgSubUser, subUserInfo) ->
+                        userInfoMap.put(orgSubUser, subUserInfo.join().get().getPermission().toString().toUpperCase()));
+                return userInfoMap;
+            });
+        });
     }
 
     public void removeSubUser(String uid, String subUid, Key key) {
         RgwAdmin rgwAdmin = getRgwAdmin();
         rgwAdmin.removeS3CredentialFromSubUser(uid, subUid, key.getAccessKey());
         rgwAdmin.removeSubUser(uid, subUid);
+        invalidateS3Credential(uid);
     }
 
     public void alterSubUserKey(String uid, String subUid, Key key) {
         RgwAdmin rgwAdmin = getRgwAdmin();
         rgwAdmin.removeS3CredentialFromSubUser(uid, subUid, key.getAccessKey());
         rgwAdmin.createS3CredentialForSubUser(uid, subUid, key.getAccessKey(), key.getSecretKey());
+        invalidateS3Credential(uid);
     }
 
     // TODO: nodejs 코드에서 입력 파라미터로 uid만을 받게 설계돼 있어서 우리도 key 빼야할지 고민해봐야함.
@@ -339,17 +557,21 @@ public class RGWService {
         RgwAdmin rgwAdmin = getRgwAdmin();
 
         rgwAdmin.createS3Credential(uid, key.getAccessKey(), key.getSecretKey());
+        invalidateS3Credential(uid);
     }
 
     public List<S3Credential> createS3Credential(String uid){
         RgwAdmin rgwAdmin = getRgwAdmin();
 
-        return rgwAdmin.createS3Credential(uid);
+        List<S3Credential> credentials = rgwAdmin.createS3Credential(uid);
+        invalidateS3Credential(uid);
+        return credentials;
     }
 
     public void removeS3Credential(String uid, String accessKey){
         RgwAdmin rgwAdmin = getRgwAdmin();
         rgwAdmin.removeS3Credential(uid, accessKey);
+        invalidateS3Credential(uid);
     }
 
     public List<S3Credential> getS3CredentialList(String uid){
@@ -360,124 +582,123 @@ public class RGWService {
     }
 
     public String getUserRateLimit(String uid){
-        SodasRgwAdmin sodasRgwAdmin = getSodasRgwAdmin();
-        return sodasRgwAdmin.getUserRateLimit(uid);
+        return Futures.join(asyncRgwAdmin.getUserRateLimit(uid));
     }
 
-    public Map<String, String> getUserRateLimitList(List<String> uidList){
-        Map<String, String> response = new HashMap<>();
-        for (String uid : uidList){
-            response.put(uid, getUserRateLimit(uid));
-        }
-        return response;
+    public SAdminList<String> getUserRateLimitList(List<String> uidList){
+        SodasRgwAdmin sodasRgwAdmin = getSodasRgwAdmin();
+
+        return adminFanOut.fanOut(uidList, sodasRgwAdmin::getUserRateLimit);
     }
 
 
-    public Map<String, Map<String, Quota>> usersQuota(){
+    public List<String> listUserIds(){
         RgwAdmin rgwAdmin = getRgwAdmin();
 
-        List<User> userList = rgwAdmin.listUserInfo();
-
-        Map<String, Map<String, Quota>> userInfo = new HashMap<>();
-        Map<String, Quota> quota;
-
-        for(User user : userList){
-            quota = new HashMap<>();
-            Quota userQuota = rgwAdmin.getUserQuota(user.getUserId()).get();
-            quota.put("userQuota", userQuota);
+        return rgwAdmin.listUserInfo().stream().map(User::getUserId).collect(Collectors.toList());
+    }
 
-//            String userRateLimit = getUserRatelimit(user.getUserId());
-//            quotaAndRateLimit.put("RateLimit", userRateLimit);
+    public Optional<Quota> userQuota(String uid){
+        return Futures.join(asyncRgwAdmin.getUserQuota(uid));
+    }
 
-            userInfo.put(user.getUserId(), quota);
-        }
+    public Optional<Quota> bucketQuota(String uid){
+        return Futures.join(asyncRgwAdmin.getBucketQuota(uid));
+    }
 
-        return userInfo;
+    public SAdminList<Map<String, Quota>> usersQuota(){
+        return usersQuota(listUserIds());
     }
 
-    public Map<String, Map<String, String>> usersRateLimit(){
+    public SAdminList<Map<String, Quota>> usersQuota(List<String> uidList){
         RgwAdmin rgwAdmin = getRgwAdmin();
 
-        List<User> userList = rgwAdmin.listUserInfo();
-
-        Map<String, Map<String, String>> userRateInfo = new HashMap<>();
-        Map<String, String> rateLimit;
-
-        for(User user : userList){
-            rateLimit = new HashMap<>();
+        return adminFanOut.fanOut(uidList, uid -> {
+            Map<String, Quota> quota = new HashMap<>();
+            quota.put("userQuota", rgwAdmin.getUserQuota(uid).get());
+            return quota;
+        });
+    }
 
-            String userRateLimit = getUserRateLimit(user.getUserId());
-            rateLimit.put("RateLimit", userRateLimit);
+    public SAdminList<Map<String, String>> usersRateLimit(){
+        return usersRateLimit(listUserIds());
+    }
 
-            userRateInfo.put(user.getUserId(), rateLimit);
-        }
+    public SAdminList<Map<String, String>> usersRateLimit(List<String> uidList){
+        SodasRgwAdmin sodasRgwAdmin = getSodasRgwAdmin();
 
-        return userRateInfo;
+        return adminFanOut.fanOut(uidList, uid -> {
+            Map<String, String> rateLimit = new HashMap<>();
+            rateLimit.put("RateLimit", sodasRgwAdmin.getUserRateLimit(uid));
+            return rateLimit;
+        });
     }
 
     public Quota bucketsQuota(String uid){
         RgwAdmin rgwAdmin = getRgwAdmin();
 
-        Optional<User> user = rgwAdmin.getUserInfo(uid);
-
         return rgwAdmin.getBucketQuota(uid).get();
     }
 
-    public Map<String, Map<String, Quota>> bucketsQuota(){
-        RgwAdmin rgwAdmin = getRgwAdmin();
-
-        List<User> userList = rgwAdmin.listUserInfo();
-
-        Map<String, Map<String, Quota>> bucketInfo = new HashMap<>();
-        Map<String, Quota> quota;
-
-        for(User user : userList){
-            quota = new HashMap<>();
-            Quota bucketQuota = rgwAdmin.getBucketQuota(user.getUserId()).get();
-            quota.put("bucketQuota", bucketQuota);
+    public SAdminList<Map<String, Quota>> bucketsQuota(){
+        return bucketsQuota(listUserIds());
+    }
 
-            bucketInfo.put(user.getUserId(), quota);
-        }
+    public SAdminList<Map<String, Quota>> bucketsQuota(List<String> uidList){
+        RgwAdmin rgwAdmin = getRgwAdmin();
 
-        return bucketInfo;
+        return adminFanOut.fanOut(uidList, uid -> {
+            Map<String, Quota> quota = new HashMap<>();
+            quota.put("bucketQuota", rgwAdmin.getBucketQuota(uid).get());
+            return quota;
+        });
     }
 
     public String setUserRateLimit(String uid, RateLimit rateLimit){
-        SodasRgwAdmin sodasRgwAdmin = getSodasRgwAdmin();
-        return sodasRgwAdmin.setUserRateLimit(uid, rateLimit);
+        String result = Futures.join(asyncRgwAdmin.setUserRateLimit(uid, rateLimit));
+        eventPublisher.publishEvent(new AdminDataChangedEvent(AdminDataChangedEvent.Kind.RATE_LIMIT, uid));
+        return result;
     }
 
-    public String setUserRateLimitList(Map<String, RateLimit> userRateLimits){
-        List<String> response = new ArrayList<>();
+    public SAdminList<String> setUserRateLimitList(Map<String, RateLimit> userRateLimits){
+        return adminFanOut.fanOut(userRateLimits.keySet(), uid -> setUserRateLimit(uid, userRateLimits.get(uid)));
+    }
 
-        for (String key: userRateLimits.keySet()){
-            RateLimit rateLimit = userRateLimits.get(key);
-            response.add(setUserRateLimit(key, rateLimit));
-        }
-        return response.toString();
+    public SAdminList<HashMap> usersQuotaConfig(List<String> uidList){
+        return adminFanOut.fanOut(uidList, dsService::userQoutaInfo);
+    }
+
+    public SAdminList<String> setUsersQuotaConfig(Map<String, SQuota> userQuotaList){
+        return adminFanOut.fanOut(userQuotaList.keySet(), uid -> {
+            SQuota quota = userQuotaList.get(uid);
+            quota.setQuota_type("user");
+            dsService.quotaConfig(uid, quota);
+            return "success";
+        });
     }
 
     public Map<String, List<?>> getFileList(S3Credential key, String bucketName, String prefix) {
 
         String actualPrefix = (prefix != null) ? prefix : "";
-        final AmazonS3 s3 = getClient(key);
 
         try {
-            ListObjectsRequest listObjectsRequest = new ListObjectsRequest()
-                    .withBucketName(bucketName)
-                    .withDelimiter("/")
-                    .withPrefix(actualPrefix);
-
-            ObjectListing objectListing = s3.listObjects(listObjectsRequest);
+            SFolder folder = getFolder(key, bucketName, actualPrefix);
 
-            List<String> folderList = objectListing.getCommonPrefixes()
+            List<String> folderList = folder.getFolders()
                     .stream()
-                    .filter(commonPrefix -> commonPrefix.startsWith(actualPrefix))
+                    .map(SFolder::getPrefix)
                     .collect(Collectors.toList());
 
-            List<S3ObjectSummary> fileList = objectListing.getObjectSummaries()
+            List<S3ObjectSummary> fileList = folder.getFiles()
                     .stream()
-                    .filter(objectSummary -> objectSummary.getKey().startsWith(actualPrefix) && !folderList.contains(objectSummary.getKey() + "/"))
+                    .map(file -> {
+                        S3ObjectSummary objectSummary = new S3ObjectSummary();
+                        objectSummary.setBucketName(bucketName);
+                        objectSummary.setKey(file.getObjectName());
+                        objectSummary.setSize(file.getSize());
+                        objectSummary.setLastModified(file.getCreateTime());
+                        return objectSummary;
+                    })
                     .collect(Collectors.toList());
 
             Map<String, List<?>> result = new HashMap<>();
@@ -493,20 +714,97 @@ public class RGWService {
         return null;
     }
 
-    public User createUser(SUser user) {
-        RgwAdmin rgwAdmin = getRgwAdmin();
+    /*
+        prefix 바로 아래의 폴더와 파일을 조회
+        prefix 인덱스에서 응답하며, 인덱스가 아직 만들어지는 중이거나 인덱싱할 수 없는 큰 버킷은 RGW 를 직접 조회한다 (이 경우 폴더 통계는 -1).
+     */
+    public SFolder getFolder(S3Credential key, String bucketName, String prefix) {
+        String actualPrefix = (prefix != null) ? prefix : "";
 
+        SFolder folder = prefixIndexRegistry.browse(key, bucketName, actualPrefix);
+        if (folder != null) {
+            return folder;
+        }
+
+        AmazonS3 s3 = getClient(key);
+        ListObjectsV2Request listObjectsRequest = new ListObjectsV2Request()
+                .withBucketName(bucketName)
+                .withDelimiter("/")
+                .withPrefix(actualPrefix)
+                .withMaxKeys(MAX_PAGE_SIZE);
 
+        List<SFolder> folderList = new ArrayList<>();
+        List<BObject> fileList = new ArrayList<>();
+        Set<String> folderPrefixes = new HashSet<>();
+
+        // 1000개를 넘는 경우 잘리지 않도록 마지막 페이지까지 조회
+        ListObjectsV2Result objectListing;
+        do {
+            objectListing = s3.listObjectsV2(listObjectsRequest);
+            for (String commonPrefix : objectListing.getCommonPrefixes()) {
+                if (commonPrefix.startsWith(actualPrefix)) {
+                    folderList.add(new SFolder(commonPrefix, -1, -1));
+                    folderPrefixes.add(commonPrefix);
+                }
+            }
+            for (S3ObjectSummary objectSummary : objectListing.getObjectSummaries()) {
+                if (objectSummary.getKey().startsWith(actualPrefix)) {
+                    fileList.add(toBObject(objectSummary));
+                }
+            }
+            listObjectsRequest.setContinuationToken(objectListing.getNextContinuationToken());
+        } while (objectListing.isTruncated());
+
+        fileList.removeIf(file -> folderPrefixes.contains(file.getObjectName() + "/"));
+
+        return new SFolder(actualPrefix, -1, -1, folderList, fileList);
+    }
+
+    public User createUser(SUser user) {
+        try {
+            return Futures.join(createUserAsync(user));
+        } finally {
+            // 변경 알림은 관리 API 스레드를 막지 않도록 요청 스레드에서 보냄
+            if (user.getAccessKey() != null) {
+                invalidateS3Credential(user.getUid());
+            }
+            eventPublisher.publishEvent(new AdminDataChangedEvent(AdminDataChangedEvent.Kind.USER, user.getUid()));
+        }
+    }
+
+    /*
+        유저를 만든 뒤 요청에 들어 있는 S3 키, 유저 쿼타, 전송 속도 설정을 동시에 적용
+        캐시 무효화와 변경 이벤트는 보내지 않으므로 호출한 쪽에서 처리한다.
+     */
+    public CompletableFuture<User> createUserAsync(SUser user) {
         Map<String, String> userParameters = new HashMap<>();
         userParameters.put("display-name", user.getDisplayName());
         userParameters.put("email", user.getEmail());
-        return rgwAdmin.createUser(user.getUid(), userParameters);
+
+        String uid = user.getUid();
+        return asyncRgwAdmin.createUser(uid, userParameters).thenCompose(newUser -> {
+            List<CompletableFuture<?>> settings = new ArrayList<>();
+            if (user.getAccessKey() != null && user.getSecretKey() != null) {
+                settings.add(asyncRgwAdmin.createS3Credential(uid, user.getAccessKey(), user.getSecretKey()));
+            }
+            if (user.getQuota() != null) {
+                settings.add(asyncRgwAdmin.setUserQuota(uid,
+                        Long.parseLong(user.getQuota().getMax_objects()), Long.parseLong(user.getQuota().getMax_size_kb())));
+            }
+            if (user.getRateLimit() != null) {
+                settings.add(asyncRgwAdmin.setUserRateLimit(uid, user.getRateLimit()));
+            }
+
+            return CompletableFuture.allOf(settings.toArray(new CompletableFuture[0])).thenApply(done -> newUser);
+        });
     }
 
     public Map<String, String> removeUser(String userId) {
         RgwAdmin rgwAdmin = getRgwAdmin();
 
         rgwAdmin.removeUser(userId);
+        invalidateS3Credential(userId);
+        eventPublisher.publishEvent(new AdminDataChangedEvent(AdminDataChangedEvent.Kind.USER, userId));
         Map<String, String> response = new HashMap<>();
         response.put("result", "success");
 
@@ -514,30 +812,67 @@ public class RGWService {
     }
 
 
-    public void addBucketUser(S3Credential key, String rgwUser, String permission, String bucketName) {
+    /*
+        버킷 ACL 에 권한을 추가하고, 기존 오브젝트들의 ACL 반영은 백그라운드 작업으로 진행
+        정책 모드 버킷은 버킷 정책만 수정하며 작업 없이 null 을 반환한다.
+     */
+    public SJob addBucketUser(UserPrincipal userInfo, String rgwUser, String permission, String bucketName) {
+        S3Credential key = userInfo.getCredential();
         AmazonS3 conn = getClient(key);
 
+        if (sharingMode(conn, bucketName) == BucketPolicySharing.Mode.POLICY) {
+            bucketPolicySharing.grant(conn, bucketName, rgwUser, Permission.valueOf(permission));
+            return null;
+        }
+
         AccessControlList accessControlList = conn.getBucketAcl(bucketName);
         Grant grant = new Grant(new CanonicalGrantee(rgwUser), Permission.valueOf(permission));
 
         accessControlList.grantAllPermissions(grant);
         conn.setBucketAcl(bucketName, accessControlList);
+        bucketGrantCache.invalidate(bucketName);
 
-        List<BObject> objectList = getObjects(key, bucketName);
+        Job job = jobRegistry.submit("acl-propagate", userInfo.getUserId(), bucketName,
+                aclJob -> aclPropagator.propagate(key, bucketName, grant, aclJob));
+        return job.snapshot();
+    }
 
-        addObjectPermission(conn, objectList, grant.getPermission(), bucketName);
+    /*
+        정책 모드 버킷에서 유저 권한 회수 (permission 이 null 이면 모든 권한)
+     */
+    public void removeBucketUser(S3Credential key, String rgwUser, String permission, String bucketName) {
+        AmazonS3 conn = getClient(key);
+
+        bucketPolicySharing.revoke(conn, bucketName, rgwUser, (permission == null) ? null : Permission.valueOf(permission));
     }
 
-    public void addObjectPermission(AmazonS3 conn, List<BObject> objectList, Permission permission, String bucketName){
-        for(BObject bObject : objectList){
-            Grant grant = new Grant(new CanonicalGrantee(conn.getS3AccountOwner().getId()), permission);
-            AccessControlList accessControlList = conn.getObjectAcl(bucketName, bObject.getObjectName());
-            accessControlList.grantAllPermissions(grant);
-            conn.setObjectAcl(bucketName, bObject.getObjectName(), accessControlList);
-        }
+    public String getBucketSharingMode(S3Credential key, String bucketName) {
+        return sharingMode(getClient(key), bucketName).name();
+    }
+
+    /*
+        ACL 모드 버킷을 정책 모드로 전환
+        기존 오브젝트 ACL 에 남은 유저 권한은 백그라운드 작업으로 제거하며, 작업이 끝나야 회수가 오브젝트까지 반영된다.
+     */
+    public SJob migrateBucketSharing(UserPrincipal userInfo, String bucketName) {
+        S3Credential key = userInfo.getCredential();
+        String bucketOwnerId = bucketPolicySharing.enable(getClient(key), bucketName);
+        bucketGrantCache.invalidate(bucketName);
+
+        Job job = jobRegistry.submit("acl-strip", userInfo.getUserId(), bucketName,
+                aclJob -> aclPropagator.strip(key, bucketName, bucketOwnerId, aclJob));
+        return job.snapshot();
     }
 
     public S3Credential getS3Credential(String uid){
-        return this.getS3CredentialList(uid).get(0);
+        return s3CredentialCache.get(uid, key -> {
+            List<S3Credential> credentials = this.getS3CredentialList(key);
+            return (credentials == null || credentials.isEmpty()) ? null : credentials.get(0);
+        });
+    }
+
+    private void invalidateS3Credential(String uid){
+        s3CredentialCache.invalidate(uid);
+        eventPublisher.publishEvent(new S3CredentialChangedEvent(uid));
     }
 }
\ No newline at end of file
@@ -0,0 +1,298 @@
+package com.etri.datalake.objectstorage.rgw;
+
+import com.amazonaws.HttpMethod;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.*;
+import com.etri.datalake.auth.UserPrincipal;
+import com.etri.datalake.exception.SodasException;
+import com.etri.datalake.exception.SodasExceptionCode;
+import com.etri.datalake.objectstorage.constants.SPresignedUpload;
+import com.etri.datalake.objectstorage.constants.SUploadPart;
+import com.etri.datalake.objectstorage.constants.SUploadSession;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.twonote.rgwadmin4j.model.BucketInfo;
+import org.twonote.rgwadmin4j.model.S3Credential;
+
+import java.io.InputStream;
+import java.net.URL;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/*
+    이어받기 가능한 멀티파트 업로드
+    세션(uploadId)을 UploadSessionStore 에 저장하고, 받은 파트 목록은 RGW 의 ListParts 를 기준으로 한다.
+    같은 파트 번호를 다시 올리면 RGW 에서 덮어쓰므로 파트 업로드는 멱등이다.
+ */
+@Service
+@RequiredArgsConstructor
+public class ResumableUploadService {
+    private static final Logger logger = LoggerFactory.getLogger(ResumableUploadService.class);
+    private static final int MAX_PART_NUMBER = 10000;
+
+    private final RGWService rgwService;
+    private final S3ClientRegistry s3ClientRegistry;
+    private final UploadSessionStore uploadSessionStore;
+
+    @Value("${object-storage.upload.stale-after:86400000}")
+    private long staleAfterMillis;
+
+    @Value("${object-storage.upload.presign-expiry:3600000}")
+    private long presignExpiryMillis;
+
+    public SUploadSession initiate(UserPrincipal userInfo, String bucketName, String objectKey) {
+        AmazonS3 conn = s3ClientRegistry.getClient(userInfo.getCredential());
+        InitiateMultipartUploadRequest request = new InitiateMultipartUploadRequest(bucketName, objectKey)
+                .withAccessControlList(rgwService.objectAcl(conn, userInfo.getCredential(), bucketName));
+        String uploadId = conn.initiateMultipartUpload(request).getUploadId();
+
+        SUploadSession session = new SUploadSession(UUID.randomUUID().toString(), uploadId, bucketName, objectKey,
+                userInfo.getUserId(), System.currentTimeMillis());
+        uploadSessionStore.save(session);
+        return session;
+    }
+
+    public SUploadPart uploadPart(UserPrincipal userInfo, String sessionId, int partNumber, InputStream inputStream, long contentLength) {
+        if (partNumber < 1 || partNumber > MAX_PART_NUMBER) {
+            throw new SodasException(SodasExceptionCode.INVALID_PART_NUMBER);
+        }
+        if (contentLength < 0) {
+            throw new SodasException(SodasExceptionCode.LENGTH_REQUIRED);
+        }
+
+        SUploadSession session = getSession(userInfo, sessionId);
+        AmazonS3 conn = s3ClientRegistry.getClient(userInfo.getCredential());
+
+        UploadPartRequest uploadPartRequest = new UploadPartRequest()
+                .withBucketName(session.getBucketName())
+                .withKey(session.getObjectKey())
+                .withUploadId(session.getUploadId())
+                .withPartNumber(partNumber)
+                .withInputStream(inputStream)
+                .withPartSize(contentLength);
+        UploadPartResult result = conn.uploadPart(uploadPartRequest);
+
+        uploadSessionStore.touch(sessionId, System.currentTimeMillis());
+
+        return new SUploadPart(partNumber, result.getETag(), contentLength);
+    }
+
+    public List<SUploadPart> listParts(UserPrincipal userInfo, String sessionId) {
+        SUploadSession session = getSession(userInfo, sessionId);
+        AmazonS3 conn = s3ClientRegistry.getClient(userInfo.getCredential());
+
+        return listParts(conn, session).stream()
+                .map(part -> new SUploadPart(part.getPartNumber(), part.getETag(), part.getSize()))
+                .collect(Collectors.toList());
+    }
+
+    public String complete(UserPrincipal userInfo, String sessionId) {
+        SUploadSession session = getSession(userInfo, sessionId);
+        AmazonS3 conn = s3ClientRegistry.getClient(userInfo.getCredential());
+
+        List<PartETag> partETags = listParts(conn, session).stream()
+                .map(part -> new PartETag(part.getPartNumber(), part.getETag()))
+                .collect(Collectors.toList());
+        if (partETags.isEmpty()) {
+            throw new SodasException(SodasExceptionCode.NO_UPLOADED_PART);
+        }
+
+        conn.completeMultipartUpload(new CompleteMultipartUploadRequest(session.getBucketName(), session.getObjectKey(),
+                session.getUploadId(), partETags));
+        uploadSessionStore.remove(sessionId);
+
+        rgwService.afterObjectUpload(conn, session.getBucketName(), session.getObjectKey());
+        return session.getObjectKey();
+    }
+
+    public void abort(UserPrincipal userInfo, String sessionId) {
+        SUploadSession session = getSession(userInfo, sessionId);
+        AmazonS3 conn = s3ClientRegistry.getClient(userInfo.getCredential());
+
+        conn.abortMultipartUpload(new AbortMultipartUploadRequest(session.getBucketName(), session.getObjectKey(), session.getUploadId()));
+        uploadSessionStore.remove(sessionId);
+    }
+
+    /*
+        presigned 멀티파트 업로드
+        API 서버는 업로드 시작과 완료만 처리하고, 파트 데이터는 클라이언트가 RGW 로 직접 보낸다.
+     */
+    public SPresignedUpload initiatePresigned(UserPrincipal userInfo, String bucketName, String objectKey, int partCount) {
+        if (partCount < 1 || partCount > MAX_PART_NUMBER) {
+            throw new SodasException(SodasExceptionCode.INVALID_PART_NUMBER);
+        }
+
+        SUploadSession session = initiate(userInfo, bucketName, objectKey);
+        AmazonS3 conn = s3ClientRegistry.getClient(userInfo.getCredential());
+        Date expiration = new Date(System.currentTimeMillis() + presignExpiryMillis);
+
+        List<URL> partUrls = new ArrayList<>(partCount);
+        for (int partNumber = 1; partNumber <= partCount; partNumber++) {
+            GeneratePresignedUrlRequest request = new GeneratePresignedUrlRequest(bucketName, objectKey, HttpMethod.PUT)
+                    .withExpiration(expiration);
+            request.addRequestParameter("uploadId", session.getUploadId());
+            request.addRequestParameter("partNumber", String.valueOf(partNumber));
+            partUrls.add(conn.generatePresignedUrl(request));
+        }
+
+        return new SPresignedUpload(session, partUrls);
+    }
+
+    public String completePresigned(UserPrincipal userInfo, String sessionId, List<SUploadPart> parts) {
+        if (parts == null || parts.isEmpty()) {
+            throw new SodasException(SodasExceptionCode.NO_UPLOADED_PART);
+        }
+
+        SUploadSession session = getSession(userInfo, sessionId);
+        AmazonS3 conn = s3ClientRegistry.getClient(userInfo.getCredential());
+
+        List<PartETag> partETags = parts.stream()
+                .sorted(Comparator.comparingInt(SUploadPart::getPartNumber))
+                .map(part -> new PartETag(part.getPartNumber(), part.getETag()))
+                .collect(Collectors.toList());
+
+        conn.completeMultipartUpload(new CompleteMultipartUploadRequest(session.getBucketName(), session.getObjectKey(),
+                session.getUploadId(), partETags));
+        uploadSessionStore.remove(sessionId);
+
+        rgwService.afterObjectUpload(conn, session.getBucketName(), session.getObjectKey());
+        return session.getObjectKey();
+    }
+
+    public List<SUploadSession> listSessions(UserPrincipal userInfo) {
+        return uploadSessionStore.findByOwner(userInfo.getUserId());
+    }
+
+    /*
+        오래된 멀티파트 업로드 정리
+        모든 버킷(관리 API 의 버킷 목록)을 소유자 크레덴셜로 조회하여 stale-after 동안 진행이 없는 멀티파트 업로드를 abort 한다.
+        세션이 있는 업로드는 세션의 마지막 갱신 시각을, 세션이 없는 업로드(실패한 업로드 등)는 시작 시각을 기준으로 한다.
+        세션은 abort 에 성공했거나 RGW 가 NoSuchUpload 를 돌려준 경우에만 지워, 실패한 업로드는 다음 주기에 다시 시도한다.
+     */
+    @Scheduled(fixedDelayString = "${object-storage.upload.janitor-interval:3600000}", initialDelayString = "${object-storage.upload.janitor-interval:3600000}")
+    public void abortStaleUploads() {
+        long cutoff = System.currentTimeMillis() - staleAfterMillis;
+
+        Map<String, SUploadSession> sessionsByUploadId = new HashMap<>();
+        for (SUploadSession session : uploadSessionStore.findAll()) {
+            sessionsByUploadId.put(session.getUploadId(), session);
+        }
+
+        Map<String, List<String>> bucketsByOwner = new HashMap<>();
+        try {
+            for (BucketInfo bucketInfo : rgwService.listBucketInfo()) {
+                bucketsByOwner.computeIfAbsent(bucketInfo.getOwner(), owner -> new ArrayList<>()).add(bucketInfo.getBucket());
+            }
+        } catch (RuntimeException e) {
+            logger.warn("버킷 목록 조회 실패, 세션이 있는 업로드만 정리합니다", e);
+        }
+
+        // abort 되었거나 이미 없는 업로드
+        Set<String> finishedUploadIds = new HashSet<>();
+        for (Map.Entry<String, List<String>> entry : bucketsByOwner.entrySet()) {
+            AmazonS3 conn;
+            try {
+                conn = ownerClient(entry.getKey());
+            } catch (RuntimeException e) {
+                logger.warn("오래된 멀티파트 업로드 정리 실패, owner: {}", entry.getKey(), e);
+                continue;
+            }
+            if (conn == null) {
+                continue;
+            }
+            for (String bucketName : entry.getValue()) {
+                try {
+                    abortStaleUploads(conn, bucketName, cutoff, sessionsByUploadId, finishedUploadIds);
+                } catch (RuntimeException e) {
+                    logger.warn("오래된 멀티파트 업로드 정리 실패, bucket: {}", bucketName, e);
+                }
+            }
+        }
+
+        // 목록에서 처리되지 않은 오래된 세션은 세션 소유자 크레덴셜로 직접 abort
+        for (SUploadSession session : sessionsByUploadId.values()) {
+            if (session.getUpdatedAt() >= cutoff) {
+                continue;
+            }
+            if (!finishedUploadIds.contains(session.getUploadId())) {
+                try {
+                    AmazonS3 conn = ownerClient(session.getOwner());
+                    if (conn == null || !abort(conn, session.getBucketName(), session.getObjectKey(), session.getUploadId())) {
+                        continue;
+                    }
+                } catch (RuntimeException e) {
+                    logger.warn("오래된 업로드 세션 정리 실패, session: {}", session.getSessionId(), e);
+                    continue;
+                }
+            }
+            uploadSessionStore.remove(session.getSessionId());
+        }
+    }
+
+    private AmazonS3 ownerClient(String owner) {
+        S3Credential credential = rgwService.getS3Credential(owner);
+        return (credential == null) ? null : s3ClientRegistry.getClient(credential);
+    }
+
+    private void abortStaleUploads(AmazonS3 conn, String bucketName, long cutoff,
+                                   Map<String, SUploadSession> sessionsByUploadId, Set<String> finishedUploadIds) {
+        ListMultipartUploadsRequest request = new ListMultipartUploadsRequest(bucketName);
+        MultipartUploadListing listing;
+
+        do {
+            listing = conn.listMultipartUploads(request);
+            for (MultipartUpload upload : listing.getMultipartUploads()) {
+                SUploadSession session = sessionsByUploadId.get(upload.getUploadId());
+                boolean stale = session != null
+                        ? session.getUpdatedAt() < cutoff
+                        : upload.getInitiated() != null && upload.getInitiated().getTime() < cutoff;
+                if (stale && abort(conn, bucketName, upload.getKey(), upload.getUploadId())) {
+                    finishedUploadIds.add(upload.getUploadId());
+                }
+            }
+            request.setKeyMarker(listing.getNextKeyMarker());
+            request.setUploadIdMarker(listing.getNextUploadIdMarker());
+        } while (listing.isTruncated());
+    }
+
+    /*
+        abort 에 성공했거나 업로드가 이미 없으면 true, 그 외 실패는 다음 주기에 다시 시도하도록 false
+     */
+    private boolean abort(AmazonS3 conn, String bucketName, String objectKey, String uploadId) {
+        try {
+            conn.abortMultipartUpload(new AbortMultipartUploadRequest(bucketName, objectKey, uploadId));
+            logger.info("오래된 멀티파트 업로드 abort, bucket: {}, key: {}", bucketName, objectKey);
+            return true;
+        } catch (AmazonS3Exception e) {
+            if ("NoSuchUpload".equals(e.getErrorCode())) {
+                return true;
+            }
+            logger.warn("멀티파트 업로드 abort 실패, bucket: {}, key: {}, uploadId: {}", bucketName, objectKey, uploadId, e);
+            return false;
+        }
+    }
+
+    private List<PartSummary> listParts(AmazonS3 conn, SUploadSession session) {
+        ListPartsRequest request = new ListPartsRequest(session.getBucketName(), session.getObjectKey(), session.getUploadId());
+        List<PartSummary> parts = new ArrayList<>();
+        PartListing listing;
+
+        do {
+            listing = conn.listParts(request);
+            parts.addAll(listing.getParts());
+            request.setPartNumberMarker(listing.getNextPartNumberMarker());
+        } while (listing.isTruncated());
+
+        return parts;
+    }
+
+    private SUploadSession getSession(UserPrincipal userInfo, String sessionId) {
+        return uploadSessionStore.find(sessionId)
+                .filter(session -> session.getOwner().equals(userInfo.getUserId()))
+                .orElseThrow(() -> new SodasException(SodasExceptionCode.UPLOAD_SESSION_NOT_FOUND));
+    }
+}
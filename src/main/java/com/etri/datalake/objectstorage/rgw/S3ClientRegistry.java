@@ -0,0 +1,163 @@
+package com.etri.datalake.objectstorage.rgw;
+
+import com.amazonaws.AmazonWebServiceRequest;
+import com.amazonaws.ClientConfiguration;
+import com.amazonaws.Request;
+import com.amazonaws.Response;
+import com.amazonaws.auth.AWSCredentials;
+import com.amazonaws.auth.AWSStaticCredentialsProvider;
+import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.client.builder.AwsClientBuilder;
+import com.amazonaws.handlers.HandlerContextKey;
+import com.amazonaws.handlers.RequestHandler2;
+import com.amazonaws.regions.Regions;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.AmazonS3ClientBuilder;
+import com.etri.datalake.config.objectstorage.ObjectStorageConfig;
+import com.etri.datalake.objectstorage.utils.CircuitBreaker;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.twonote.rgwadmin4j.model.S3Credential;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/*
+    access key 별 AmazonS3 클라이언트 저장소
+    클라이언트마다 HTTP 커넥션 풀을 가지므로 요청마다 새로 만들지 않고 재사용한다.
+    제거된 클라이언트는 긴 전송이 아직 사용 중일 수 있으므로 shutdown 하지 않고, 마지막 참조가 사라지면 GC 가 회수하게 둔다.
+    SDK 의 idle connection reaper 는 커넥션 풀을 전역으로 붙잡아 GC 를 막으므로 사용하지 않는다.
+    모든 클라이언트는 RGW S3 회로 차단기를 공유해, RGW 가 응답하지 않으면 요청을 보내지 않고 바로 실패한다.
+ */
+@Component
+public class S3ClientRegistry {
+    private final ObjectStorageConfig objectStorageConfig;
+    private final ClientConfiguration clientConfiguration;
+    private final RequestHandler2 circuitBreakerHandler;
+    private final Cache<String, RegisteredClient> clients;
+
+    public S3ClientRegistry(ObjectStorageConfig objectStorageConfig, BackendCircuitBreakers circuitBreakers,
+                            @Value("${object-storage.client.max-clients:1000}") long maxClients,
+                            @Value("${object-storage.client.idle-timeout:600000}") long idleTimeoutMillis,
+                            @Value("${object-storage.client.max-connections:50}") int maxConnections,
+                            @Value("${object-storage.client.connection-timeout:10000}") int connectionTimeoutMillis,
+                            @Value("${object-storage.client.socket-timeout:50000}") int socketTimeoutMillis,
+                            @Value("${object-storage.client.connection-max-idle:60000}") long connectionMaxIdleMillis,
+                            @Value("${object-storage.client.tcp-keep-alive:true}") boolean tcpKeepAlive) {
+        this.objectStorageConfig = objectStorageConfig;
+
+        this.clientConfiguration = new ClientConfiguration();
+        clientConfiguration.setMaxConnections(maxConnections);
+        clientConfiguration.setConnectionTimeout(connectionTimeoutMillis);
+        clientConfiguration.setSocketTimeout(socketTimeoutMillis);
+        clientConfiguration.setConnectionMaxIdleMillis(connectionMaxIdleMillis);
+        clientConfiguration.setUseTcpKeepAlive(tcpKeepAlive);
+        clientConfiguration.setUseReaper(false);
+        this.circuitBreakerHandler = new CircuitBreakerHandler(circuitBreakers.get(BackendCircuitBreakers.Backend.RGW_S3));
+
+        this.clients = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(Duration.ofMillis(idleTimeoutMillis))
+                .recordStats()
+                .build();
+    }
+
+    public AmazonS3 getClient(S3Credential key) {
+        RegisteredClient registered = clients.get(key.getAccessKey(), accessKey -> build(key));
+
+        // 같은 access key 의 secret 이 바뀐 경우 새로 생성
+        if (!Objects.equals(registered.getSecretKey(), key.getSecretKey())) {
+            clients.asMap().remove(key.getAccessKey(), registered);
+            registered = clients.get(key.getAccessKey(), accessKey -> build(key));
+        }
+        return registered.getClient();
+    }
+
+    public Map<String, Long> stats() {
+        CacheStats stats = clients.stats();
+
+        Map<String, Long> result = new HashMap<>();
+        result.put("hitCount", stats.hitCount());
+        result.put("missCount", stats.missCount());
+        result.put("evictionCount", stats.evictionCount());
+        result.put("liveClients", clients.estimatedSize());
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        clients.asMap().values().forEach(registered -> registered.getClient().shutdown());
+        clients.invalidateAll();
+    }
+
+    private RegisteredClient build(S3Credential key) {
+        AWSCredentials awsCredentials = new BasicAWSCredentials(key.getAccessKey(), key.getSecretKey());
+        AmazonS3 client = AmazonS3ClientBuilder
+                .standard()
+                .withEndpointConfiguration(new AwsClientBuilder.EndpointConfiguration(objectStorageConfig.getRgwEndpoint(), Regions.DEFAULT_REGION.getName()))
+                .withPathStyleAccessEnabled(true)
+                .withClientConfiguration(clientConfiguration)
+                .withCredentials(new AWSStaticCredentialsProvider(awsCredentials))
+                .withRequestHandlers(circuitBreakerHandler)
+                .build();
+        return new RegisteredClient(client, key.getSecretKey());
+    }
+
+    /*
+        beforeExecution 에서 받은 permit 을 요청 컨텍스트에 두었다가 결과와 함께 돌려준다
+     */
+    private static class CircuitBreakerHandler extends RequestHandler2 {
+        private static final HandlerContextKey<Long> PERMIT = new HandlerContextKey<>("CircuitBreakerPermit");
+
+        private final CircuitBreaker circuitBreaker;
+
+        CircuitBreakerHandler(CircuitBreaker circuitBreaker) {
+            this.circuitBreaker = circuitBreaker;
+        }
+
+        @Override
+        public AmazonWebServiceRequest beforeExecution(AmazonWebServiceRequest request) {
+            request.addHandlerContext(PERMIT, circuitBreaker.acquire());
+            return request;
+        }
+
+        @Override
+        public void afterResponse(Request<?> request, Response<?> response) {
+            circuitBreaker.onSuccess(permit(request));
+        }
+
+        @Override
+        public void afterError(Request<?> request, Response<?> response, Exception e) {
+            circuitBreaker.onError(permit(request), e);
+        }
+
+        private static long permit(Request<?> request) {
+            Long permit = request.getOriginalRequest().getHandlerContext(PERMIT);
+            return (permit != null) ? permit : CircuitBreaker.NORMAL;
+        }
+    }
+
+    private static class RegisteredClient {
+        private final AmazonS3 client;
+        private final String secretKey;
+
+        RegisteredClient(AmazonS3 client, String secretKey) {
+            this.client = client;
+            this.secretKey = secretKey;
+        }
+
+        AmazonS3 getClient() {
+            return client;
+        }
+
+        String getSecretKey() {
+            return secretKey;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.etri.datalake.objectstorage.rgw;
+
+import com.etri.datalake.objectstorage.utils.Futures;
+import com.etri.datalake.objectstorage.utils.ThreadPools;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.twonote.rgwadmin4j.model.S3Credential;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+
+/*
+    uid 별 S3Credential 캐시
+    인증된 모든 요청마다 rgwAdmin.getUserInfo 를 호출하지 않도록 RGWService 앞에 둔다.
+    크레덴셜을 바꾸는 RGWService 메소드에서 invalidate 를 호출해야 한다.
+    RGW 조회는 캐시의 compute 안이 아니라 별도 실행 풀에서 하고, 호출한 스레드는 결과를 기다리기만 한다.
+ */
+@Component
+public class S3CredentialCache {
+    private final AsyncCache<String, S3Credential> cache;
+    private final ExecutorService loaderExecutor;
+
+    public S3CredentialCache(@Value("${object-storage.credential-cache.ttl:600000}") long ttlMillis,
+                             @Value("${object-storage.credential-cache.max-size:10000}") long maxSize,
+                             @Value("${object-storage.credential-cache.loader-threads:8}") int loaderThreads,
+                             @Value("${object-storage.virtual-threads.enabled:false}") boolean virtualThreads) {
+        this.loaderExecutor = ThreadPools.perTask("credential-loader", loaderThreads, virtualThreads);
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(ttlMillis))
+                .maximumSize(maxSize)
+                .executor(loaderExecutor)
+                .buildAsync();
+    }
+
+    public S3Credential get(String uid, Function<String, S3Credential> loader) {
+        return Futures.join(cache.get(uid, loader));
+    }
+
+    public void invalidate(String uid) {
+        // 진행 중인 조회도 함께 제거되어, 바뀌기 전의 크레덴셜이 다시 캐시되지 않음
+        cache.synchronous().invalidate(uid);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        loaderExecutor.shutdownNow();
+    }
+}
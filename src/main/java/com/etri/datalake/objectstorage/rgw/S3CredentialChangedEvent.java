@@ -0,0 +1,16 @@
+package com.etri.datalake.objectstorage.rgw;
+
+import lombok.Getter;
+
+/*
+    uid 의 S3 크레덴셜이 변경되었음을 알리는 이벤트
+    토큰 단위로 캐시된 인증 정보를 비우는 데 사용
+ */
+@Getter
+public class S3CredentialChangedEvent {
+    private final String uid;
+
+    public S3CredentialChangedEvent(String uid) {
+        this.uid = uid;
+    }
+}
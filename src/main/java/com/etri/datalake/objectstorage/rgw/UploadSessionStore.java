@@ -0,0 +1,159 @@
+package com.etri.datalake.objectstorage.rgw;
+
+import com.etri.datalake.objectstorage.constants.SUploadSession;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/*
+    이어받기 업로드 세션 저장소
+    세션마다 JSON 파일 하나를 로컬 디렉토리에 기록하여 pod 재시작 후에도 uploadId 를 잃지 않도록 한다.
+    디렉토리는 재시작 후에도 유지되는 볼륨이어야 하므로 object-storage.upload.state-dir 를 반드시 설정해야 한다.
+    같은 세션의 저장/삭제는 세션 id 로 나눈 락으로 직렬화하고, 저장된 세션 객체는 수정하지 않고 새로 만들어 교체한다.
+ */
+@Component
+public class UploadSessionStore {
+    private static final Logger logger = LoggerFactory.getLogger(UploadSessionStore.class);
+    private static final String SUFFIX = ".json";
+    private static final int LOCK_STRIPES = 64;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Path directory;
+    private final Map<String, SUploadSession> sessions = new ConcurrentHashMap<>();
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+
+    public UploadSessionStore(@Value("${object-storage.upload.state-dir}") String directory) throws IOException {
+        if (directory.isBlank()) {
+            throw new IllegalStateException("object-storage.upload.state-dir must point to a persistent directory");
+        }
+        this.directory = Paths.get(directory);
+        Files.createDirectories(this.directory);
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        load();
+    }
+
+    public void save(SUploadSession session) {
+        ReentrantLock lock = lockFor(session.getSessionId());
+        lock.lock();
+        try {
+            write(session);
+            sessions.put(session.getSessionId(), session);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /*
+        세션의 마지막 갱신 시각을 기록
+        공유 중인 세션 객체를 바꾸지 않고 복사본을 저장하며, 이미 삭제된 세션이면 아무것도 하지 않는다.
+     */
+    public void touch(String sessionId, long updatedAt) {
+        ReentrantLock lock = lockFor(sessionId);
+        lock.lock();
+        try {
+            SUploadSession current = sessions.get(sessionId);
+            if (current == null || current.getUpdatedAt() >= updatedAt) {
+                return;
+            }
+            SUploadSession updated = new SUploadSession(current.getSessionId(), current.getUploadId(), current.getBucketName(),
+                    current.getObjectKey(), current.getOwner(), current.getCreatedAt());
+            updated.setUpdatedAt(updatedAt);
+            write(updated);
+            sessions.put(sessionId, updated);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Optional<SUploadSession> find(String sessionId) {
+        return Optional.ofNullable(sessions.get(sessionId));
+    }
+
+    public List<SUploadSession> findByOwner(String owner) {
+        return sessions.values().stream()
+                .filter(session -> owner.equals(session.getOwner()))
+                .collect(Collectors.toList());
+    }
+
+    public Collection<SUploadSession> findAll() {
+        return new ArrayList<>(sessions.values());
+    }
+
+    public void remove(String sessionId) {
+        ReentrantLock lock = lockFor(sessionId);
+        lock.lock();
+        try {
+            if (sessions.remove(sessionId) == null) {
+                return;
+            }
+            Files.deleteIfExists(directory.resolve(sessionId + SUFFIX));
+        } catch (IOException e) {
+            logger.warn("업로드 세션 파일 삭제 실패, sessionId: {}", sessionId, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void write(SUploadSession session) {
+        Path target = directory.resolve(session.getSessionId() + SUFFIX);
+        Path temp = null;
+        try {
+            // 쓰기마다 고유한 임시 파일을 사용해 다른 저장과 섞이지 않게 함
+            temp = Files.createTempFile(directory, session.getSessionId() + "-", ".tmp");
+            objectMapper.writeValue(temp.toFile(), session);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            deleteQuietly(temp);
+            throw new UncheckedIOException("Could not persist upload session " + session.getSessionId(), e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("임시 세션 파일 삭제 실패, file: {}", file, e);
+        }
+    }
+
+    private ReentrantLock lockFor(String sessionId) {
+        return locks[Math.floorMod(sessionId.hashCode(), locks.length)];
+    }
+
+    private void load() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path file : files) {
+                try {
+                    SUploadSession session = objectMapper.readValue(file.toFile(), SUploadSession.class);
+                    sessions.put(session.getSessionId(), session);
+                } catch (IOException e) {
+                    logger.warn("업로드 세션 파일을 읽을 수 없습니다, file: {}", file, e);
+                }
+            }
+        }
+        // 저장 도중 종료되어 남은 임시 파일 정리
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.tmp")) {
+            files.forEach(UploadSessionStore::deleteQuietly);
+        }
+        logger.info("업로드 세션 {}개 로드", sessions.size());
+    }
+}
@@ -0,0 +1,58 @@
+package com.etri.datalake.objectstorage.utils;
+
+import com.etri.datalake.exception.BackendUnavailableException;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/*
+    크기가 정해진 스레드 풀과 대기열로 한 종류의 작업이 쓸 수 있는 스레드 수를 제한
+    대기열까지 가득 차면 기다리지 않고 BackendUnavailableException 으로 바로 실패한다.
+    가상 스레드 모드에서도 스레드 수가 곧 동시 실행 제한이다.
+ */
+public class Bulkhead {
+    private final String name;
+    private final int queueCapacity;
+    private final ThreadPoolExecutor executor;
+    private final AtomicLong rejected = new AtomicLong();
+
+    public Bulkhead(String name, int threads, int queueCapacity, boolean virtual) {
+        this.name = name;
+        this.queueCapacity = queueCapacity;
+
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), ThreadPools.threadFactory(name, virtual), new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            return CompletableFuture.failedFuture(new BackendUnavailableException(name, 1));
+        }
+    }
+
+    public Map<String, Long> stats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("threads", (long) executor.getMaximumPoolSize());
+        stats.put("active", (long) executor.getActiveCount());
+        stats.put("queued", (long) executor.getQueue().size());
+        stats.put("queueCapacity", (long) queueCapacity);
+        stats.put("completed", executor.getCompletedTaskCount());
+        stats.put("rejected", rejected.get());
+        return stats;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
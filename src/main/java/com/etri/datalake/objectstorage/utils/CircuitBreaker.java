@@ -0,0 +1,202 @@
+package com.etri.datalake.objectstorage.utils;
+
+import com.etri.datalake.exception.BackendUnavailableException;
+
+import java.time.Clock;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/*
+    연속 실패 횟수 기반 회로 차단기
+    failure-threshold 번 연속 실패하면 open-duration 동안 호출하지 않고 BackendUnavailableException 으로 바로 실패한다.
+    시간이 지나면 한 번의 시험 호출만 보내고, 성공하면 닫고 실패하면 다시 연다.
+    시험 호출이 끝나지 않고 open-duration 이 또 지나면 다른 시험 호출을 허용한다.
+    tryAcquire/acquire 가 돌려준 permit 을 결과와 함께 넘겨, 회로가 열리기 전에 시작된 호출이 시험 호출 표시를 지우지 않게 한다.
+ */
+public class CircuitBreaker {
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    // tryAcquire 결과: 거절, 일반 호출 (그 외 양수는 시험 호출 시작 시각)
+    public static final long REJECTED = -1;
+    public static final long NORMAL = 0;
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openMillis;
+    private final Predicate<Throwable> isFailure;
+    private final Clock clock;
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+    // 0 이면 닫힘
+    private volatile long openedAt;
+    // 0 이면 진행 중인 시험 호출 없음
+    private final AtomicLong trialStartedAt = new AtomicLong();
+
+    private volatile Boolean lastProbeSucceeded;
+    private volatile long lastProbeAt;
+
+    public CircuitBreaker(String name, int failureThreshold, long openMillis, Predicate<Throwable> isFailure) {
+        this(name, failureThreshold, openMillis, isFailure, Clock.systemUTC());
+    }
+
+    CircuitBreaker(String name, int failureThreshold, long openMillis, Predicate<Throwable> isFailure, Clock clock) {
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+        this.isFailure = isFailure;
+        this.clock = clock;
+    }
+
+    /*
+        호출 허용 여부를 permit 으로 반환 (REJECTED, NORMAL 또는 시험 호출의 시작 시각)
+     */
+    public long tryAcquire() {
+        long opened = openedAt;
+        if (opened == 0) {
+            return NORMAL;
+        }
+        long now = clock.millis();
+        if (now - opened < openMillis) {
+            rejected.incrementAndGet();
+            return REJECTED;
+        }
+
+        long trial = trialStartedAt.get();
+        if ((trial == 0 || now - trial >= openMillis) && trialStartedAt.compareAndSet(trial, now)) {
+            return now;
+        }
+        rejected.incrementAndGet();
+        return REJECTED;
+    }
+
+    public long acquire() {
+        long permit = tryAcquire();
+        if (permit == REJECTED) {
+            long remaining = openedAt + openMillis - clock.millis();
+            throw new BackendUnavailableException(name, Math.max(1, (remaining + 999) / 1000));
+        }
+        return permit;
+    }
+
+    public void onSuccess(long permit) {
+        consecutiveFailures.set(0);
+        openedAt = 0;
+        trialStartedAt.set(0);
+    }
+
+    public void onFailure(long permit) {
+        long now = clock.millis();
+        if (permit > NORMAL) {
+            // 시험 호출 실패, 아직 이 호출이 시험 호출일 때만 다시 연다 (시간이 지나 다른 시험 호출로 바뀌었으면 그쪽 결과를 따름)
+            if (trialStartedAt.compareAndSet(permit, 0)) {
+                openedAt = now;
+            }
+            return;
+        }
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold && openedAt == 0) {
+            openedAt = now;
+        }
+    }
+
+    /*
+        백엔드 오류가 아닌 실패(4xx 등)는 백엔드가 응답한 것이므로 성공으로 센다
+     */
+    public void onError(long permit, Throwable e) {
+        if (e instanceof BackendUnavailableException) {
+            return;
+        }
+        if (isFailure.test(e)) {
+            onFailure(permit);
+        } else {
+            onSuccess(permit);
+        }
+    }
+
+    public <T> T call(Supplier<T> supplier) {
+        long permit = acquire();
+        try {
+            T result = supplier.get();
+            onSuccess(permit);
+            return result;
+        } catch (RuntimeException e) {
+            onError(permit, e);
+            throw e;
+        }
+    }
+
+    public <T> CompletableFuture<T> callAsync(Supplier<CompletableFuture<T>> supplier) {
+        long permit;
+        try {
+            permit = acquire();
+        } catch (BackendUnavailableException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        CompletableFuture<T> future;
+        try {
+            future = supplier.get();
+        } catch (RuntimeException e) {
+            onError(permit, e);
+            return CompletableFuture.failedFuture(e);
+        }
+        return future.whenComplete((result, e) -> {
+            if (e == null) {
+                onSuccess(permit);
+            } else {
+                onError(permit, e);
+            }
+        });
+    }
+
+    /*
+        상태 확인 결과 반영
+        성공하면 열린 회로의 대기 시간을 끝내 바로 시험 호출을 허용하고, 실패하면 실패 한 번으로 센다.
+     */
+    public void probeSucceeded() {
+        lastProbeSucceeded = true;
+        lastProbeAt = clock.millis();
+        if (openedAt != 0) {
+            openedAt = lastProbeAt - openMillis;
+        }
+    }
+
+    public void probeFailed() {
+        lastProbeSucceeded = false;
+        lastProbeAt = clock.millis();
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold && openedAt == 0) {
+            openedAt = lastProbeAt;
+        }
+    }
+
+    public State getState() {
+        long opened = openedAt;
+        if (opened == 0) {
+            return State.CLOSED;
+        }
+        return (clock.millis() - opened < openMillis) ? State.OPEN : State.HALF_OPEN;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getConsecutiveFailures() {
+        return consecutiveFailures.get();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    public Boolean getLastProbeSucceeded() {
+        return lastProbeSucceeded;
+    }
+
+    public long getLastProbeAt() {
+        return lastProbeAt;
+    }
+}
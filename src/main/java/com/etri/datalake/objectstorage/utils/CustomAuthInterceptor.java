@@ -1,72 +1,30 @@
 package com.etri.datalake.objectstorage.utils;
 
 import okhttp3.Interceptor;
-import okhttp3.Request;
 import okhttp3.Response;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.IOException;
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
-import java.nio.charset.StandardCharsets;
-import java.time.ZoneId;
-import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.Base64;
 
+/*
+    RGW 관리 API 요청에 서명을 붙이는 OkHttp 인터셉터
+    서명 방식은 RequestSigner 로 정한다 (기본 V2).
+ */
 public class CustomAuthInterceptor implements Interceptor {
 
-    private final String accessKey;
-    private final String secretKey;
+    private final RequestSigner signer;
 
     public CustomAuthInterceptor(String accessKey, String secretKey) {
-        this.accessKey = accessKey;
-        this.secretKey = secretKey;
+        this(new SigV2Signer(accessKey, secretKey));
+    }
+
+    public CustomAuthInterceptor(RequestSigner signer) {
+        this.signer = signer;
     }
 
     @NotNull
     @Override
     public Response intercept(Chain chain) throws IOException {
-        Request originalRequest = chain.request();
-
-        String date = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneId.of("GMT")));
-        String resource = originalRequest.url().encodedPath();
-
-        String signature = sign(originalRequest.method(), date, resource);
-
-        Request signedRequest = originalRequest.newBuilder()
-                .header("Authorization", signature)
-                .header("Date", date)
-                .build();
-
-        return chain.proceed(signedRequest);
-    }
-
-    private String sign(String httpVerb, String date, String resource) {
-        StringBuilder stringToSign = new StringBuilder(httpVerb + "\n\n\n" + date + "\n" + resource);
-
-        try {
-            Mac mac = Mac.getInstance("HmacSHA1");
-            byte[] keyBytes = secretKey.getBytes(StandardCharsets.UTF_8);
-            SecretKeySpec signingKey = new SecretKeySpec(keyBytes, "HmacSHA1");
-            mac.init(signingKey);
-            byte[] signBytes = mac.doFinal(stringToSign.toString().getBytes(StandardCharsets.UTF_8));
-            String signature = encodeBase64(signBytes);
-            return "AWS " + accessKey + ":" + signature;
-        } catch (Exception e) {
-            throw new RuntimeException("MAC CALC FAILED.", e);
-        }
-    }
-
-    private static String encodeBase64(byte[] data) {
-        String base64 = Base64.getEncoder().encodeToString(data);
-        if (base64.endsWith("\r\n")) {
-            base64 = base64.substring(0, base64.length() - 2);
-        }
-        if (base64.endsWith("\n")) {
-            base64 = base64.substring(0, base64.length() - 1);
-        }
-
-        return base64;
+        return chain.proceed(signer.sign(chain.request()));
     }
 }
@@ -0,0 +1,25 @@
+package com.etri.datalake.objectstorage.utils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/*
+    CompletableFuture 를 기다리는 동기 호출용 유틸
+    CompletionException 에 감싸진 RuntimeException(SodasException, RgwAdminException 등)을 그대로 다시 던져
+    동기 API 를 쓰던 호출부와 GlobalExceptionHandler 가 예외 타입을 그대로 받도록 한다.
+ */
+public final class Futures {
+    private Futures() {
+    }
+
+    public static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.etri.datalake.objectstorage.utils;
+
+import okhttp3.Request;
+
+import java.io.IOException;
+
+/*
+    RGW 관리 API 요청 서명
+    V2 는 기존 방식(HmacSHA1), V4 는 AWS Signature Version 4 (HmacSHA256) 이다.
+    object-storage.admin.signature-version 은 SodasRgwAdmin (rate limit API) 에만 적용되고,
+    rgwadmin4j 의 RgwAdmin 은 라이브러리 내부 클라이언트가 서명하므로 항상 V2 이다.
+ */
+public interface RequestSigner {
+    enum Version { V2, V4 }
+
+    Request sign(Request request) throws IOException;
+
+    static RequestSigner of(Version version, String accessKey, String secretKey, String region) {
+        return (version == Version.V4) ? new SigV4Signer(accessKey, secretKey, region, "s3") : new SigV2Signer(accessKey, secretKey);
+    }
+}
@@ -0,0 +1,44 @@
+package com.etri.datalake.objectstorage.utils;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.apache.commons.fileupload.UploadContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/*
+    commons-fileupload 스트리밍 API 에 jakarta HttpServletRequest 를 넘기기 위한 어댑터
+ */
+public class ServletUploadContext implements UploadContext {
+    private final HttpServletRequest request;
+
+    public ServletUploadContext(HttpServletRequest request) {
+        this.request = request;
+    }
+
+    @Override
+    public String getCharacterEncoding() {
+        return request.getCharacterEncoding();
+    }
+
+    @Override
+    public String getContentType() {
+        return request.getContentType();
+    }
+
+    @Override
+    @Deprecated
+    public int getContentLength() {
+        return request.getContentLength();
+    }
+
+    @Override
+    public long contentLength() {
+        return request.getContentLengthLong();
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return request.getInputStream();
+    }
+}
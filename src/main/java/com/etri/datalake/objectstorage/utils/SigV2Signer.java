@@ -0,0 +1,72 @@
+package com.etri.datalake.objectstorage.utils;
+
+import okhttp3.Request;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+
+/*
+    AWS Signature Version 2 서명 (Authorization: AWS accessKey:signature)
+    Mac 은 스레드마다 한 번만 만들어 키를 넣어 두고, Date 헤더 문자열은 초 단위로 재사용한다.
+ */
+public class SigV2Signer implements RequestSigner {
+    private static final DateTimeFormatter RFC_1123 = DateTimeFormatter.RFC_1123_DATE_TIME.withZone(ZoneId.of("GMT"));
+
+    private final String accessKey;
+    private final ThreadLocal<Mac> mac;
+    private volatile CachedDate cachedDate = new CachedDate(-1, null);
+
+    public SigV2Signer(String accessKey, String secretKey) {
+        this.accessKey = accessKey;
+        SecretKeySpec signingKey = new SecretKeySpec(secretKey.getBytes(StandardCharsets.UTF_8), "HmacSHA1");
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac hmac = Mac.getInstance("HmacSHA1");
+                hmac.init(signingKey);
+                return hmac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HmacSHA1 is not available", e);
+            }
+        });
+    }
+
+    @Override
+    public Request sign(Request request) {
+        String date = date();
+        String stringToSign = request.method() + "\n\n\n" + date + "\n" + request.url().encodedPath();
+
+        // doFinal 은 Mac 을 초기 키 상태로 되돌리므로 다시 init 하지 않아도 됨
+        byte[] signature = mac.get().doFinal(stringToSign.getBytes(StandardCharsets.UTF_8));
+
+        return request.newBuilder()
+                .header("Authorization", "AWS " + accessKey + ":" + Base64.getEncoder().encodeToString(signature))
+                .header("Date", date)
+                .build();
+    }
+
+    private String date() {
+        long now = System.currentTimeMillis() / 1000;
+        CachedDate current = cachedDate;
+        if (current.epochSecond != now) {
+            current = new CachedDate(now, RFC_1123.format(Instant.ofEpochSecond(now)));
+            cachedDate = current;
+        }
+        return current.value;
+    }
+
+    private static final class CachedDate {
+        private final long epochSecond;
+        private final String value;
+
+        private CachedDate(long epochSecond, String value) {
+            this.epochSecond = epochSecond;
+            this.value = value;
+        }
+    }
+}
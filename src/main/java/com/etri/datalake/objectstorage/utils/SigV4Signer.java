@@ -0,0 +1,292 @@
+package com.etri.datalake.objectstorage.utils;
+
+import okhttp3.HttpUrl;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okio.Buffer;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+    AWS Signature Version 4 서명 (AWS4-HMAC-SHA256)
+    서명 키(날짜/리전/서비스로 파생)는 날짜가 바뀔 때만 다시 계산하고, Mac/MessageDigest/StringBuilder 는 스레드마다 재사용한다.
+    본문이 max-signed-payload 보다 크면 UNSIGNED-PAYLOAD 로 서명한다.
+    SodasRgwAdmin 의 요청에만 쓰이며, rgwadmin4j(RgwAdmin)는 자체 클라이언트로 계속 V2 서명을 한다.
+ */
+public class SigV4Signer implements RequestSigner {
+    private static final String ALGORITHM = "AWS4-HMAC-SHA256";
+    private static final String SIGNED_HEADERS = "host;x-amz-content-sha256;x-amz-date";
+    private static final String UNSIGNED_PAYLOAD = "UNSIGNED-PAYLOAD";
+    private static final long MAX_SIGNED_PAYLOAD = 1024 * 1024;
+    private static final DateTimeFormatter AMZ_DATE = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final char[] HEX_UPPER = "0123456789ABCDEF".toCharArray();
+
+    private final String accessKey;
+    private final String secretKey;
+    private final String region;
+    private final String service;
+    private final String emptyPayloadHash;
+    private final Clock clock;
+
+    private volatile CachedDate cachedDate = new CachedDate(-1, null);
+    private volatile SigningKey signingKey = new SigningKey(null, null);
+
+    // 서명 키 파생용
+    private final ThreadLocal<Mac> mac = ThreadLocal.withInitial(() -> newInstance(() -> Mac.getInstance("HmacSHA256")));
+    // 오늘 서명 키로 초기화된 Mac, 날짜가 바뀌면 다시 초기화
+    private final ThreadLocal<SigningMac> signingMac = ThreadLocal.withInitial(() -> new SigningMac(newInstance(() -> Mac.getInstance("HmacSHA256"))));
+    private final ThreadLocal<MessageDigest> sha256 = ThreadLocal.withInitial(() -> newInstance(() -> MessageDigest.getInstance("SHA-256")));
+    private final ThreadLocal<StringBuilder> builder = ThreadLocal.withInitial(() -> new StringBuilder(512));
+
+    public SigV4Signer(String accessKey, String secretKey, String region, String service) {
+        this(accessKey, secretKey, region, service, Clock.systemUTC());
+    }
+
+    SigV4Signer(String accessKey, String secretKey, String region, String service, Clock clock) {
+        this.accessKey = accessKey;
+        this.secretKey = secretKey;
+        this.region = region;
+        this.service = service;
+        this.clock = clock;
+        this.emptyPayloadHash = hex(sha256.get().digest(new byte[0]));
+    }
+
+    @Override
+    public Request sign(Request request) throws IOException {
+        CachedDate date = date();
+        String dateStamp = date.amzDate.substring(0, 8);
+        String scope = dateStamp + "/" + region + "/" + service + "/aws4_request";
+        String payloadHash = payloadHash(request.body());
+
+        String stringToSign = stringToSign(date.amzDate, scope, canonicalRequest(request, payloadHash, date.amzDate));
+        String signature = hex(signingMac(dateStamp).doFinal(stringToSign.getBytes(StandardCharsets.UTF_8)));
+
+        StringBuilder sb = builder.get();
+        sb.setLength(0);
+        sb.append(ALGORITHM)
+                .append(" Credential=").append(accessKey).append('/').append(scope)
+                .append(", SignedHeaders=").append(SIGNED_HEADERS)
+                .append(", Signature=").append(signature);
+
+        return request.newBuilder()
+                .header("Authorization", sb.toString())
+                .header("x-amz-date", date.amzDate)
+                .header("x-amz-content-sha256", payloadHash)
+                .build();
+    }
+
+    String canonicalRequest(Request request, String payloadHash, String amzDate) {
+        HttpUrl url = request.url();
+
+        StringBuilder sb = builder.get();
+        sb.setLength(0);
+        sb.append(request.method()).append('\n');
+        appendCanonicalUri(sb, url);
+        sb.append('\n');
+        appendCanonicalQuery(sb, url);
+        sb.append('\n')
+                .append("host:").append(hostHeader(url)).append('\n')
+                .append("x-amz-content-sha256:").append(payloadHash).append('\n')
+                .append("x-amz-date:").append(amzDate).append('\n')
+                .append('\n')
+                .append(SIGNED_HEADERS).append('\n')
+                .append(payloadHash);
+        return sb.toString();
+    }
+
+    String stringToSign(String amzDate, String scope, String canonicalRequest) {
+        String canonicalRequestHash = hex(sha256.get().digest(canonicalRequest.getBytes(StandardCharsets.UTF_8)));
+
+        StringBuilder sb = builder.get();
+        sb.setLength(0);
+        sb.append(ALGORITHM).append('\n')
+                .append(amzDate).append('\n')
+                .append(scope).append('\n')
+                .append(canonicalRequestHash);
+        return sb.toString();
+    }
+
+    private String payloadHash(RequestBody body) throws IOException {
+        if (body == null || body.contentLength() == 0) {
+            return emptyPayloadHash;
+        }
+        if (body.contentLength() < 0 || body.contentLength() > MAX_SIGNED_PAYLOAD || body.isOneShot()) {
+            return UNSIGNED_PAYLOAD;
+        }
+        Buffer buffer = new Buffer();
+        body.writeTo(buffer);
+        return hex(sha256.get().digest(buffer.readByteArray()));
+    }
+
+    /*
+        날짜가 바뀐 경우에만 kSecret -> kDate -> kRegion -> kService -> kSigning 을 다시 계산
+     */
+    byte[] signingKey(String dateStamp) {
+        SigningKey current = signingKey;
+        if (!dateStamp.equals(current.dateStamp)) {
+            Mac hmac = mac.get();
+            byte[] key = hmac(hmac, ("AWS4" + secretKey).getBytes(StandardCharsets.UTF_8), dateStamp);
+            key = hmac(hmac, key, region);
+            key = hmac(hmac, key, service);
+            key = hmac(hmac, key, "aws4_request");
+            current = new SigningKey(dateStamp, key);
+            signingKey = current;
+        }
+        return current.key;
+    }
+
+    private Mac signingMac(String dateStamp) {
+        SigningMac current = signingMac.get();
+        if (!dateStamp.equals(current.dateStamp)) {
+            init(current.mac, signingKey(dateStamp));
+            current.dateStamp = dateStamp;
+        }
+        return current.mac;
+    }
+
+    private CachedDate date() {
+        long now = clock.millis() / 1000;
+        CachedDate current = cachedDate;
+        if (current.epochSecond != now) {
+            current = new CachedDate(now, AMZ_DATE.format(Instant.ofEpochSecond(now)));
+            cachedDate = current;
+        }
+        return current;
+    }
+
+    private static void appendCanonicalUri(StringBuilder sb, HttpUrl url) {
+        for (String segment : url.pathSegments()) {
+            sb.append('/');
+            uriEncode(sb, segment);
+        }
+        if (url.pathSegments().isEmpty()) {
+            sb.append('/');
+        }
+    }
+
+    /*
+        이름, 값 순으로 정렬한 쿼리 문자열 (AWS 규칙으로 다시 인코딩)
+     */
+    private static void appendCanonicalQuery(StringBuilder sb, HttpUrl url) {
+        int size = url.querySize();
+        if (size == 0) {
+            return;
+        }
+        List<String[]> parameters = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String value = url.queryParameterValue(i);
+            parameters.add(new String[]{uriEncode(url.queryParameterName(i)), uriEncode((value == null) ? "" : value)});
+        }
+        parameters.sort((a, b) -> {
+            int compare = a[0].compareTo(b[0]);
+            return (compare != 0) ? compare : a[1].compareTo(b[1]);
+        });
+
+        for (int i = 0; i < parameters.size(); i++) {
+            if (i > 0) {
+                sb.append('&');
+            }
+            sb.append(parameters.get(i)[0]).append('=').append(parameters.get(i)[1]);
+        }
+    }
+
+    private static String hostHeader(HttpUrl url) {
+        return (url.port() == HttpUrl.defaultPort(url.scheme())) ? url.host() : url.host() + ":" + url.port();
+    }
+
+    private static String uriEncode(String value) {
+        StringBuilder sb = new StringBuilder(value.length() + 16);
+        uriEncode(sb, value);
+        return sb.toString();
+    }
+
+    /*
+        RFC 3986 unreserved 문자(A-Z a-z 0-9 - _ . ~)만 그대로 두고 나머지는 %XX (UTF-8)
+     */
+    private static void uriEncode(StringBuilder sb, String value) {
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            char c = (char) (b & 0xff);
+            if ((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '_' || c == '.' || c == '~') {
+                sb.append(c);
+            } else {
+                sb.append('%').append(HEX_UPPER[(b >> 4) & 0xf]).append(HEX_UPPER[b & 0xf]);
+            }
+        }
+    }
+
+    private static byte[] hmac(Mac hmac, byte[] key, String data) {
+        init(hmac, key);
+        return hmac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void init(Mac hmac, byte[] key) {
+        try {
+            hmac.init(new SecretKeySpec(key, "HmacSHA256"));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Invalid signing key", e);
+        }
+    }
+
+    private static String hex(byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX[(bytes[i] >> 4) & 0xf];
+            chars[i * 2 + 1] = HEX[bytes[i] & 0xf];
+        }
+        return new String(chars);
+    }
+
+    private interface SecuritySupplier<T> {
+        T get() throws GeneralSecurityException;
+    }
+
+    private static <T> T newInstance(SecuritySupplier<T> supplier) {
+        try {
+            return supplier.get();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class CachedDate {
+        private final long epochSecond;
+        private final String amzDate;
+
+        private CachedDate(long epochSecond, String amzDate) {
+            this.epochSecond = epochSecond;
+            this.amzDate = amzDate;
+        }
+    }
+
+    private static final class SigningMac {
+        private final Mac mac;
+        private String dateStamp;
+
+        private SigningMac(Mac mac) {
+            this.mac = mac;
+        }
+    }
+
+    private static final class SigningKey {
+        private final String dateStamp;
+        private final byte[] key;
+
+        private SigningKey(String dateStamp, byte[] key) {
+            this.dateStamp = dateStamp;
+            this.key = key;
+        }
+    }
+}
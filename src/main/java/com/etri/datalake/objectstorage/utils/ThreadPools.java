@@ -0,0 +1,88 @@
+package com.etri.datalake.objectstorage.utils;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+    내부 실행 풀 생성
+    object-storage.virtual-threads.enabled 가 켜져 있고 JDK 21 이상에서 실행 중이면 가상 스레드를 쓴다.
+    빌드는 Java 17 기준이므로 가상 스레드 API 는 리플렉션으로 호출하며, 지원하지 않으면 플랫폼 스레드로 만든다.
+ */
+public final class ThreadPools {
+    private static final Method OF_VIRTUAL;
+    private static final Method BUILDER_NAME;
+    private static final Method BUILDER_FACTORY;
+    private static final Method NEW_THREAD_PER_TASK_EXECUTOR;
+
+    static {
+        Method ofVirtual = null;
+        Method builderName = null;
+        Method builderFactory = null;
+        Method newThreadPerTaskExecutor = null;
+        try {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            builderName = builderClass.getMethod("name", String.class, long.class);
+            builderFactory = builderClass.getMethod("factory");
+            newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            // preview 기능으로만 있는 JDK 에서는 여기서 실패
+            ofVirtual.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            ofVirtual = null;
+        }
+        OF_VIRTUAL = ofVirtual;
+        BUILDER_NAME = builderName;
+        BUILDER_FACTORY = builderFactory;
+        NEW_THREAD_PER_TASK_EXECUTOR = newThreadPerTaskExecutor;
+    }
+
+    private ThreadPools() {
+    }
+
+    public static boolean virtualThreadsSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    /*
+        스레드 수만큼만 동시에 실행하는 풀 (동시 실행 수 자체가 제한인 경우)
+     */
+    public static ExecutorService fixed(String name, int threads, boolean virtual) {
+        return Executors.newFixedThreadPool(threads, threadFactory(name, virtual));
+    }
+
+    /*
+        블로킹 I/O 를 기다리는 작업용 풀
+        가상 스레드에서는 작업마다 스레드를 만들어 동시 호출 수가 스레드 수에 묶이지 않는다.
+     */
+    public static ExecutorService perTask(String name, int threads, boolean virtual) {
+        if (virtual && virtualThreadsSupported()) {
+            try {
+                return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(null, threadFactory(name, true));
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Failed to create a virtual thread executor", e);
+            }
+        }
+        return fixed(name, threads, false);
+    }
+
+    public static ThreadFactory threadFactory(String name, boolean virtual) {
+        if (virtual && virtualThreadsSupported()) {
+            try {
+                Object builder = BUILDER_NAME.invoke(OF_VIRTUAL.invoke(null), name + "-", 1L);
+                return (ThreadFactory) BUILDER_FACTORY.invoke(builder);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Failed to create a virtual thread factory", e);
+            }
+        }
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,98 @@
+package com.etri.datalake.objectstorage.rgw;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.*;
+import com.etri.datalake.objectstorage.job.Job;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.twonote.rgwadmin4j.model.S3Credential;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class AclPropagatorTest {
+    private static final String BUCKET = "bucket";
+    private static final String BUCKET_OWNER = "owner";
+
+    private final S3ClientRegistry s3ClientRegistry = mock(S3ClientRegistry.class);
+    private final AmazonS3 conn = mock(AmazonS3.class);
+    private final S3Credential key = mock(S3Credential.class);
+    private final Job job = mock(Job.class);
+    private AclPropagator aclPropagator;
+
+    @BeforeEach
+    void setUp() {
+        when(s3ClientRegistry.getClient(key)).thenReturn(conn);
+        ListObjectsV2Result page = new ListObjectsV2Result();
+        S3ObjectSummary summary = new S3ObjectSummary();
+        summary.setKey("a.txt");
+        page.getObjectSummaries().add(summary);
+        when(conn.listObjectsV2(any(ListObjectsV2Request.class))).thenReturn(page);
+        aclPropagator = new AclPropagator(s3ClientRegistry, 4, 4, 0, 1, false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        aclPropagator.shutdown();
+    }
+
+    @Test
+    void stripKeepsOwnersAndGroups() {
+        AccessControlList acl = acl("uploader");
+        acl.grantPermission(new CanonicalGrantee("uploader"), Permission.FullControl);
+        acl.grantPermission(new CanonicalGrantee(BUCKET_OWNER), Permission.FullControl);
+        acl.grantPermission(new CanonicalGrantee("collaborator"), Permission.Read);
+        acl.grantPermission(GroupGrantee.AllUsers, Permission.Read);
+        when(conn.getObjectAcl(BUCKET, "a.txt")).thenReturn(acl);
+
+        aclPropagator.strip(key, BUCKET, BUCKET_OWNER, job);
+
+        ArgumentCaptor<AccessControlList> written = ArgumentCaptor.forClass(AccessControlList.class);
+        verify(conn).setObjectAcl(eq(BUCKET), eq("a.txt"), written.capture());
+        List<Grant> grants = written.getValue().getGrantsAsList();
+        assertEquals(3, grants.size());
+        assertTrue(grants.stream().noneMatch(grant -> grant.getGrantee().getIdentifier().equals("collaborator")));
+        assertEquals("uploader", written.getValue().getOwner().getId());
+        verify(job).addProcessed(1);
+    }
+
+    @Test
+    void stripLeavesCleanAclUntouched() {
+        AccessControlList acl = acl(BUCKET_OWNER);
+        acl.grantPermission(new CanonicalGrantee(BUCKET_OWNER), Permission.FullControl);
+        when(conn.getObjectAcl(BUCKET, "a.txt")).thenReturn(acl);
+
+        aclPropagator.strip(key, BUCKET, BUCKET_OWNER, job);
+
+        verify(conn, never()).setObjectAcl(any(String.class), any(String.class), any(AccessControlList.class));
+        verify(job).addProcessed(1);
+    }
+
+    @Test
+    void stripFailureIsReportedOnJob() {
+        AccessControlList acl = acl(BUCKET_OWNER);
+        acl.grantPermission(new CanonicalGrantee("collaborator"), Permission.Read);
+        when(conn.getObjectAcl(BUCKET, "a.txt")).thenReturn(acl);
+        AmazonS3Exception denied = new AmazonS3Exception("Access Denied");
+        denied.setStatusCode(403);
+        doThrow(denied).when(conn).setObjectAcl(eq(BUCKET), eq("a.txt"), any(AccessControlList.class));
+
+        aclPropagator.strip(key, BUCKET, BUCKET_OWNER, job);
+
+        // 정리하지 못한 오브젝트는 작업 실패로 남아 회수가 끝나지 않았음을 알 수 있음
+        verify(job).addFailure(eq("a.txt"), any());
+        verify(job, never()).addProcessed(anyLong());
+    }
+
+    private static AccessControlList acl(String ownerId) {
+        AccessControlList acl = new AccessControlList();
+        acl.setOwner(new Owner(ownerId, ownerId));
+        return acl;
+    }
+}
@@ -0,0 +1,77 @@
+package com.etri.datalake.objectstorage.rgw;
+
+import com.etri.datalake.objectstorage.constants.SAdminList;
+import com.etri.datalake.objectstorage.utils.ThreadPools;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/*
+    느린 RGW 호출(sleep 으로 흉내)을 스레드 수보다 훨씬 많이 동시에 보냈을 때 걸리는 시간
+    플랫폼 스레드에서는 (호출 수 / 스레드 수) x 지연, 가상 스레드에서는 지연 한 번 정도여야 한다.
+ */
+class AdminFanOutTest {
+    private static final int THREADS = 4;
+    private static final long LATENCY_MILLIS = 200;
+
+    @Test
+    void platformThreadsLimitConcurrentCalls() {
+        int calls = 40;
+        AdminFanOut fanOut = new AdminFanOut(THREADS, 60000, false);
+        try {
+            long elapsed = run(fanOut, calls);
+
+            assertTrue(elapsed >= (calls / THREADS) * LATENCY_MILLIS, "elapsed: " + elapsed + "ms");
+        } finally {
+            fanOut.shutdown();
+        }
+    }
+
+    /*
+        JDK 21 이상에서만 실행 (-PjavaVersion=21)
+     */
+    @Test
+    void virtualThreadsAreNotLimitedByThreadCount() {
+        assumeTrue(ThreadPools.virtualThreadsSupported(), "virtual threads require JDK 21");
+
+        int calls = 1000;
+        AdminFanOut fanOut = new AdminFanOut(THREADS, 60000, true);
+        try {
+            long elapsed = run(fanOut, calls);
+
+            // 스레드 수로 제한된다면 (1000 / 4) x 200ms = 50s
+            assertTrue(elapsed < 5 * LATENCY_MILLIS, "elapsed: " + elapsed + "ms");
+        } finally {
+            fanOut.shutdown();
+        }
+    }
+
+    private static long run(AdminFanOut fanOut, int calls) {
+        List<String> uids = new ArrayList<>(calls);
+        for (int i = 0; i < calls; i++) {
+            uids.add("uid-" + i);
+        }
+
+        long start = System.nanoTime();
+        SAdminList<String> result = fanOut.fanOut(uids, uid -> {
+            try {
+                Thread.sleep(LATENCY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            return uid;
+        });
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals(calls, result.getResults().size());
+        assertTrue(result.getErrors().isEmpty(), () -> "errors: " + result.getErrors());
+        return elapsed;
+    }
+}
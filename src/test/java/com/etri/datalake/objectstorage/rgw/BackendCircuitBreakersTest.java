@@ -0,0 +1,78 @@
+package com.etri.datalake.objectstorage.rgw;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.SdkClientException;
+import com.etri.datalake.objectstorage.utils.CircuitBreaker;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.UncheckedIOException;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BackendCircuitBreakersTest {
+    @Test
+    void serverErrorsAreFailures() {
+        assertTrue(BackendCircuitBreakers.isBackendFailure(serviceException(503)));
+        assertTrue(BackendCircuitBreakers.isBackendFailure(new HttpServerErrorException(HttpStatus.BAD_GATEWAY)));
+    }
+
+    @Test
+    void throttlingIsNotFailure() {
+        assertFalse(BackendCircuitBreakers.isBackendFailure(serviceException(503, "SlowDown")));
+        assertFalse(BackendCircuitBreakers.isBackendFailure(new CompletionException(serviceException(503, "SlowDown"))));
+        assertFalse(BackendCircuitBreakers.isBackendFailure(serviceException(503, "RequestLimitExceeded")));
+        assertTrue(BackendCircuitBreakers.isBackendFailure(serviceException(503, "ServiceUnavailable")));
+    }
+
+    @Test
+    void throttledCallsDoNotOpenSharedBreaker() {
+        BackendCircuitBreakers breakers = new BackendCircuitBreakers(3, 30000);
+        CircuitBreaker breaker = breakers.get(BackendCircuitBreakers.Backend.RGW_S3);
+
+        for (int i = 0; i < 10; i++) {
+            breaker.onError(breaker.tryAcquire(), serviceException(503, "SlowDown"));
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void clientErrorsAreNotFailures() {
+        assertFalse(BackendCircuitBreakers.isBackendFailure(serviceException(404)));
+        assertFalse(BackendCircuitBreakers.isBackendFailure(new CompletionException(serviceException(403))));
+        assertFalse(BackendCircuitBreakers.isBackendFailure(new HttpClientErrorException(HttpStatus.NOT_FOUND)));
+    }
+
+    @Test
+    void connectionErrorsAndTimeoutsAreFailures() {
+        assertTrue(BackendCircuitBreakers.isBackendFailure(new SdkClientException("Unable to execute HTTP request")));
+        assertTrue(BackendCircuitBreakers.isBackendFailure(new ResourceAccessException("I/O error", new SocketTimeoutException())));
+        assertTrue(BackendCircuitBreakers.isBackendFailure(new CompletionException(new UncheckedIOException(new SocketTimeoutException()))));
+        assertTrue(BackendCircuitBreakers.isBackendFailure(new CompletionException(new TimeoutException())));
+    }
+
+    @Test
+    void otherExceptionsAreNotFailures() {
+        assertFalse(BackendCircuitBreakers.isBackendFailure(new IllegalStateException("bad response")));
+        assertFalse(BackendCircuitBreakers.isBackendFailure(new CompletionException(new NullPointerException())));
+    }
+
+    private static AmazonServiceException serviceException(int status) {
+        return serviceException(status, null);
+    }
+
+    private static AmazonServiceException serviceException(int status, String errorCode) {
+        AmazonServiceException e = new AmazonServiceException("error");
+        e.setStatusCode(status);
+        e.setErrorCode(errorCode);
+        return e;
+    }
+}
@@ -0,0 +1,138 @@
+package com.etri.datalake.objectstorage.rgw;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class MultipartUploaderTest {
+    private static final int PART_SIZE = 4;
+
+    private final MultipartUploader uploader = new MultipartUploader(PART_SIZE, 2, 4, 1000, 4, false);
+    private final AmazonS3 conn = mock(AmazonS3.class);
+    private final AccessControlList acl = new AccessControlList();
+    // 파트 번호별로 전송된 내용 (전송이 끝나면 버퍼가 반납되므로 응답 시점에 읽어 둠)
+    private final Map<Integer, String> uploadedParts = new ConcurrentHashMap<>();
+    private final Map<String, String> putObjects = new ConcurrentHashMap<>();
+
+    @AfterEach
+    void tearDown() {
+        uploader.shutdown();
+    }
+
+    @Test
+    void smallerThanPartSizeUsesSinglePut() throws Exception {
+        stubPutObject();
+
+        uploader.upload(conn, "bucket", "key", stream("abc"), acl);
+
+        assertEquals("abc", putObjects.get("key"));
+        ArgumentCaptor<PutObjectRequest> captor = ArgumentCaptor.forClass(PutObjectRequest.class);
+        verify(conn).putObject(captor.capture());
+        assertEquals(3, captor.getValue().getMetadata().getContentLength());
+        assertSame(acl, captor.getValue().getAccessControlList());
+        verify(conn, never()).initiateMultipartUpload(any());
+    }
+
+    @Test
+    void emptyStreamUsesSinglePut() throws Exception {
+        stubPutObject();
+
+        uploader.upload(conn, "bucket", "key", stream(""), acl);
+
+        assertEquals("", putObjects.get("key"));
+        verify(conn, never()).initiateMultipartUpload(any());
+    }
+
+    @Test
+    void exactlyOnePartUsesMultipartWithoutEmptyPart() throws Exception {
+        stubMultipart();
+
+        uploader.upload(conn, "bucket", "key", stream("abcd"), acl);
+
+        assertEquals(Map.of(1, "abcd"), uploadedParts);
+        assertEquals(List.of(1), completedPartNumbers());
+        verify(conn, never()).putObject(any(PutObjectRequest.class));
+    }
+
+    @Test
+    void largerThanPartSizeUploadsPartsInOrder() throws Exception {
+        stubMultipart();
+
+        uploader.upload(conn, "bucket", "key", stream("abcdefghij"), acl);
+
+        assertEquals(Map.of(1, "abcd", 2, "efgh", 3, "ij"), uploadedParts);
+        assertEquals(List.of(1, 2, 3), completedPartNumbers());
+
+        ArgumentCaptor<InitiateMultipartUploadRequest> captor = ArgumentCaptor.forClass(InitiateMultipartUploadRequest.class);
+        verify(conn).initiateMultipartUpload(captor.capture());
+        assertSame(acl, captor.getValue().getAccessControlList());
+    }
+
+    @Test
+    void failedPartAbortsUpload() throws Exception {
+        stubMultipart();
+        AmazonServiceException quotaExceeded = new AmazonServiceException("QuotaExceeded");
+        doThrow(quotaExceeded).when(conn).uploadPart(argThat(request -> request.getPartNumber() == 2));
+
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> uploader.upload(conn, "bucket", "key", stream("abcdefghijklmnop"), acl));
+
+        assertSame(quotaExceeded, e);
+        verify(conn).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+        verify(conn, never()).completeMultipartUpload(any());
+    }
+
+    private void stubPutObject() {
+        when(conn.putObject(any(PutObjectRequest.class))).thenAnswer(invocation -> {
+            PutObjectRequest request = invocation.getArgument(0);
+            putObjects.put(request.getKey(), read(request.getInputStream()));
+            return new PutObjectResult();
+        });
+    }
+
+    private void stubMultipart() {
+        InitiateMultipartUploadResult initiated = new InitiateMultipartUploadResult();
+        initiated.setUploadId("upload-1");
+        when(conn.initiateMultipartUpload(any())).thenReturn(initiated);
+        when(conn.uploadPart(any())).thenAnswer(invocation -> {
+            UploadPartRequest request = invocation.getArgument(0);
+            uploadedParts.put(request.getPartNumber(), read(request.getInputStream()));
+            UploadPartResult result = new UploadPartResult();
+            result.setPartNumber(request.getPartNumber());
+            result.setETag("etag-" + request.getPartNumber());
+            return result;
+        });
+        when(conn.completeMultipartUpload(any())).thenReturn(new CompleteMultipartUploadResult());
+    }
+
+    private List<Integer> completedPartNumbers() {
+        ArgumentCaptor<CompleteMultipartUploadRequest> captor = ArgumentCaptor.forClass(CompleteMultipartUploadRequest.class);
+        verify(conn).completeMultipartUpload(captor.capture());
+        assertEquals("upload-1", captor.getValue().getUploadId());
+        return captor.getValue().getPartETags().stream().map(PartETag::getPartNumber).collect(Collectors.toList());
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static String read(InputStream inputStream) throws IOException {
+        return new String(inputStream.readAllBytes(), StandardCharsets.US_ASCII);
+    }
+}
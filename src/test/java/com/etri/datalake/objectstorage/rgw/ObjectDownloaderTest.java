@@ -0,0 +1,161 @@
+package com.etri.datalake.objectstorage.rgw;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.Headers;
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.S3Object;
+import com.amazonaws.services.s3.model.S3ObjectInputStream;
+import org.apache.http.client.methods.HttpGet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ObjectDownloaderTest {
+    private static final String BUCKET = "bucket";
+    private static final String KEY = "object";
+    private static final byte[] CONTENT = "abcdefghij".getBytes(StandardCharsets.US_ASCII);
+    private static final String ETAG = "\"etag-1\"";
+
+    private final ObjectDownloader downloader = new ObjectDownloader(4, 2, 1000);
+    private final AmazonS3 conn = mock(AmazonS3.class);
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @BeforeEach
+    void setUp() {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setHeader(Headers.ETAG, "etag-1");
+        metadata.setContentLength(CONTENT.length);
+        metadata.setContentType("text/plain");
+        when(conn.getObjectMetadata(BUCKET, KEY)).thenReturn(metadata);
+
+        // 요청한 range 만큼 잘라서 돌려줌
+        when(conn.getObject(any(GetObjectRequest.class))).thenAnswer(invocation -> {
+            GetObjectRequest getObjectRequest = invocation.getArgument(0);
+            long[] range = getObjectRequest.getRange();
+            byte[] body = (range == null) ? CONTENT : Arrays.copyOfRange(CONTENT, (int) range[0], (int) range[1] + 1);
+            S3Object s3Object = new S3Object();
+            s3Object.setObjectContent(new S3ObjectInputStream(new ByteArrayInputStream(body), new HttpGet()));
+            return s3Object;
+        });
+    }
+
+    @Test
+    void withoutRangeSendsWholeObject() throws Exception {
+        downloader.download(conn, BUCKET, KEY, request, response);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(CONTENT.length, response.getContentLengthLong());
+        assertEquals("abcdefghij", response.getContentAsString());
+        assertEquals(ETAG, response.getHeader(HttpHeaders.ETAG));
+        assertEquals("bytes", response.getHeader(HttpHeaders.ACCEPT_RANGES));
+    }
+
+    @Test
+    void singleRange() throws Exception {
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-4");
+        downloader.download(conn, BUCKET, KEY, request, response);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 2-4/10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals(3, response.getContentLengthLong());
+        assertEquals("cde", response.getContentAsString());
+    }
+
+    @Test
+    void suffixAndOpenEndedRanges() throws Exception {
+        request.addHeader(HttpHeaders.RANGE, "bytes=-3");
+        downloader.download(conn, BUCKET, KEY, request, response);
+        assertEquals("bytes 7-9/10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals("hij", response.getContentAsString());
+
+        MockHttpServletRequest openEnded = new MockHttpServletRequest();
+        MockHttpServletResponse openEndedResponse = new MockHttpServletResponse();
+        openEnded.addHeader(HttpHeaders.RANGE, "bytes=8-");
+        downloader.download(conn, BUCKET, KEY, openEnded, openEndedResponse);
+        assertEquals("bytes 8-9/10", openEndedResponse.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals("ij", openEndedResponse.getContentAsString());
+    }
+
+    @Test
+    void multipleRangesAreSentAsMultipart() throws Exception {
+        request.addHeader(HttpHeaders.RANGE, "bytes=0-1,6-7");
+        downloader.download(conn, BUCKET, KEY, request, response);
+
+        assertEquals(206, response.getStatus());
+        assertTrue(response.getContentType().startsWith("multipart/byteranges; boundary="));
+        String body = response.getContentAsString();
+        assertTrue(body.contains("Content-Range: bytes 0-1/10\r\n\r\nab"));
+        assertTrue(body.contains("Content-Range: bytes 6-7/10\r\n\r\ngh"));
+        assertTrue(body.endsWith("--\r\n"));
+    }
+
+    @Test
+    void unsatisfiableRange() throws Exception {
+        request.addHeader(HttpHeaders.RANGE, "bytes=20-30");
+        downloader.download(conn, BUCKET, KEY, request, response);
+
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        verify(conn, never()).getObject(any(GetObjectRequest.class));
+    }
+
+    @Test
+    void malformedRange() throws Exception {
+        request.addHeader(HttpHeaders.RANGE, "bytes=abc");
+        downloader.download(conn, BUCKET, KEY, request, response);
+
+        assertEquals(416, response.getStatus());
+    }
+
+    @Test
+    void matchingIfRangeKeepsRange() throws Exception {
+        request.addHeader(HttpHeaders.RANGE, "bytes=0-2");
+        request.addHeader(HttpHeaders.IF_RANGE, ETAG);
+        downloader.download(conn, BUCKET, KEY, request, response);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("abc", response.getContentAsString());
+    }
+
+    @Test
+    void staleIfRangeSendsWholeObject() throws Exception {
+        request.addHeader(HttpHeaders.RANGE, "bytes=0-2");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"etag-0\"");
+        downloader.download(conn, BUCKET, KEY, request, response);
+
+        assertEquals(200, response.getStatus());
+        assertNull(response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals("abcdefghij", response.getContentAsString());
+    }
+
+    @Test
+    void matchingIfNoneMatchIsNotModified() throws Exception {
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"other\", W/" + ETAG);
+        downloader.download(conn, BUCKET, KEY, request, response);
+
+        assertEquals(304, response.getStatus());
+        verify(conn, never()).getObject(any(GetObjectRequest.class));
+    }
+
+    @Test
+    void rangeRequestsCarryETagConstraint() throws Exception {
+        request.addHeader(HttpHeaders.RANGE, "bytes=1-1");
+        downloader.download(conn, BUCKET, KEY, request, response);
+
+        verify(conn).getObject(argThat((GetObjectRequest getObjectRequest) ->
+                getObjectRequest.getMatchingETagConstraints().contains("etag-1")
+                        && getObjectRequest.getRange()[0] == 1 && getObjectRequest.getRange()[1] == 1));
+    }
+}
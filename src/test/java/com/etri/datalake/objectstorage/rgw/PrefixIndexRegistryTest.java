@@ -0,0 +1,115 @@
+package com.etri.datalake.objectstorage.rgw;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.ListObjectsV2Request;
+import com.amazonaws.services.s3.model.ListObjectsV2Result;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import com.etri.datalake.objectstorage.constants.SFolder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.twonote.rgwadmin4j.model.S3Credential;
+
+import java.util.Date;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class PrefixIndexRegistryTest {
+    private static final String BUCKET = "bucket";
+
+    private final S3ClientRegistry s3ClientRegistry = mock(S3ClientRegistry.class);
+    private final AmazonS3 conn = mock(AmazonS3.class);
+    private final S3Credential key = mock(S3Credential.class);
+    private final CountDownLatch listingStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseListing = new CountDownLatch(1);
+    private PrefixIndexRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        when(key.getAccessKey()).thenReturn("access");
+        when(s3ClientRegistry.getClient(key)).thenReturn(conn);
+        when(conn.listObjectsV2(any(ListObjectsV2Request.class))).thenAnswer(invocation -> {
+            ListObjectsV2Request request = invocation.getArgument(0);
+            if (request.getMaxKeys() == 1) {
+                return new ListObjectsV2Result();
+            }
+            // 전체 나열은 테스트가 풀어줄 때까지 멈춤
+            listingStarted.countDown();
+            releaseListing.await();
+            ListObjectsV2Result result = new ListObjectsV2Result();
+            result.getObjectSummaries().add(summary("docs/a.txt", 10));
+            return result;
+        });
+        registry = new PrefixIndexRegistry(s3ClientRegistry, 1000, 1000, 600000, 300000, 2, false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        releaseListing.countDown();
+        registry.shutdown();
+    }
+
+    @Test
+    void browseFallsBackWhileIndexIsBuilt() throws Exception {
+        assertNull(registry.browse(key, BUCKET, ""));
+        assertTrue(listingStarted.await(5, TimeUnit.SECONDS));
+        // 만드는 중에도 요청 스레드는 기다리지 않음
+        assertNull(registry.browse(key, BUCKET, ""));
+
+        releaseListing.countDown();
+        SFolder root = awaitIndex();
+
+        assertEquals(1, root.getObjectCount());
+        assertEquals("docs/", root.getFolders().get(0).getPrefix());
+    }
+
+    @Test
+    void uploadDuringBuildIsIndexed() throws Exception {
+        registry.browse(key, BUCKET, "");
+        assertTrue(listingStarted.await(5, TimeUnit.SECONDS));
+
+        registry.objectPut(BUCKET, "docs/b.txt", () -> metadata(20));
+        releaseListing.countDown();
+        SFolder root = awaitIndex();
+
+        assertEquals(2, root.getObjectCount());
+        assertEquals(30, root.getTotalSize());
+    }
+
+    @Test
+    void uploadToUntrackedBucketSkipsMetadata() {
+        registry.objectPut(BUCKET, "docs/b.txt", () -> fail("metadata should not be fetched"));
+
+        verifyNoInteractions(conn);
+    }
+
+    private SFolder awaitIndex() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        SFolder folder;
+        while ((folder = registry.browse(key, BUCKET, "")) == null) {
+            assertTrue(System.nanoTime() < deadline, "index was not built");
+            Thread.sleep(10);
+        }
+        return folder;
+    }
+
+    private static S3ObjectSummary summary(String objectKey, long size) {
+        S3ObjectSummary summary = new S3ObjectSummary();
+        summary.setKey(objectKey);
+        summary.setSize(size);
+        summary.setLastModified(new Date(1000));
+        return summary;
+    }
+
+    private static ObjectMetadata metadata(long size) {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(size);
+        metadata.setLastModified(new Date(2000));
+        return metadata;
+    }
+}
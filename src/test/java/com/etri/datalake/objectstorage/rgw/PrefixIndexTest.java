@@ -0,0 +1,131 @@
+package com.etri.datalake.objectstorage.rgw;
+
+import com.etri.datalake.objectstorage.constants.BObject;
+import com.etri.datalake.objectstorage.constants.SFolder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrefixIndexTest {
+    private final PrefixIndex index = new PrefixIndex();
+
+    @BeforeEach
+    void setUp() {
+        index.put("a.txt", 10, 1000);
+        index.put("docs/x.txt", 20, 2000);
+        index.put("docs/y.txt", 30, 3000);
+        index.put("docs/sub/z.txt", 40, 4000);
+        index.put("images/p.png", 5, 5000);
+    }
+
+    @Test
+    void browseRoot() {
+        SFolder root = index.browse("");
+
+        assertEquals(5, root.getObjectCount());
+        assertEquals(105, root.getTotalSize());
+        assertEquals(List.of("docs/", "images/"), prefixes(root));
+        assertEquals(List.of("a.txt"), names(root));
+
+        SFolder docs = root.getFolders().get(0);
+        assertEquals(3, docs.getObjectCount());
+        assertEquals(90, docs.getTotalSize());
+    }
+
+    @Test
+    void browseFolder() {
+        SFolder docs = index.browse("docs/");
+
+        assertEquals(3, docs.getObjectCount());
+        assertEquals(List.of("docs/sub/"), prefixes(docs));
+        assertEquals(List.of("docs/x.txt", "docs/y.txt"), names(docs));
+        assertEquals(2000, docs.getFiles().get(0).getCreateTime().getTime());
+    }
+
+    @Test
+    void browsePartialSegment() {
+        SFolder partial = index.browse("docs/x");
+
+        assertEquals(1, partial.getObjectCount());
+        assertEquals(20, partial.getTotalSize());
+        assertTrue(partial.getFolders().isEmpty());
+        assertEquals(List.of("docs/x.txt"), names(partial));
+    }
+
+    @Test
+    void browseMissingPrefix() {
+        SFolder missing = index.browse("missing/");
+
+        assertEquals(0, missing.getObjectCount());
+        assertTrue(missing.getFolders().isEmpty());
+        assertTrue(missing.getFiles().isEmpty());
+    }
+
+    @Test
+    void overwriteUpdatesSizeOnly() {
+        index.put("docs/x.txt", 25, 6000);
+
+        SFolder docs = index.browse("docs/");
+        assertEquals(3, docs.getObjectCount());
+        assertEquals(95, docs.getTotalSize());
+        assertEquals(5, index.objectCount());
+        assertEquals(6000, docs.getFiles().get(0).getCreateTime().getTime());
+    }
+
+    @Test
+    void folderMarkerIsListedAsFile() {
+        index.put("docs/", 0, 7000);
+
+        SFolder docs = index.browse("docs/");
+        assertEquals(4, docs.getObjectCount());
+        assertEquals(List.of("docs/", "docs/x.txt", "docs/y.txt"), names(docs));
+    }
+
+    @Test
+    void removeUpdatesCountsAndPrunesEmptyFolders() {
+        index.remove("docs/sub/z.txt");
+
+        SFolder docs = index.browse("docs/");
+        assertEquals(2, docs.getObjectCount());
+        assertEquals(50, docs.getTotalSize());
+        assertTrue(docs.getFolders().isEmpty());
+        assertEquals(4, index.objectCount());
+
+        index.remove("images/p.png");
+        assertEquals(List.of("docs/"), prefixes(index.browse("")));
+    }
+
+    @Test
+    void removeMissingKeyIsIgnored() {
+        index.remove("docs/none.txt");
+        index.remove("docs/");
+        index.remove("nothing/here");
+
+        assertEquals(5, index.objectCount());
+        assertEquals(105, index.browse("").getTotalSize());
+    }
+
+    @Test
+    void shadowReceivesChanges() {
+        PrefixIndex shadow = new PrefixIndex();
+        index.setShadow(shadow);
+
+        index.put("new.txt", 1, 8000);
+        index.remove("a.txt");
+
+        assertEquals(List.of("new.txt"), names(shadow.browse("")));
+        assertEquals(1, shadow.objectCount());
+    }
+
+    private static List<String> prefixes(SFolder folder) {
+        return folder.getFolders().stream().map(SFolder::getPrefix).collect(Collectors.toList());
+    }
+
+    private static List<String> names(SFolder folder) {
+        return folder.getFiles().stream().map(BObject::getObjectName).collect(Collectors.toList());
+    }
+}
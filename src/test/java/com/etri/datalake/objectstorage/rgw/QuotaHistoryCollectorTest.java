@@ -0,0 +1,41 @@
+package com.etri.datalake.objectstorage.rgw;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class QuotaHistoryCollectorTest {
+    @Test
+    void projectsLinearGrowthToQuota() {
+        long[] timestamps = {0, 1000, 2000};
+        long[] sizes = {100, 200, 300};
+
+        // 0.1 byte/ms, 남은 700 byte
+        assertEquals(9000L, QuotaHistoryCollector.projectExhaustion(timestamps, sizes, 1000));
+    }
+
+    @Test
+    void usesLeastSquaresSlope() {
+        long[] timestamps = {1000, 2000, 3000, 4000};
+        long[] sizes = {0, 300, 100, 400};
+
+        // 기울기 0.1 byte/ms, 마지막 400 에서 600 남음
+        assertEquals(10000L, QuotaHistoryCollector.projectExhaustion(timestamps, sizes, 1000));
+    }
+
+    @Test
+    void alreadyExhaustedReturnsLastSample() {
+        assertEquals(2000L, QuotaHistoryCollector.projectExhaustion(new long[]{0, 1000, 2000}, new long[]{500, 900, 1000}, 1000));
+    }
+
+    @Test
+    void noProjectionWithoutGrowthOrQuota() {
+        long[] timestamps = {0, 1000, 2000};
+
+        assertNull(QuotaHistoryCollector.projectExhaustion(timestamps, new long[]{300, 300, 300}, 1000));
+        assertNull(QuotaHistoryCollector.projectExhaustion(timestamps, new long[]{300, 200, 100}, 1000));
+        assertNull(QuotaHistoryCollector.projectExhaustion(timestamps, new long[]{100, 200, 300}, -1));
+        assertNull(QuotaHistoryCollector.projectExhaustion(new long[]{0}, new long[]{100}, 1000));
+    }
+}
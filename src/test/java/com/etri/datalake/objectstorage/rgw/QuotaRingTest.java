@@ -0,0 +1,87 @@
+package com.etri.datalake.objectstorage.rgw;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuotaRingTest {
+    @Test
+    void overwritesOldestWhenFull() {
+        QuotaRing ring = new QuotaRing(3, 0);
+        for (int i = 1; i <= 5; i++) {
+            ring.put(i * 10L, i * 100L, i);
+        }
+
+        long[][] arrays = ring.toArrays();
+        assertArrayEquals(new long[]{30, 40, 50}, arrays[0]);
+        assertArrayEquals(new long[]{300, 400, 500}, arrays[1]);
+        assertArrayEquals(new long[]{3, 4, 5}, arrays[2]);
+        assertEquals(50, ring.lastTimestamp());
+    }
+
+    @Test
+    void accumulateAveragesEachWindow() {
+        QuotaRing ring = new QuotaRing(10, 100);
+
+        assertFalse(ring.accumulate(10, 100, 1));
+        assertFalse(ring.accumulate(50, 200, 3));
+        assertEquals(0, ring.toArrays()[0].length);
+
+        // 다음 구간의 첫 값이 들어오면 이전 구간의 평균을 구간 시작 시각으로 저장
+        assertTrue(ring.accumulate(120, 400, 5));
+        assertEquals(0, ring.lastTimestamp());
+        assertEquals(150, ring.lastSize());
+        assertEquals(2, ring.lastObjects());
+
+        // 비어 있는 구간은 건너뜀
+        assertTrue(ring.accumulate(350, 800, 9));
+        assertEquals(100, ring.lastTimestamp());
+        assertEquals(400, ring.lastSize());
+
+        assertArrayEquals(new long[]{0, 100}, ring.toArrays()[0]);
+    }
+
+    @Test
+    void cascadesIntoCoarserRing() {
+        QuotaRing fine = new QuotaRing(10, 100);
+        QuotaRing coarse = new QuotaRing(10, 1000);
+
+        for (long timestamp = 0; timestamp <= 2000; timestamp += 50) {
+            if (fine.accumulate(timestamp, timestamp, 1)) {
+                coarse.accumulate(fine.lastTimestamp(), fine.lastSize(), fine.lastObjects());
+            }
+        }
+
+        // 0~999 구간의 100ms 평균(25, 125, ..., 925)을 다시 평균
+        long[][] arrays = coarse.toArrays();
+        assertArrayEquals(new long[]{0}, arrays[0]);
+        assertArrayEquals(new long[]{475}, arrays[1]);
+    }
+
+    @Test
+    void readKeepsNewestPointsAndOpenWindow() throws Exception {
+        QuotaRing ring = new QuotaRing(4, 100);
+        for (long timestamp = 0; timestamp < 450; timestamp += 100) {
+            ring.accumulate(timestamp, timestamp, 1);
+        }
+        ring.accumulate(410, 600, 3);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ring.write(new DataOutputStream(bytes));
+
+        QuotaRing restored = new QuotaRing(2, 100);
+        restored.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        assertArrayEquals(new long[]{200, 300}, restored.toArrays()[0]);
+
+        // 저장 당시 진행 중이던 구간(400, 600)이 이어서 평균됨
+        assertTrue(restored.accumulate(500, 0, 0));
+        assertEquals(400, restored.lastTimestamp());
+        assertEquals(500, restored.lastSize());
+        assertEquals(2, restored.lastObjects());
+    }
+}
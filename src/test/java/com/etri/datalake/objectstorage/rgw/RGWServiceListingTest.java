@@ -0,0 +1,153 @@
+package com.etri.datalake.objectstorage.rgw;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.ListObjectsV2Request;
+import com.amazonaws.services.s3.model.ListObjectsV2Result;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import com.etri.datalake.objectstorage.constants.BObject;
+import com.etri.datalake.objectstorage.constants.SObjectPage;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/*
+    ListObjectsV2 페이지 처리 (getObjects, getObjectPage, streamObjects)
+ */
+@ExtendWith(MockitoExtension.class)
+class RGWServiceListingTest {
+    @Mock
+    private S3ClientRegistry s3ClientRegistry;
+    @Mock
+    private AmazonS3 conn;
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+    @InjectMocks
+    private RGWService rgwService;
+
+    // 호출 시점의 continuation token (같은 요청 객체를 다시 쓰므로 캡처 대신 기록)
+    private final List<String> requestedTokens = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        when(s3ClientRegistry.getClient(any())).thenReturn(conn);
+    }
+
+    @Test
+    void getObjectsReadsEveryPage() {
+        stubPages(page("t1", "a", "b"), page("t2", "c"), page(null, "d"));
+
+        List<BObject> objects = rgwService.getObjects(null, "bucket");
+
+        assertEquals(List.of("a", "b", "c", "d"), objects.stream().map(BObject::getObjectName).collect(Collectors.toList()));
+        assertEquals(Arrays.asList(null, "t1", "t2"), requestedTokens);
+    }
+
+    @Test
+    void getObjectPagePassesCursorAndCapsPageSize() {
+        when(conn.listObjectsV2(any(ListObjectsV2Request.class))).thenReturn(page("next", "x"));
+
+        SObjectPage page = rgwService.getObjectPage(null, "bucket", "docs/", "cursor", 5000);
+
+        ArgumentCaptor<ListObjectsV2Request> captor = ArgumentCaptor.forClass(ListObjectsV2Request.class);
+        verify(conn).listObjectsV2(captor.capture());
+        assertEquals("cursor", captor.getValue().getContinuationToken());
+        assertEquals("docs/", captor.getValue().getPrefix());
+        assertEquals(1000, captor.getValue().getMaxKeys());
+
+        assertEquals("next", page.getNextContinuationToken());
+        assertTrue(page.isTruncated());
+        assertEquals(1, page.getObjects().size());
+    }
+
+    @Test
+    void streamObjectsWritesOneLinePerObject() throws Exception {
+        stubPages(page("t1", "a"), page(null, "b", "c"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        rgwService.streamObjects(null, "bucket", null, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("a", objectMapper.readTree(lines[0]).get("objectName").asText());
+        assertEquals("b", objectMapper.readTree(lines[1]).get("objectName").asText());
+        assertEquals("c", objectMapper.readTree(lines[2]).get("objectName").asText());
+        assertEquals(Arrays.asList(null, "t1"), requestedTokens);
+    }
+
+    @Test
+    void streamObjectsMarksTruncationWhenLaterPageFails() throws Exception {
+        AmazonS3Exception failure = new AmazonS3Exception("Internal error");
+        failure.setStatusCode(500);
+        failure.setErrorCode("InternalError");
+        int[] calls = {0};
+        when(conn.listObjectsV2(any(ListObjectsV2Request.class))).thenAnswer(invocation -> {
+            if (calls[0]++ == 0) {
+                return page("t1", "a", "b");
+            }
+            throw failure;
+        });
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        AmazonS3Exception thrown = assertThrows(AmazonS3Exception.class, () -> rgwService.streamObjects(null, "bucket", null, out));
+
+        assertSame(failure, thrown);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("b", objectMapper.readTree(lines[1]).get("objectName").asText());
+        JsonNode error = objectMapper.readTree(lines[2]).get("error");
+        assertEquals(500, error.get("status").asInt());
+        assertEquals("InternalError", error.get("code").asText());
+    }
+
+    @Test
+    void streamObjectsWritesNothingWhenFirstPageFails() {
+        when(conn.listObjectsV2(any(ListObjectsV2Request.class))).thenThrow(new AmazonS3Exception("Access Denied"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertThrows(AmazonS3Exception.class, () -> rgwService.streamObjects(null, "bucket", null, out));
+        assertEquals(0, out.size());
+    }
+
+    private void stubPages(ListObjectsV2Result... pages) {
+        int[] next = {0};
+        when(conn.listObjectsV2(any(ListObjectsV2Request.class))).thenAnswer(invocation -> {
+            requestedTokens.add(((ListObjectsV2Request) invocation.getArgument(0)).getContinuationToken());
+            return pages[next[0]++];
+        });
+    }
+
+    private static ListObjectsV2Result page(String nextToken, String... keys) {
+        ListObjectsV2Result result = new ListObjectsV2Result();
+        for (String key : keys) {
+            S3ObjectSummary summary = new S3ObjectSummary();
+            summary.setKey(key);
+            summary.setSize(1);
+            summary.setLastModified(new Date(0));
+            result.getObjectSummaries().add(summary);
+        }
+        result.setNextContinuationToken(nextToken);
+        result.setTruncated(nextToken != null);
+        return result;
+    }
+}
@@ -0,0 +1,105 @@
+package com.etri.datalake.objectstorage.rgw;
+
+import com.etri.datalake.objectstorage.utils.ThreadPools;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.twonote.rgwadmin4j.model.S3Credential;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class S3CredentialCacheTest {
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    @Test
+    void concurrentCallersShareOneLoad() throws Exception {
+        S3CredentialCache cache = new S3CredentialCache(60000, 100, 4, false);
+        AtomicInteger loads = new AtomicInteger();
+        ExecutorService callers = ThreadPools.fixed("credential-test", 8, false);
+        try {
+            List<Future<S3Credential>> results = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                results.add(callers.submit(() -> cache.get("uid", uid -> {
+                    loads.incrementAndGet();
+                    sleep(50);
+                    return null;
+                })));
+            }
+            for (Future<S3Credential> result : results) {
+                assertNull(result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            callers.shutdownNow();
+            cache.shutdown();
+        }
+        // null 은 캐시되지 않으므로 동시에 들어온 호출끼리만 하나의 조회를 공유
+        assertTrue(loads.get() < 32, "loads: " + loads.get());
+    }
+
+    /*
+        JDK 21 이상에서만 실행 (-PjavaVersion=21)
+        캐시 조회가 compute 안에서 블로킹되면 호출한 가상 스레드가 캐리어 스레드에 고정(pinning)된다.
+     */
+    @Test
+    void loadDoesNotPinVirtualThreads() throws Exception {
+        assumeTrue(ThreadPools.virtualThreadsSupported(), "virtual threads require JDK 21");
+
+        S3CredentialCache cache = new S3CredentialCache(60000, 100, 4, true);
+        ExecutorService callers = ThreadPools.perTask("credential-test", 0, true);
+        Path dump = Files.createTempFile("pinning", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(PINNED_EVENT).withThreshold(Duration.ZERO).withStackTrace();
+            recording.start();
+
+            List<Future<S3Credential>> results = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                String uid = "uid-" + (i % 20);
+                results.add(callers.submit(() -> cache.get(uid, key -> {
+                    sleep(20);
+                    return null;
+                })));
+            }
+            for (Future<S3Credential> result : results) {
+                result.get(10, TimeUnit.SECONDS);
+            }
+
+            recording.stop();
+            recording.dump(dump);
+
+            List<RecordedEvent> pinned = new ArrayList<>();
+            for (RecordedEvent event : RecordingFile.readAllEvents(dump)) {
+                if (PINNED_EVENT.equals(event.getEventType().getName())) {
+                    pinned.add(event);
+                }
+            }
+            assertEquals(0, pinned.size(), () -> "pinned: " + pinned);
+        } finally {
+            callers.shutdownNow();
+            cache.shutdown();
+            Files.deleteIfExists(dump);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
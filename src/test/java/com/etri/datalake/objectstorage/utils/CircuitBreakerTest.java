@@ -0,0 +1,158 @@
+package com.etri.datalake.objectstorage.utils;
+
+import com.etri.datalake.exception.BackendUnavailableException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+    private static final long OPEN_MILLIS = 30000;
+
+    private final MutableClock clock = new MutableClock(1_000_000);
+    private final CircuitBreaker breaker = new CircuitBreaker("test", 3, OPEN_MILLIS, e -> !(e instanceof IllegalArgumentException), clock);
+
+    @Test
+    void opensAfterConsecutiveFailures() {
+        failCalls(2);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        failCalls(1);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(CircuitBreaker.REJECTED, breaker.tryAcquire());
+        assertThrows(BackendUnavailableException.class, breaker::acquire);
+        assertEquals(2, breaker.getRejected());
+    }
+
+    @Test
+    void successResetsFailureCount() {
+        failCalls(2);
+        breaker.onSuccess(breaker.tryAcquire());
+        failCalls(2);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void nonBackendErrorCountsAsSuccess() {
+        failCalls(2);
+        breaker.onError(breaker.tryAcquire(), new IllegalArgumentException());
+        assertEquals(0, breaker.getConsecutiveFailures());
+    }
+
+    @Test
+    void halfOpenAllowsOneTrialThatClosesOnSuccess() {
+        failCalls(3);
+        clock.advance(OPEN_MILLIS);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+
+        long trial = breaker.tryAcquire();
+        assertTrue(trial > CircuitBreaker.NORMAL);
+        assertEquals(CircuitBreaker.REJECTED, breaker.tryAcquire());
+
+        breaker.onSuccess(trial);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(CircuitBreaker.NORMAL, breaker.tryAcquire());
+    }
+
+    @Test
+    void failedTrialReopens() {
+        failCalls(3);
+        clock.advance(OPEN_MILLIS);
+
+        breaker.onFailure(breaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(CircuitBreaker.REJECTED, breaker.tryAcquire());
+    }
+
+    @Test
+    void lateFailureOfNormalCallKeepsTrialInFlight() {
+        long slow = breaker.tryAcquire();
+        failCalls(3);
+        clock.advance(OPEN_MILLIS);
+        long trial = breaker.tryAcquire();
+
+        // 회로가 열리기 전에 시작된 호출의 실패는 시험 호출 표시를 지우지 않음
+        breaker.onFailure(slow);
+        assertEquals(CircuitBreaker.REJECTED, breaker.tryAcquire());
+
+        breaker.onSuccess(trial);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void stuckTrialIsReplacedAfterOpenDuration() {
+        failCalls(3);
+        clock.advance(OPEN_MILLIS);
+        long stuck = breaker.tryAcquire();
+
+        clock.advance(OPEN_MILLIS);
+        long trial = breaker.tryAcquire();
+        assertTrue(trial > stuck);
+
+        // 밀려난 시험 호출의 실패는 새 시험 호출에 영향을 주지 않음
+        breaker.onFailure(stuck);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertEquals(CircuitBreaker.REJECTED, breaker.tryAcquire());
+    }
+
+    @Test
+    void successfulProbeEndsOpenWait() {
+        failCalls(3);
+        breaker.probeSucceeded();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertTrue(breaker.tryAcquire() > CircuitBreaker.NORMAL);
+    }
+
+    @Test
+    void callAsyncReportsCompletion() {
+        failCalls(3);
+        assertThrows(Exception.class, () -> breaker.callAsync(() -> CompletableFuture.completedFuture(1)).join());
+
+        clock.advance(OPEN_MILLIS);
+        assertEquals(1, breaker.callAsync(() -> CompletableFuture.completedFuture(1)).join());
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    private void failCalls(int times) {
+        for (int i = 0; i < times; i++) {
+            breaker.onFailure(breaker.tryAcquire());
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+        private long millis;
+
+        private MutableClock(long millis) {
+            this.millis = millis;
+        }
+
+        void advance(long delta) {
+            millis += delta;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}